@@ -0,0 +1,65 @@
+#!/bin/bash
+
+# CyberRisk Scan Concurrency Benchmark
+# Starts the backend at a fixed heap in platform and virtual thread mode,
+# fires a burst of concurrent scans and reports peak in-flight scans.
+# No reference results are kept in the repo; compare both modes on the
+# hardware you deploy to before choosing one.
+#
+# Usage: ./benchmark-scans.sh [scans] [heap]
+#   scans  number of concurrent scan requests (default 2000)
+#   heap   max heap passed to the JVM (default 256m)
+
+SCANS=${1:-2000}
+HEAP=${2:-256m}
+API="http://localhost:8080/api"
+
+echo "🛡️  CyberRisk - Scan Concurrency Benchmark"
+echo "=========================================="
+echo "   Scans: $SCANS   Heap: -Xmx$HEAP"
+echo ""
+
+cd cyberrisk-backend
+mvn -q -DskipTests package || exit 1
+JAR=target/cyberrisk-backend-1.0.0.jar
+
+run_mode() {
+    local virtual=$1
+
+    # Let the virtual engine admit the whole burst; keep the platform engine at its defaults
+    java -Xmx$HEAP -jar $JAR \
+        --spring.threads.virtual.enabled=$virtual \
+        --scan.engine.max-in-flight=$SCANS \
+        --logging.level.com.cyberrisk=INFO \
+        --logging.level.org.springframework.security=INFO \
+        --spring.jpa.show-sql=false > /dev/null 2>&1 &
+    local pid=$!
+
+    until curl -s "$API/auth/health" > /dev/null; do sleep 1; done
+
+    local token=$(curl -s -X POST "$API/auth/login" \
+        -H "Content-Type: application/json" \
+        -d '{"username":"admin","password":"admin123"}' | sed -E 's/.*"token":"([^"]+)".*/\1/')
+
+    local start=$(date +%s%N)
+    seq $SCANS | xargs -P 200 -I{} curl -s -o /dev/null -w "%{http_code}\n" -X POST "$API/scan/perform" \
+        -H "Authorization: Bearer $token" \
+        -H "Content-Type: application/json" \
+        -d '{"organizationName":"Benchmark Corp","targetDomain":"bench{}.example.com"}' \
+        | sort | uniq -c | sed 's/^/   HTTP /'
+    local elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+
+    echo "   Submission time: ${elapsed}ms"
+    echo "   Engine stats:"
+    curl -s "$API/admin/metrics/scan-engine" -H "Authorization: Bearer $token" | tr ',' '\n' | sed 's/^/     /'
+    echo ""
+
+    kill $pid
+    wait $pid 2> /dev/null
+}
+
+echo "🔧 Platform threads"
+run_mode false
+
+echo "🧵 Virtual threads"
+run_mode true
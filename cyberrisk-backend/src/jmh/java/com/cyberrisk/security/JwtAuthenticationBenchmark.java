@@ -0,0 +1,86 @@
+package com.cyberrisk.security;
+
+import com.cyberrisk.model.Role;
+import com.cyberrisk.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of reading the claims of a bearer token
+ *
+ * perRequestParsers repeats what the authentication filter used to do: build
+ * the key and parser and parse the token three times. singleParse verifies
+ * once with the shared parser, and cachedClaims is the steady state of a
+ * client reusing its token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "cyberrisk-super-secret-key-for-jwt-token-generation-2024";
+
+    private JwtUtil cachingJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtil = jwtUtil(10000);
+        uncachedJwtUtil = jwtUtil(0);
+
+        User user = new User("admin", "admin@cyberrisk.com", "unused", "System", "Administrator");
+        user.setId(1L);
+        user.setRole(Role.ADMIN);
+        user.setOrganization("CyberRisk");
+        token = cachingJwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Optional<Claims> cachedClaims() {
+        return cachingJwtUtil.getValidClaims(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> singleParse() {
+        return uncachedJwtUtil.getValidClaims(token);
+    }
+
+    @Benchmark
+    public void perRequestParsers(Blackhole blackhole) {
+        for (int i = 0; i < 3; i++) {
+            SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+            blackhole.consume(Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload());
+        }
+    }
+
+    private static JwtUtil jwtUtil(int claimsCacheMaxEntries) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxEntries", claimsCacheMaxEntries);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
@@ -1,7 +1,10 @@
 package com.cyberrisk;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 
 /**
  * Main Spring Boot Application Class
@@ -18,14 +21,21 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * - Report generation and history
  * - Admin dashboard with analytics
  * 
+ * Set spring.threads.virtual.enabled (or CYBERRISK_VIRTUAL_THREADS=true) to run
+ * request handling and scan workers on Java 21 virtual threads.
+ * 
  * @author CyberRisk Team
  * @version 1.0.0
  */
 @SpringBootApplication
 public class CyberRiskApplication {
 
+    private static final Logger log = LoggerFactory.getLogger(CyberRiskApplication.class);
+
     public static void main(String[] args) {
-        SpringApplication.run(CyberRiskApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(CyberRiskApplication.class, args);
+        boolean virtualThreads = context.getEnvironment()
+            .getProperty("spring.threads.virtual.enabled", Boolean.class, false);
         System.out.println("\n" +
             "╔══════════════════════════════════════════════════════════════╗\n" +
             "║                    🛡️  CyberRisk Backend  🛡️                    ║\n" +
@@ -38,5 +48,6 @@ public class CyberRiskApplication {
             "║                                                              ║\n" +
             "║  Ready to assess cybersecurity risks! 🎯                     ║\n" +
             "╚══════════════════════════════════════════════════════════════╝\n");
+        log.info("Thread mode: {}", virtualThreads ? "virtual" : "platform");
     }
 }
@@ -3,8 +3,15 @@ package com.cyberrisk.controller;
 import com.cyberrisk.model.Role;
 import com.cyberrisk.model.User;
 import com.cyberrisk.repository.ScanResultRepository;
+import com.cyberrisk.service.CveFeedImporter;
+import com.cyberrisk.service.DetectionRuleEngine;
+import com.cyberrisk.service.MetricsSource;
+import com.cyberrisk.service.SystemStatisticsService;
+import com.cyberrisk.service.TokenRevocationService;
 import com.cyberrisk.service.UserService;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -13,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Admin Controller
@@ -31,44 +39,47 @@ public class AdminController {
     @Autowired
     private ScanResultRepository scanResultRepository;
     
+    @Autowired
+    private SystemStatisticsService systemStatisticsService;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private DetectionRuleEngine detectionRuleEngine;
+    
+    @Autowired
+    private CveFeedImporter cveFeedImporter;
+    
+    @Autowired
+    private List<MetricsSource> metricsSources;
+    
+    // Sorted by name, so the combined report has a stable order
+    private final Map<String, MetricsSource> metricsByName = new TreeMap<>();
+    
+    @PostConstruct
+    public void init() {
+        for (MetricsSource source : metricsSources) {
+            if (metricsByName.put(source.getMetricsName(), source) != null) {
+                throw new IllegalStateException("Duplicate metrics source name: " + source.getMetricsName());
+            }
+        }
+    }
+    
     /**
      * Get system statistics
+     * 
+     * Served from a short-lived snapshot; computedAt and ageSeconds show its staleness.
      */
     @GetMapping("/stats")
     public ResponseEntity<?> getSystemStats(Authentication authentication) {
         try {
             User admin = (User) authentication.getPrincipal();
             
-            Map<String, Object> stats = new HashMap<>();
-            
-            // User statistics
-            long totalUsers = userService.getTotalUserCount();
-            long adminUsers = userService.countUsersByRole(Role.ADMIN);
-            long regularUsers = userService.countUsersByRole(Role.USER);
-            
-            stats.put("totalUsers", totalUsers);
-            stats.put("adminUsers", adminUsers);
-            stats.put("regularUsers", regularUsers);
-            
-            // Scan statistics
-            long totalScans = scanResultRepository.count();
-            long criticalScans = scanResultRepository.countByRiskLevel(com.cyberrisk.model.RiskLevel.CRITICAL);
-            long highRiskScans = scanResultRepository.countByRiskLevel(com.cyberrisk.model.RiskLevel.HIGH);
-            long mediumRiskScans = scanResultRepository.countByRiskLevel(com.cyberrisk.model.RiskLevel.MEDIUM);
-            long lowRiskScans = scanResultRepository.countByRiskLevel(com.cyberrisk.model.RiskLevel.LOW);
-            
-            stats.put("totalScans", totalScans);
-            stats.put("criticalRiskScans", criticalScans);
-            stats.put("highRiskScans", highRiskScans);
-            stats.put("mediumRiskScans", mediumRiskScans);
-            stats.put("lowRiskScans", lowRiskScans);
-            
-            // Calculate average risk score
-            Double averageRiskScore = scanResultRepository.getAverageRiskScore();
-            stats.put("averageRiskScore", averageRiskScore != null ? Math.round(averageRiskScore) : 0);
+            Map<String, Object> stats = systemStatisticsService.getSystemStats();
             
             // Recent activity
-            stats.put("lastUpdated", java.time.LocalDateTime.now());
+            stats.put("lastUpdated", stats.get("computedAt"));
             stats.put("adminUser", admin.getUsername());
             
             return ResponseEntity.ok(stats);
@@ -159,6 +170,134 @@ public class AdminController {
         }
     }
     
+    /**
+     * Revoke all live tokens of a user (admin only)
+     */
+    @PostMapping("/users/{userId}/revoke-tokens")
+    public ResponseEntity<?> revokeUserTokens(@PathVariable Long userId, Authentication authentication) {
+        try {
+            if (userService.findById(userId).isEmpty()) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "User not found: " + userId);
+                return ResponseEntity.status(404).body(error);
+            }
+            
+            int revoked = tokenRevocationService.revokeAllForUser(userId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("userId", userId);
+            response.put("revokedTokens", revoked);
+            response.put("timestamp", java.time.LocalDateTime.now());
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to revoke tokens: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Benchmark detection rule throughput across rule set sizes
+     */
+    @GetMapping("/detection/benchmark")
+    public ResponseEntity<?> benchmarkDetection(@RequestParam(defaultValue = "8,100,1000,10000") List<Integer> sizes,
+                                                @RequestParam(defaultValue = "1000") int targets,
+                                                @RequestParam(defaultValue = "42") long seed,
+                                                Authentication authentication) {
+        try {
+            if (targets < 1 || targets > 100000 || sizes.stream().anyMatch(size -> size < 1 || size > 100000)) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Rule set sizes and target count must be between 1 and 100000");
+                return ResponseEntity.badRequest().body(error);
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("catalogVersion", detectionRuleEngine.getCatalogVersion());
+            response.put("seed", seed);
+            response.put("results", detectionRuleEngine.benchmark(sizes, targets, seed));
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalStateException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+            
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Detection benchmark was interrupted");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+            
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Detection benchmark failed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Import new or changed CVE feed files now
+     */
+    @PostMapping("/cve-feed/import")
+    public ResponseEntity<?> importCveFeed(Authentication authentication) {
+        try {
+            int imported = cveFeedImporter.importChangedFiles();
+            Map<String, Object> response = cveFeedImporter.getStats();
+            response.put("filesImportedNow", imported);
+            response.put("timestamp", java.time.LocalDateTime.now());
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "CVE feed import failed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Get runtime statistics of every component, keyed by component name
+     */
+    @GetMapping("/metrics")
+    public ResponseEntity<?> getMetrics(Authentication authentication) {
+        try {
+            Map<String, Object> metrics = new TreeMap<>();
+            metricsByName.forEach((name, source) -> metrics.put(name, source.getStats()));
+            metrics.put("timestamp", java.time.LocalDateTime.now());
+            return ResponseEntity.ok(metrics);
+            
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to retrieve metrics: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Get runtime statistics of one component
+     */
+    @GetMapping("/metrics/{name}")
+    public ResponseEntity<?> getMetricsSource(@PathVariable String name, Authentication authentication) {
+        try {
+            MetricsSource source = metricsByName.get(name);
+            if (source == null) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("error", "Unknown metrics source: " + name);
+                error.put("sources", List.copyOf(metricsByName.keySet()));
+                return ResponseEntity.status(404).body(error);
+            }
+            
+            Map<String, Object> stats = new HashMap<>(source.getStats());
+            stats.put("timestamp", java.time.LocalDateTime.now());
+            return ResponseEntity.ok(stats);
+            
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to retrieve " + name + " metrics: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
     /**
      * Get system health
      */
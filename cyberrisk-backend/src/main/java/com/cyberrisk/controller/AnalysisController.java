@@ -1,8 +1,9 @@
 package com.cyberrisk.controller;
 
+import com.cyberrisk.model.RiskAggregate;
 import com.cyberrisk.model.User;
 import com.cyberrisk.service.AnalysisService;
-import com.cyberrisk.service.ScanService;
+import com.cyberrisk.service.RiskAggregateService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Analysis Controller
@@ -25,38 +27,35 @@ public class AnalysisController {
     private AnalysisService analysisService;
     
     @Autowired
-    private ScanService scanService;
+    private RiskAggregateService riskAggregateService;
     
     /**
      * Get risk analysis for user
+     * 
+     * Reads the user's and organization's maintained aggregates instead of the scan history.
      */
     @GetMapping("/risk-analysis")
     public ResponseEntity<?> getRiskAnalysis(Authentication authentication) {
         try {
             User user = (User) authentication.getPrincipal();
             
-            // Get user's scan history
-            var scanResults = scanService.getScanResultsByUser(user);
+            Optional<RiskAggregate> userAggregate = riskAggregateService.getUserAggregate(user.getId())
+                .filter(aggregate -> aggregate.getScanCount() > 0);
             
-            // Perform basic analysis with DTOs
             Map<String, Object> analysis = new HashMap<>();
             
-            if (scanResults.isEmpty()) {
+            if (userAggregate.isEmpty()) {
                 analysis.put("trend", "No data available");
                 analysis.put("averageScore", 0);
                 analysis.put("improvement", 0);
             } else {
-                // Calculate average score
-                double averageScore = scanResults.stream()
-                    .mapToInt(com.cyberrisk.dto.ScanResponse::getRiskScore)
-                    .average()
-                    .orElse(0);
+                RiskAggregate aggregate = userAggregate.get();
                 
                 // Calculate trend
                 String trend = "Stable";
-                if (scanResults.size() >= 2) {
-                    int latestScore = scanResults.get(scanResults.size() - 1).getRiskScore();
-                    int previousScore = scanResults.get(scanResults.size() - 2).getRiskScore();
+                if (aggregate.getPreviousScore() != null) {
+                    int latestScore = aggregate.getLatestScore();
+                    int previousScore = aggregate.getPreviousScore();
                     
                     if (latestScore < previousScore - 5) {
                         trend = "Improving";
@@ -66,10 +65,20 @@ public class AnalysisController {
                 }
                 
                 analysis.put("trend", trend);
-                analysis.put("averageScore", Math.round(averageScore));
-                analysis.put("totalScans", scanResults.size());
+                analysis.put("averageScore", Math.round(aggregate.getAverageScore()));
+                analysis.put("highestScore", aggregate.getMaxScore());
+                analysis.put("lowestScore", aggregate.getMinScore());
+                analysis.put("totalScans", aggregate.getScanCount());
             }
             
+            // Organization-wide comparison
+            riskAggregateService.getOrganizationAggregate(user.getOrganization())
+                .filter(aggregate -> aggregate.getScanCount() > 0)
+                .ifPresent(aggregate -> {
+                    analysis.put("organizationAverageScore", Math.round(aggregate.getAverageScore()));
+                    analysis.put("organizationTotalScans", aggregate.getScanCount());
+                });
+            
             // Add user-specific data
             analysis.put("userId", user.getId());
             analysis.put("username", user.getUsername());
@@ -92,25 +101,27 @@ public class AnalysisController {
         try {
             User user = (User) authentication.getPrincipal();
             
-            // Get latest scan result
-            var scanResults = scanService.getScanResultsByUser(user);
+            Optional<RiskAggregate> userAggregate = riskAggregateService.getUserAggregate(user.getId())
+                .filter(aggregate -> aggregate.getScanCount() > 0);
             
             Map<String, Object> summary = new HashMap<>();
             
-            if (!scanResults.isEmpty()) {
-                var latestScan = scanResults.get(scanResults.size() - 1);
-                summary.put("latestScore", latestScan.getRiskScore());
-                summary.put("riskLevel", latestScan.getRiskLevel());
-                summary.put("scanDate", latestScan.getScanDate());
-                summary.put("organization", latestScan.getOrganizationName());
+            if (userAggregate.isPresent()) {
+                RiskAggregate aggregate = userAggregate.get();
+                summary.put("latestScore", aggregate.getLatestScore());
+                summary.put("riskLevel", aggregate.getLatestRiskLevel());
+                summary.put("scanDate", aggregate.getLastScanDate());
+                summary.put("organization", aggregate.getLastOrganizationName());
+                summary.put("latestScanId", aggregate.getLastScanId());
+                summary.put("totalScans", aggregate.getScanCount());
             } else {
                 summary.put("latestScore", 0);
                 summary.put("riskLevel", "No scans performed");
                 summary.put("scanDate", null);
                 summary.put("organization", user.getOrganization());
+                summary.put("totalScans", 0);
             }
             
-            summary.put("totalScans", scanResults.size());
             summary.put("userId", user.getId());
             
             return ResponseEntity.ok(summary);
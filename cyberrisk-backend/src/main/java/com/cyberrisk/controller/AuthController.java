@@ -5,9 +5,12 @@ import com.cyberrisk.dto.LoginRequest;
 import com.cyberrisk.dto.RegisterRequest;
 import com.cyberrisk.model.User;
 import com.cyberrisk.security.JwtUtil;
+import com.cyberrisk.security.LoginWorkerPool;
+import com.cyberrisk.service.TokenRevocationService;
 import com.cyberrisk.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -17,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Authentication Controller
@@ -37,6 +41,12 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    private LoginWorkerPool loginWorkerPool;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
     /**
      * User login endpoint
      */
@@ -45,13 +55,13 @@ public class AuthController {
         try {
             System.out.println("🔐 Login attempt for username: " + loginRequest.getUsername());
             
-            // Authenticate user
-            Authentication authentication = authenticationManager.authenticate(
+            // Authenticate user (password hashing runs on the bounded login pool)
+            Authentication authentication = loginWorkerPool.execute(() -> authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                     loginRequest.getUsername(),
                     loginRequest.getPassword()
                 )
-            );
+            ));
             
             SecurityContextHolder.getContext().setAuthentication(authentication);
             
@@ -61,10 +71,11 @@ public class AuthController {
             System.out.println("✅ Login successful for user: " + user.getUsername() + " with role: " + user.getRole());
             
             // Generate JWT token
-            String token = jwtUtil.generateToken(user.getUsername(), user.getRole().name());
+            String token = jwtUtil.generateToken(user);
+            tokenRevocationService.recordIssued(user.getId(), jwtUtil.getValidClaims(token).orElseThrow());
             
-            // Update last login
-            userService.updateLastLogin(user.getUsername());
+            // Update last login (buffered and written in batches)
+            userService.recordLogin(user);
             
             // Create response
             AuthResponse response = new AuthResponse(
@@ -80,9 +91,13 @@ public class AuthController {
             
             return ResponseEntity.ok(response);
             
+        } catch (RejectedExecutionException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Too many login attempts in progress, please retry shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+            
         } catch (Exception e) {
             System.err.println("❌ Login failed for username: " + loginRequest.getUsername() + ", error: " + e.getMessage());
-            e.printStackTrace();
             Map<String, String> error = new HashMap<>();
             error.put("error", "Invalid username or password");
             return ResponseEntity.badRequest().body(error);
@@ -120,11 +135,12 @@ public class AuthController {
             
             user.setOrganization(registerRequest.getOrganization());
             
-            // Save user
-            User savedUser = userService.createUser(user);
+            // Save user (password hashing runs on the bounded login pool)
+            User savedUser = loginWorkerPool.execute(() -> userService.createUser(user));
             
             // Generate JWT token
-            String token = jwtUtil.generateToken(savedUser.getUsername(), savedUser.getRole().name());
+            String token = jwtUtil.generateToken(savedUser);
+            tokenRevocationService.recordIssued(savedUser.getId(), jwtUtil.getValidClaims(token).orElseThrow());
             
             // Create response
             AuthResponse response = new AuthResponse(
@@ -140,6 +156,11 @@ public class AuthController {
             
             return ResponseEntity.ok(response);
             
+        } catch (RejectedExecutionException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Too many registrations in progress, please retry shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+            
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Registration failed: " + e.getMessage());
@@ -1,5 +1,7 @@
 package com.cyberrisk.controller;
 
+import com.cyberrisk.dto.RiskStatistics;
+import com.cyberrisk.dto.ScanHistoryPage;
 import com.cyberrisk.model.User;
 import com.cyberrisk.service.ScanService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,7 +10,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import org.springframework.http.HttpStatus;
 
@@ -29,24 +30,31 @@ public class ReportController {
      * Get user's scan report history
      */
     @GetMapping("/{userId}")
-    public ResponseEntity<?> getUserReports(@PathVariable String userId, Authentication authentication) {
+    public ResponseEntity<?> getUserReports(@PathVariable String userId,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(defaultValue = "false") boolean includeFindings,
+                                            Authentication authentication) {
         try {
             User currentUser = (User) authentication.getPrincipal();
+            Long requestedUserId = Long.parseLong(userId);
             
             // Check if user is requesting their own reports or is admin
-            if (!currentUser.getId().equals(Long.parseLong(userId)) && !currentUser.isAdmin()) {
+            if (!currentUser.getId().equals(requestedUserId) && !currentUser.isAdmin()) {
                 Map<String, String> error = new HashMap<>();
                 error.put("error", "Access denied: You can only view your own reports");
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
             }
             
             // Get user's scan history
-            List<com.cyberrisk.dto.ScanResponse> reports = scanService.getScanResultsByUser(currentUser);
+            ScanHistoryPage page = scanService.getScanHistoryPage(requestedUserId, cursor, limit, includeFindings);
             
             Map<String, Object> response = new HashMap<>();
             response.put("userId", userId);
-            response.put("reports", reports);
-            response.put("totalReports", reports.size());
+            response.put("reports", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.isHasMore());
+            response.put("totalReports", scanService.countScansByUserId(requestedUserId));
             
             return ResponseEntity.ok(response);
             
@@ -61,17 +69,22 @@ public class ReportController {
      * Get current user's reports
      */
     @GetMapping("/my-reports")
-    public ResponseEntity<?> getMyReports(Authentication authentication) {
+    public ResponseEntity<?> getMyReports(@RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer limit,
+                                          @RequestParam(defaultValue = "false") boolean includeFindings,
+                                          Authentication authentication) {
         try {
             User user = (User) authentication.getPrincipal();
-            List<com.cyberrisk.dto.ScanResponse> reports = scanService.getScanResultsByUser(user);
+            ScanHistoryPage page = scanService.getScanHistoryPage(user.getId(), cursor, limit, includeFindings);
             
             Map<String, Object> response = new HashMap<>();
             response.put("userId", user.getId());
             response.put("username", user.getUsername());
             response.put("organization", user.getOrganization());
-            response.put("reports", reports);
-            response.put("totalReports", reports.size());
+            response.put("reports", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.isHasMore());
+            response.put("totalReports", scanService.countScansByUserId(user.getId()));
             
             return ResponseEntity.ok(response);
             
@@ -84,12 +97,14 @@ public class ReportController {
     
     /**
      * Generate comprehensive report
+     * 
+     * Statistics come from a database aggregate; only the latest scan is loaded in full.
      */
     @GetMapping("/comprehensive")
     public ResponseEntity<?> generateComprehensiveReport(Authentication authentication) {
         try {
             User user = (User) authentication.getPrincipal();
-            List<com.cyberrisk.dto.ScanResponse> reports = scanService.getScanResultsByUser(user);
+            RiskStatistics statistics = scanService.getRiskStatistics(user.getId());
             
             Map<String, Object> comprehensiveReport = new HashMap<>();
             comprehensiveReport.put("userId", user.getId());
@@ -97,39 +112,18 @@ public class ReportController {
             comprehensiveReport.put("organization", user.getOrganization());
             comprehensiveReport.put("generatedAt", java.time.LocalDateTime.now());
             
-            if (!reports.isEmpty()) {
-                // Calculate statistics
-                double averageScore = reports.stream()
-                    .mapToInt(com.cyberrisk.dto.ScanResponse::getRiskScore)
-                    .average()
-                    .orElse(0);
-                
-                int highestScore = reports.stream()
-                    .mapToInt(com.cyberrisk.dto.ScanResponse::getRiskScore)
-                    .max()
-                    .orElse(0);
-                
-                int lowestScore = reports.stream()
-                    .mapToInt(com.cyberrisk.dto.ScanResponse::getRiskScore)
-                    .min()
-                    .orElse(0);
-                
-                comprehensiveReport.put("averageScore", Math.round(averageScore));
-                comprehensiveReport.put("highestScore", highestScore);
-                comprehensiveReport.put("lowestScore", lowestScore);
-                comprehensiveReport.put("totalScans", reports.size());
+            if (statistics.getTotalScans() > 0) {
+                comprehensiveReport.put("averageScore", Math.round(statistics.getAverageScore()));
+                comprehensiveReport.put("highestScore", statistics.getHighestScore());
+                comprehensiveReport.put("lowestScore", statistics.getLowestScore());
+                comprehensiveReport.put("totalScans", statistics.getTotalScans());
                 
                 // Get latest scan details
-                var latestScan = reports.get(reports.size() - 1);
-                comprehensiveReport.put("latestScan", latestScan);
+                scanService.getLatestCompletedScan(user.getId())
+                    .ifPresent(latestScan -> comprehensiveReport.put("latestScan", latestScan));
                 
                 // Risk level distribution
-                Map<String, Long> riskLevelDistribution = reports.stream()
-                    .collect(java.util.stream.Collectors.groupingBy(
-                        report -> report.getRiskLevel().getDisplayName(),
-                        java.util.stream.Collectors.counting()
-                    ));
-                comprehensiveReport.put("riskLevelDistribution", riskLevelDistribution);
+                comprehensiveReport.put("riskLevelDistribution", statistics.getRiskLevelDistribution());
                 
             } else {
                 comprehensiveReport.put("message", "No scan reports available");
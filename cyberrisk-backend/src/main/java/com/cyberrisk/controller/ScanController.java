@@ -1,18 +1,27 @@
 package com.cyberrisk.controller;
 
+import com.cyberrisk.dto.BatchScanRequest;
+import com.cyberrisk.dto.BatchScanResponse;
+import com.cyberrisk.dto.ScanHistoryPage;
 import com.cyberrisk.dto.ScanRequest;
 import com.cyberrisk.dto.ScanResponse;
+import com.cyberrisk.model.ScanStatus;
 import com.cyberrisk.model.User;
 import com.cyberrisk.service.ScanService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Scan Controller
@@ -28,14 +37,24 @@ public class ScanController {
     private ScanService scanService;
     
     /**
-     * Perform vulnerability scan
+     * Queue vulnerability scan
+     * 
+     * Returns 202 with the pending scan; poll GET /scan/{scanId} for progress.
+     * Returns 200 when a recent result for the same target was reused.
      */
     @PostMapping("/perform")
     public ResponseEntity<?> performScan(@Valid @RequestBody ScanRequest scanRequest, Authentication authentication) {
         try {
             User user = (User) authentication.getPrincipal();
             ScanResponse response = scanService.performScan(scanRequest, user);
-            return ResponseEntity.ok(response);
+            
+            // Reused results are already complete
+            HttpStatus status = response.getStatus() == ScanStatus.COMPLETED ? HttpStatus.OK : HttpStatus.ACCEPTED;
+            return ResponseEntity.status(status).body(response);
+        } catch (RejectedExecutionException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Scan queue is full, please retry later");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Scan failed: " + e.getMessage());
@@ -43,6 +62,48 @@ public class ScanController {
         }
     }
     
+    /**
+     * Queue vulnerability scans for a list of targets
+     * 
+     * Returns 202 with the batch ID; poll GET /scan/batch/{batchId} for progress.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> performBatchScan(@Valid @RequestBody BatchScanRequest batchScanRequest, Authentication authentication) {
+        try {
+            User user = (User) authentication.getPrincipal();
+            BatchScanResponse response = scanService.performBatchScan(batchScanRequest.getTargets(), user);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (RejectedExecutionException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Batch queue is full, please retry later");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(error);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Batch scan failed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Get batch scan progress
+     */
+    @GetMapping("/batch/{batchId}")
+    public ResponseEntity<?> getBatchScan(@PathVariable String batchId, Authentication authentication) {
+        try {
+            User user = (User) authentication.getPrincipal();
+            BatchScanResponse response = scanService.getBatchScan(batchId, user);
+            return ResponseEntity.ok(response);
+        } catch (AccessDeniedException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Access denied: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to retrieve batch scan: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
     /**
      * Get scan result by ID
      */
@@ -60,14 +121,41 @@ public class ScanController {
     }
     
     /**
-     * Get all scan results for current user
+     * Stream scan progress as server-sent events
+     * 
+     * Emits "status", "vulnerability" and a final "finished" event, then closes.
+     */
+    @GetMapping(value = "/{scanId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamScanEvents(@PathVariable String scanId, Authentication authentication) {
+        try {
+            User user = (User) authentication.getPrincipal();
+            return scanService.subscribeToScanEvents(scanId, user);
+        } catch (Exception e) {
+            SseEmitter emitter = new SseEmitter();
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to subscribe to scan events: " + e.getMessage());
+            try {
+                emitter.send(SseEmitter.event().name("error").data(error));
+            } catch (IOException ignored) {
+                // Client already gone
+            }
+            emitter.complete();
+            return emitter;
+        }
+    }
+    
+    /**
+     * Get scan history for current user, one page at a time
      */
     @GetMapping("/history")
-    public ResponseEntity<?> getScanHistory(Authentication authentication) {
+    public ResponseEntity<?> getScanHistory(@RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(defaultValue = "false") boolean includeFindings,
+                                            Authentication authentication) {
         try {
             User user = (User) authentication.getPrincipal();
-            List<ScanResponse> responses = scanService.getScanResultsByUser(user);
-            return ResponseEntity.ok(responses);
+            ScanHistoryPage page = scanService.getScanHistoryPage(user.getId(), cursor, limit, includeFindings);
+            return ResponseEntity.ok(page);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to retrieve scan history: " + e.getMessage());
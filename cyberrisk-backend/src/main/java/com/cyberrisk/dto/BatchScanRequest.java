@@ -0,0 +1,40 @@
+package com.cyberrisk.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Batch Scan Request DTO
+ * 
+ * Data transfer object for submitting scans of many targets at once.
+ */
+public class BatchScanRequest {
+    
+    @NotEmpty(message = "At least one target is required")
+    private List<@Valid ScanRequest> targets;
+    
+    // Constructors
+    public BatchScanRequest() {}
+    
+    public BatchScanRequest(List<ScanRequest> targets) {
+        this.targets = targets;
+    }
+    
+    // Getters and Setters
+    public List<ScanRequest> getTargets() {
+        return targets;
+    }
+    
+    public void setTargets(List<ScanRequest> targets) {
+        this.targets = targets;
+    }
+    
+    @Override
+    public String toString() {
+        return "BatchScanRequest{" +
+                "targets=" + (targets != null ? targets.size() : 0) +
+                '}';
+    }
+}
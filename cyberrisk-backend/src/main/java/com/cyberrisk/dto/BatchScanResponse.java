@@ -0,0 +1,81 @@
+package com.cyberrisk.dto;
+
+import com.cyberrisk.model.ScanStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch Scan Response DTO
+ * 
+ * Data transfer object for batch scan progress. Targets carry the scan
+ * summary only; fetch a single scan for its vulnerabilities and recommendations.
+ */
+public class BatchScanResponse {
+    
+    private String batchId;
+    private int totalTargets;
+    private LocalDateTime createdAt;
+    private Map<ScanStatus, Long> progress;
+    private List<ScanResponse> targets;
+    
+    // Constructors
+    public BatchScanResponse() {}
+    
+    public BatchScanResponse(String batchId, int totalTargets, LocalDateTime createdAt) {
+        this.batchId = batchId;
+        this.totalTargets = totalTargets;
+        this.createdAt = createdAt;
+    }
+    
+    // Getters and Setters
+    public String getBatchId() {
+        return batchId;
+    }
+    
+    public void setBatchId(String batchId) {
+        this.batchId = batchId;
+    }
+    
+    public int getTotalTargets() {
+        return totalTargets;
+    }
+    
+    public void setTotalTargets(int totalTargets) {
+        this.totalTargets = totalTargets;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public Map<ScanStatus, Long> getProgress() {
+        return progress;
+    }
+    
+    public void setProgress(Map<ScanStatus, Long> progress) {
+        this.progress = progress;
+    }
+    
+    public List<ScanResponse> getTargets() {
+        return targets;
+    }
+    
+    public void setTargets(List<ScanResponse> targets) {
+        this.targets = targets;
+    }
+    
+    @Override
+    public String toString() {
+        return "BatchScanResponse{" +
+                "batchId='" + batchId + '\'' +
+                ", totalTargets=" + totalTargets +
+                ", progress=" + progress +
+                '}';
+    }
+}
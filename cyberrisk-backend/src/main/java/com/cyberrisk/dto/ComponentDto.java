@@ -0,0 +1,63 @@
+package com.cyberrisk.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Component DTO
+ *
+ * One entry of a software component inventory (SBOM) submitted with a scan.
+ * The vendor is optional; without it the component is matched against every
+ * vendor's product of the same name.
+ */
+public class ComponentDto {
+
+    @NotBlank(message = "Component name is required")
+    private String name;
+
+    @NotBlank(message = "Component version is required")
+    private String version;
+
+    private String vendor;
+
+    // Constructors
+    public ComponentDto() {}
+
+    public ComponentDto(String name, String version) {
+        this.name = name;
+        this.version = version;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public String getVendor() {
+        return vendor;
+    }
+
+    public void setVendor(String vendor) {
+        this.vendor = vendor;
+    }
+
+    @Override
+    public String toString() {
+        return "ComponentDto{" +
+                "name='" + name + '\'' +
+                ", version='" + version + '\'' +
+                ", vendor='" + vendor + '\'' +
+                '}';
+    }
+}
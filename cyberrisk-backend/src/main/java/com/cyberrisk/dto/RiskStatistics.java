@@ -0,0 +1,81 @@
+package com.cyberrisk.dto;
+
+import java.util.Map;
+
+/**
+ * Risk Statistics DTO
+ * 
+ * Data transfer object for aggregated risk scores over a set of scans.
+ */
+public class RiskStatistics {
+    
+    private long totalScans;
+    private double averageScore;
+    private int highestScore;
+    private int lowestScore;
+    private Map<String, Long> riskLevelDistribution;
+    
+    // Constructors
+    public RiskStatistics() {}
+    
+    public RiskStatistics(long totalScans, double averageScore, int highestScore, int lowestScore,
+                          Map<String, Long> riskLevelDistribution) {
+        this.totalScans = totalScans;
+        this.averageScore = averageScore;
+        this.highestScore = highestScore;
+        this.lowestScore = lowestScore;
+        this.riskLevelDistribution = riskLevelDistribution;
+    }
+    
+    // Getters and Setters
+    public long getTotalScans() {
+        return totalScans;
+    }
+    
+    public void setTotalScans(long totalScans) {
+        this.totalScans = totalScans;
+    }
+    
+    public double getAverageScore() {
+        return averageScore;
+    }
+    
+    public void setAverageScore(double averageScore) {
+        this.averageScore = averageScore;
+    }
+    
+    public int getHighestScore() {
+        return highestScore;
+    }
+    
+    public void setHighestScore(int highestScore) {
+        this.highestScore = highestScore;
+    }
+    
+    public int getLowestScore() {
+        return lowestScore;
+    }
+    
+    public void setLowestScore(int lowestScore) {
+        this.lowestScore = lowestScore;
+    }
+    
+    public Map<String, Long> getRiskLevelDistribution() {
+        return riskLevelDistribution;
+    }
+    
+    public void setRiskLevelDistribution(Map<String, Long> riskLevelDistribution) {
+        this.riskLevelDistribution = riskLevelDistribution;
+    }
+    
+    @Override
+    public String toString() {
+        return "RiskStatistics{" +
+                "totalScans=" + totalScans +
+                ", averageScore=" + averageScore +
+                ", highestScore=" + highestScore +
+                ", lowestScore=" + lowestScore +
+                ", riskLevelDistribution=" + riskLevelDistribution +
+                '}';
+    }
+}
@@ -0,0 +1,70 @@
+package com.cyberrisk.dto;
+
+import java.util.List;
+
+/**
+ * Scan History Page DTO
+ * 
+ * Data transfer object for one page of scan history, newest first.
+ * Pass nextCursor back as the cursor parameter to fetch the following page.
+ */
+public class ScanHistoryPage {
+    
+    private List<ScanResponse> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int limit;
+    
+    // Constructors
+    public ScanHistoryPage() {}
+    
+    public ScanHistoryPage(List<ScanResponse> items, String nextCursor, boolean hasMore, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.limit = limit;
+    }
+    
+    // Getters and Setters
+    public List<ScanResponse> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<ScanResponse> items) {
+        this.items = items;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+    
+    @Override
+    public String toString() {
+        return "ScanHistoryPage{" +
+                "items=" + (items != null ? items.size() : 0) +
+                ", nextCursor='" + nextCursor + '\'' +
+                ", hasMore=" + hasMore +
+                ", limit=" + limit +
+                '}';
+    }
+}
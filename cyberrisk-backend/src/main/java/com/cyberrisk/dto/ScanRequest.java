@@ -1,7 +1,10 @@
 package com.cyberrisk.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 
+import java.util.List;
+
 /**
  * Scan Request DTO
  * 
@@ -16,6 +19,9 @@ public class ScanRequest {
     private String targetIp;
     private String scanType;
     
+    // Optional software inventory matched against known-vulnerable version ranges
+    private List<@Valid ComponentDto> components;
+    
     // Constructors
     public ScanRequest() {}
     
@@ -57,6 +63,18 @@ public class ScanRequest {
         this.scanType = scanType;
     }
     
+    public List<ComponentDto> getComponents() {
+        return components;
+    }
+    
+    public void setComponents(List<ComponentDto> components) {
+        this.components = components;
+    }
+    
+    public boolean hasComponents() {
+        return components != null && !components.isEmpty();
+    }
+    
     @Override
     public String toString() {
         return "ScanRequest{" +
@@ -64,6 +82,7 @@ public class ScanRequest {
                 ", targetDomain='" + targetDomain + '\'' +
                 ", targetIp='" + targetIp + '\'' +
                 ", scanType='" + scanType + '\'' +
+                ", components=" + (components != null ? components.size() : 0) +
                 '}';
     }
 }
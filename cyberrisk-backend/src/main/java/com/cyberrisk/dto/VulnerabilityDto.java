@@ -18,6 +18,7 @@ public class VulnerabilityDto {
     private String affectedSystem;
     private String remediation;
     private double cvssScore;
+    private String cvssVector;
     private boolean isExploitable;
     
     // Constructors
@@ -103,6 +104,14 @@ public class VulnerabilityDto {
         this.cvssScore = cvssScore;
     }
     
+    public String getCvssVector() {
+        return cvssVector;
+    }
+    
+    public void setCvssVector(String cvssVector) {
+        this.cvssVector = cvssVector;
+    }
+    
     public boolean isExploitable() {
         return isExploitable;
     }
@@ -0,0 +1,26 @@
+package com.cyberrisk.model;
+
+/**
+ * Aggregate Scope Enumeration
+ * 
+ * Defines what a risk aggregate row summarizes.
+ */
+public enum AggregateScope {
+    USER("User"),
+    ORGANIZATION("Organization");
+    
+    private final String displayName;
+    
+    AggregateScope(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
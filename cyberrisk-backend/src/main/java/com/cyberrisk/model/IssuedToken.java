@@ -0,0 +1,103 @@
+package com.cyberrisk.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Issued Token Entity Model
+ * 
+ * Records each JWT handed out by its token id (jti) so the tokens of a user
+ * can be revoked before they expire.
+ */
+@Entity
+@Table(name = "issued_tokens", indexes = {
+    @Index(name = "idx_issued_tokens_user", columnList = "userId, revoked, expiresAt")
+})
+public class IssuedToken {
+    
+    @Id
+    @Column(length = 36)
+    private String jti;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    private LocalDateTime issuedAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+    
+    private boolean revoked;
+    private LocalDateTime revokedAt;
+    
+    // Constructors
+    public IssuedToken() {}
+    
+    public IssuedToken(String jti, Long userId, LocalDateTime issuedAt, LocalDateTime expiresAt) {
+        this.jti = jti;
+        this.userId = userId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+    
+    // Getters and Setters
+    public String getJti() {
+        return jti;
+    }
+    
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public LocalDateTime getIssuedAt() {
+        return issuedAt;
+    }
+    
+    public void setIssuedAt(LocalDateTime issuedAt) {
+        this.issuedAt = issuedAt;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+    
+    public boolean isRevoked() {
+        return revoked;
+    }
+    
+    public void setRevoked(boolean revoked) {
+        this.revoked = revoked;
+    }
+    
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+    
+    public void setRevokedAt(LocalDateTime revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "IssuedToken{" +
+                "jti='" + jti + '\'' +
+                ", userId=" + userId +
+                ", issuedAt=" + issuedAt +
+                ", expiresAt=" + expiresAt +
+                ", revoked=" + revoked +
+                '}';
+    }
+}
@@ -31,6 +31,19 @@ public class Recommendation {
         this.category = category;
     }
     
+    public Recommendation(Recommendation other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.description = other.description;
+        this.priority = other.priority;
+        this.category = other.category;
+        this.implementation = other.implementation;
+        this.estimatedCost = other.estimatedCost;
+        this.estimatedTime = other.estimatedTime;
+        this.expectedImpact = other.expectedImpact;
+        this.isImplemented = other.isImplemented;
+    }
+    
     // Getters and Setters
     public String getId() {
         return id;
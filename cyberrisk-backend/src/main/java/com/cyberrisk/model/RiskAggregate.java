@@ -0,0 +1,195 @@
+package com.cyberrisk.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Risk Aggregate Entity Model
+ * 
+ * Running totals of completed scan scores for one user or one organization,
+ * maintained as scans complete so analysis endpoints read a single row
+ * instead of the full scan history.
+ */
+@Entity
+@Table(name = "risk_aggregates", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_risk_aggregates_scope", columnNames = {"scope", "scopeKey"})
+})
+public class RiskAggregate {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private AggregateScope scope;
+    
+    @Column(nullable = false)
+    private String scopeKey;
+    
+    private long scanCount;
+    private long scoreSum;
+    private int minScore;
+    private int maxScore;
+    private Integer latestScore;
+    private Integer previousScore;
+    private Long lastScanId;
+    private LocalDateTime lastScanDate;
+    private String lastOrganizationName;
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public RiskAggregate() {}
+    
+    public RiskAggregate(AggregateScope scope, String scopeKey) {
+        this.scope = scope;
+        this.scopeKey = scopeKey;
+    }
+    
+    /**
+     * Fold a completed scan into the running totals
+     */
+    public void record(ScanResult scanResult) {
+        int score = scanResult.getRiskScore();
+        if (scanCount == 0) {
+            minScore = score;
+            maxScore = score;
+        } else {
+            minScore = Math.min(minScore, score);
+            maxScore = Math.max(maxScore, score);
+        }
+        scanCount++;
+        scoreSum += score;
+        previousScore = latestScore;
+        latestScore = score;
+        lastScanId = scanResult.getId();
+        lastScanDate = scanResult.getScanDate();
+        lastOrganizationName = scanResult.getOrganizationName();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public AggregateScope getScope() {
+        return scope;
+    }
+    
+    public void setScope(AggregateScope scope) {
+        this.scope = scope;
+    }
+    
+    public String getScopeKey() {
+        return scopeKey;
+    }
+    
+    public void setScopeKey(String scopeKey) {
+        this.scopeKey = scopeKey;
+    }
+    
+    public long getScanCount() {
+        return scanCount;
+    }
+    
+    public void setScanCount(long scanCount) {
+        this.scanCount = scanCount;
+    }
+    
+    public long getScoreSum() {
+        return scoreSum;
+    }
+    
+    public void setScoreSum(long scoreSum) {
+        this.scoreSum = scoreSum;
+    }
+    
+    public int getMinScore() {
+        return minScore;
+    }
+    
+    public void setMinScore(int minScore) {
+        this.minScore = minScore;
+    }
+    
+    public int getMaxScore() {
+        return maxScore;
+    }
+    
+    public void setMaxScore(int maxScore) {
+        this.maxScore = maxScore;
+    }
+    
+    public Integer getLatestScore() {
+        return latestScore;
+    }
+    
+    public void setLatestScore(Integer latestScore) {
+        this.latestScore = latestScore;
+    }
+    
+    public Integer getPreviousScore() {
+        return previousScore;
+    }
+    
+    public void setPreviousScore(Integer previousScore) {
+        this.previousScore = previousScore;
+    }
+    
+    public Long getLastScanId() {
+        return lastScanId;
+    }
+    
+    public void setLastScanId(Long lastScanId) {
+        this.lastScanId = lastScanId;
+    }
+    
+    public LocalDateTime getLastScanDate() {
+        return lastScanDate;
+    }
+    
+    public void setLastScanDate(LocalDateTime lastScanDate) {
+        this.lastScanDate = lastScanDate;
+    }
+    
+    public String getLastOrganizationName() {
+        return lastOrganizationName;
+    }
+    
+    public void setLastOrganizationName(String lastOrganizationName) {
+        this.lastOrganizationName = lastOrganizationName;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    // Utility methods
+    public double getAverageScore() {
+        return scanCount == 0 ? 0 : (double) scoreSum / scanCount;
+    }
+    
+    public RiskLevel getLatestRiskLevel() {
+        return latestScore == null ? null : RiskLevel.fromScore(latestScore);
+    }
+    
+    @Override
+    public String toString() {
+        return "RiskAggregate{" +
+                "id='" + id + '\'' +
+                ", scope=" + scope +
+                ", scopeKey='" + scopeKey + '\'' +
+                ", scanCount=" + scanCount +
+                ", latestScore=" + latestScore +
+                '}';
+    }
+}
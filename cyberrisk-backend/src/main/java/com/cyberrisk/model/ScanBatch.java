@@ -0,0 +1,82 @@
+package com.cyberrisk.model;
+
+import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scan Batch Entity Model
+ * 
+ * Groups the scan results created by a single batch submission so their
+ * progress can be tracked together.
+ */
+@Entity
+@Table(name = "scan_batches")
+public class ScanBatch {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    @JsonIgnore
+    private User user;
+    
+    private int totalTargets;
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public ScanBatch() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    public ScanBatch(User user, int totalTargets) {
+        this();
+        this.user = user;
+        this.totalTargets = totalTargets;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public User getUser() {
+        return user;
+    }
+    
+    public void setUser(User user) {
+        this.user = user;
+    }
+    
+    public int getTotalTargets() {
+        return totalTargets;
+    }
+    
+    public void setTotalTargets(int totalTargets) {
+        this.totalTargets = totalTargets;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "ScanBatch{" +
+                "id='" + id + '\'' +
+                ", totalTargets=" + totalTargets +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -2,8 +2,10 @@ package com.cyberrisk.model;
 
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -14,11 +16,16 @@ import java.util.Map;
  * performed on an organization's infrastructure.
  */
 @Entity
-@Table(name = "scan_results")
+@Table(name = "scan_results", indexes = {
+    @Index(name = "idx_scan_results_target_key", columnList = "targetKey, status, scanDate"),
+    @Index(name = "idx_scan_results_user_date", columnList = "user_id, scanDate, id")
+})
 public class ScanResult {
     
+    // Sequence ids let Hibernate batch inserts, which IDENTITY columns prevent
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scan_result_seq")
+    @SequenceGenerator(name = "scan_result_seq", sequenceName = "scan_result_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -26,20 +33,26 @@ public class ScanResult {
     @JsonIgnore
     private User user;
     
+    private Long batchId;
     private String organizationName;
     private String targetDomain;
     private String targetIp;
+    private String scanType;
+    private String targetKey;
     private LocalDateTime scanDate;
     private ScanStatus status;
     private int riskScore;
     private RiskLevel riskLevel;
+    // Findings of up to a page of scans are loaded together when the first one is read
     @ElementCollection
     @CollectionTable(name = "scan_vulnerabilities", joinColumns = @JoinColumn(name = "scan_id"))
-    private List<Vulnerability> vulnerabilities;
+    @BatchSize(size = 500)
+    private List<Vulnerability> vulnerabilities = new ArrayList<>();
     
     @ElementCollection
     @CollectionTable(name = "scan_recommendations", joinColumns = @JoinColumn(name = "scan_id"))
-    private List<Recommendation> recommendations;
+    @BatchSize(size = 500)
+    private List<Recommendation> recommendations = new ArrayList<>();
     
     @ElementCollection
     @CollectionTable(name = "scan_metadata", joinColumns = @JoinColumn(name = "scan_id"))
@@ -78,6 +91,14 @@ public class ScanResult {
         this.user = user;
     }
     
+    public Long getBatchId() {
+        return batchId;
+    }
+    
+    public void setBatchId(Long batchId) {
+        this.batchId = batchId;
+    }
+    
     public String getOrganizationName() {
         return organizationName;
     }
@@ -102,6 +123,22 @@ public class ScanResult {
         this.targetIp = targetIp;
     }
     
+    public String getScanType() {
+        return scanType;
+    }
+    
+    public void setScanType(String scanType) {
+        this.scanType = scanType;
+    }
+    
+    public String getTargetKey() {
+        return targetKey;
+    }
+    
+    public void setTargetKey(String targetKey) {
+        this.targetKey = targetKey;
+    }
+    
     public LocalDateTime getScanDate() {
         return scanDate;
     }
@@ -4,122 +4,140 @@ import jakarta.persistence.*;
 
 /**
  * Vulnerability Model
- * 
+ *
  * Represents a specific security vulnerability found during a scan.
+ * Only the definition id and the per-finding fields are stored with the
+ * scan; title, description, classification and remediation are read from
+ * the shared VulnerabilityDefinition, which is attached after loading.
  */
 @Embeddable
 public class Vulnerability {
-    
-    private String id;
-    private String title;
-    private String description;
-    private Severity severity;
-    private String category;
-    private String cveId;
+
+    @Column(nullable = false)
+    private String definitionId;
+
+    // Overrides the definition's affected system when set
     private String affectedSystem;
-    private String remediation;
+
     private double cvssScore;
+    private String cvssVector;
     private boolean isExploitable;
-    
+
+    @Transient
+    private VulnerabilityDefinition definition;
+
     // Constructors
     public Vulnerability() {}
-    
-    public Vulnerability(String title, String description, Severity severity, String category) {
-        this.title = title;
-        this.description = description;
-        this.severity = severity;
-        this.category = category;
-    }
-    
-    // Getters and Setters
-    public String getId() {
-        return id;
-    }
-    
-    public void setId(String id) {
-        this.id = id;
+
+    public Vulnerability(VulnerabilityDefinition definition) {
+        this.definition = definition;
+        this.definitionId = definition.getId();
+        this.cvssScore = definition.getCvssScore();
+        this.isExploitable = definition.isExploitable();
     }
-    
-    public String getTitle() {
-        return title;
+
+    public Vulnerability(Vulnerability other) {
+        this.definitionId = other.definitionId;
+        this.affectedSystem = other.affectedSystem;
+        this.cvssScore = other.cvssScore;
+        this.cvssVector = other.cvssVector;
+        this.isExploitable = other.isExploitable;
+        this.definition = other.definition;
     }
-    
-    public void setTitle(String title) {
-        this.title = title;
+
+    // Getters and Setters
+    public String getDefinitionId() {
+        return definitionId;
     }
-    
-    public String getDescription() {
-        return description;
+
+    public void setDefinitionId(String definitionId) {
+        this.definitionId = definitionId;
     }
-    
-    public void setDescription(String description) {
-        this.description = description;
+
+    public VulnerabilityDefinition getDefinition() {
+        return definition;
     }
-    
-    public Severity getSeverity() {
-        return severity;
+
+    public void setDefinition(VulnerabilityDefinition definition) {
+        this.definition = definition;
     }
-    
-    public void setSeverity(Severity severity) {
-        this.severity = severity;
+
+    public double getCvssScore() {
+        return cvssScore;
     }
-    
-    public String getCategory() {
-        return category;
+
+    public void setCvssScore(double cvssScore) {
+        this.cvssScore = cvssScore;
     }
-    
-    public void setCategory(String category) {
-        this.category = category;
+
+    public String getCvssVector() {
+        return cvssVector;
     }
-    
-    public String getCveId() {
-        return cveId;
+
+    public void setCvssVector(String cvssVector) {
+        this.cvssVector = cvssVector;
     }
-    
-    public void setCveId(String cveId) {
-        this.cveId = cveId;
+
+    public boolean isExploitable() {
+        return isExploitable;
     }
-    
-    public String getAffectedSystem() {
-        return affectedSystem;
+
+    public void setExploitable(boolean exploitable) {
+        isExploitable = exploitable;
     }
-    
+
     public void setAffectedSystem(String affectedSystem) {
         this.affectedSystem = affectedSystem;
     }
-    
-    public String getRemediation() {
-        return remediation;
+
+    public String getAffectedSystem() {
+        return affectedSystem != null ? affectedSystem : definition().getAffectedSystem();
     }
-    
-    public void setRemediation(String remediation) {
-        this.remediation = remediation;
+
+    // Shared fields, read from the definition
+    public String getId() {
+        return definitionId;
     }
-    
-    public double getCvssScore() {
-        return cvssScore;
+
+    public String getTitle() {
+        return definition().getTitle();
     }
-    
-    public void setCvssScore(double cvssScore) {
-        this.cvssScore = cvssScore;
+
+    public String getDescription() {
+        return definition().getDescription();
     }
-    
-    public boolean isExploitable() {
-        return isExploitable;
+
+    public Severity getSeverity() {
+        return definition().getSeverity();
     }
-    
-    public void setExploitable(boolean exploitable) {
-        isExploitable = exploitable;
+
+    public String getCategory() {
+        return definition().getCategory();
+    }
+
+    public String getCveId() {
+        return definition().getCveId();
+    }
+
+    public String getRemediation() {
+        return definition().getRemediation();
+    }
+
+    private VulnerabilityDefinition definition() {
+        if (definition == null) {
+            throw new IllegalStateException("Vulnerability definition " + definitionId + " has not been resolved");
+        }
+        return definition;
     }
-    
+
     @Override
     public String toString() {
         return "Vulnerability{" +
-                "id='" + id + '\'' +
-                ", title='" + title + '\'' +
-                ", severity=" + severity +
-                ", category='" + category + '\'' +
+                "definitionId='" + definitionId + '\'' +
+                ", affectedSystem='" + affectedSystem + '\'' +
                 ", cvssScore=" + cvssScore +
+                ", cvssVector='" + cvssVector + '\'' +
+                ", isExploitable=" + isExploitable +
                 '}';
     }
 }
@@ -0,0 +1,126 @@
+package com.cyberrisk.model;
+
+import jakarta.persistence.*;
+
+import java.util.Objects;
+
+/**
+ * Vulnerability Definition Entity Model
+ * 
+ * The shared, immutable part of a vulnerability: its text, classification
+ * and base scores. Scans refer to a definition by id and keep only their
+ * per-finding fields, so each definition exists once in the database and
+ * once in memory however many scans report it.
+ */
+@Entity
+@Table(name = "vulnerability_definitions")
+public class VulnerabilityDefinition {
+    
+    @Id
+    private String id;
+    
+    @Column(nullable = false)
+    private String title;
+    
+    @Column(length = 4000)
+    private String description;
+    
+    private Severity severity;
+    private String category;
+    private String cveId;
+    private String affectedSystem;
+    
+    @Column(length = 4000)
+    private String remediation;
+    
+    private double cvssScore;
+    private boolean exploitable;
+    
+    // Constructors
+    protected VulnerabilityDefinition() {}
+    
+    public VulnerabilityDefinition(String id, String title, String description, Severity severity,
+                                   String category, String cveId, String affectedSystem,
+                                   String remediation, double cvssScore, boolean exploitable) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.severity = severity;
+        this.category = category;
+        this.cveId = cveId;
+        this.affectedSystem = affectedSystem;
+        this.remediation = remediation;
+        this.cvssScore = cvssScore;
+        this.exploitable = exploitable;
+    }
+    
+    /**
+     * Check whether another definition carries the same content
+     */
+    public boolean sameContent(VulnerabilityDefinition other) {
+        return other != null
+                && Objects.equals(id, other.id)
+                && Objects.equals(title, other.title)
+                && Objects.equals(description, other.description)
+                && severity == other.severity
+                && Objects.equals(category, other.category)
+                && Objects.equals(cveId, other.cveId)
+                && Objects.equals(affectedSystem, other.affectedSystem)
+                && Objects.equals(remediation, other.remediation)
+                && Double.compare(cvssScore, other.cvssScore) == 0
+                && exploitable == other.exploitable;
+    }
+    
+    // Getters
+    public String getId() {
+        return id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public Severity getSeverity() {
+        return severity;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public String getCveId() {
+        return cveId;
+    }
+    
+    public String getAffectedSystem() {
+        return affectedSystem;
+    }
+    
+    public String getRemediation() {
+        return remediation;
+    }
+    
+    public double getCvssScore() {
+        return cvssScore;
+    }
+    
+    public boolean isExploitable() {
+        return exploitable;
+    }
+    
+    @Override
+    public String toString() {
+        return "VulnerabilityDefinition{" +
+                "id='" + id + '\'' +
+                ", title='" + title + '\'' +
+                ", severity=" + severity +
+                ", category='" + category + '\'' +
+                ", cveId='" + cveId + '\'' +
+                ", cvssScore=" + cvssScore +
+                '}';
+    }
+}
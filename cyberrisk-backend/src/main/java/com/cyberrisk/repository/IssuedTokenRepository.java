@@ -0,0 +1,41 @@
+package com.cyberrisk.repository;
+
+import com.cyberrisk.model.IssuedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Issued Token Repository
+ * 
+ * Data access layer for IssuedToken entities.
+ */
+@Repository
+public interface IssuedTokenRepository extends JpaRepository<IssuedToken, String> {
+    
+    /**
+     * Find the live tokens of a user that are not revoked yet
+     */
+    @Query("SELECT t FROM IssuedToken t WHERE t.userId = :userId AND t.revoked = false AND t.expiresAt > :now")
+    List<IssuedToken> findActiveByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+    
+    /**
+     * Find revoked tokens that have not expired yet
+     */
+    @Query("SELECT t FROM IssuedToken t WHERE t.revoked = true AND t.expiresAt > :now")
+    List<IssuedToken> findRevokedUnexpired(@Param("now") LocalDateTime now);
+    
+    /**
+     * Remove tokens past their expiration; they are rejected by signature checks anyway
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IssuedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
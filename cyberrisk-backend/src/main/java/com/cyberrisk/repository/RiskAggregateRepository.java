@@ -0,0 +1,33 @@
+package com.cyberrisk.repository;
+
+import com.cyberrisk.model.AggregateScope;
+import com.cyberrisk.model.RiskAggregate;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Risk Aggregate Repository
+ * 
+ * Data access layer for RiskAggregate entities.
+ */
+@Repository
+public interface RiskAggregateRepository extends JpaRepository<RiskAggregate, Long> {
+    
+    /**
+     * Find the aggregate of a scope
+     */
+    Optional<RiskAggregate> findByScopeAndScopeKey(AggregateScope scope, String scopeKey);
+    
+    /**
+     * Find the aggregate of a scope and lock it for update
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM RiskAggregate a WHERE a.scope = :scope AND a.scopeKey = :scopeKey")
+    Optional<RiskAggregate> findForUpdate(@Param("scope") AggregateScope scope, @Param("scopeKey") String scopeKey);
+}
@@ -0,0 +1,21 @@
+package com.cyberrisk.repository;
+
+import com.cyberrisk.model.RiskLevel;
+
+/**
+ * Risk Level Aggregate Projection
+ * 
+ * One row of a GROUP BY riskLevel query over scan results.
+ */
+public interface RiskLevelAggregate {
+    
+    RiskLevel getRiskLevel();
+    
+    Long getScanCount();
+    
+    Long getScoreSum();
+    
+    Integer getMinScore();
+    
+    Integer getMaxScore();
+}
@@ -0,0 +1,14 @@
+package com.cyberrisk.repository;
+
+import com.cyberrisk.model.ScanBatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Scan Batch Repository
+ * 
+ * Data access layer for ScanBatch entities.
+ */
+@Repository
+public interface ScanBatchRepository extends JpaRepository<ScanBatch, Long> {
+}
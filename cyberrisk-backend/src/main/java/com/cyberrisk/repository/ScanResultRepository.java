@@ -1,13 +1,19 @@
 package com.cyberrisk.repository;
 
 import com.cyberrisk.model.ScanResult;
+import com.cyberrisk.model.ScanStatus;
 import com.cyberrisk.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Scan Result Repository
@@ -22,6 +28,41 @@ public interface ScanResultRepository extends JpaRepository<ScanResult, Long> {
      */
     List<ScanResult> findByUser(User user);
     
+    /**
+     * Find scan results by user, oldest first
+     */
+    List<ScanResult> findByUserOrderByScanDateAscIdAsc(User user);
+    
+    /**
+     * Find the first page of a user's scan results, newest first
+     */
+    @Query("SELECT s FROM ScanResult s WHERE s.user.id = :userId ORDER BY s.scanDate DESC, s.id DESC")
+    List<ScanResult> findPageByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    /**
+     * Find the page of a user's scan results that follows a (scanDate, id) cursor, newest first
+     */
+    @Query("SELECT s FROM ScanResult s WHERE s.user.id = :userId " +
+           "AND (s.scanDate < :scanDate OR (s.scanDate = :scanDate AND s.id < :id)) " +
+           "ORDER BY s.scanDate DESC, s.id DESC")
+    List<ScanResult> findPageByUserIdAfter(@Param("userId") Long userId,
+                                           @Param("scanDate") LocalDateTime scanDate,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+    
+    /**
+     * Find a user's most recent scan result with the given status
+     */
+    Optional<ScanResult> findFirstByUserIdAndStatusOrderByScanDateDescIdDesc(Long userId, ScanStatus status);
+    
+    /**
+     * Aggregate a user's risk scores per risk level in a single pass
+     */
+    @Query("SELECT s.riskLevel AS riskLevel, COUNT(s) AS scanCount, SUM(s.riskScore) AS scoreSum, " +
+           "MIN(s.riskScore) AS minScore, MAX(s.riskScore) AS maxScore " +
+           "FROM ScanResult s WHERE s.user.id = :userId AND s.status = :status GROUP BY s.riskLevel")
+    List<RiskLevelAggregate> aggregateRiskByUserId(@Param("userId") Long userId, @Param("status") ScanStatus status);
+    
     /**
      * Find scan results by user ID
      */
@@ -52,6 +93,11 @@ public interface ScanResultRepository extends JpaRepository<ScanResult, Long> {
      */
     long countByUser(User user);
     
+    /**
+     * Count scan results by user ID
+     */
+    long countByUserId(Long userId);
+    
     /**
      * Count scan results by risk level
      */
@@ -63,6 +109,50 @@ public interface ScanResultRepository extends JpaRepository<ScanResult, Long> {
     @Query("SELECT AVG(s.riskScore) FROM ScanResult s")
     Double getAverageRiskScore();
     
+    /**
+     * Find the most recent scan of a target with the given status since a point in time
+     */
+    Optional<ScanResult> findFirstByTargetKeyAndStatusAndScanDateAfterOrderByScanDateDesc(
+        String targetKey, ScanStatus status, LocalDateTime since);
+    
+    /**
+     * Find the id of the user who owns a scan, without loading the scan
+     */
+    @Query("SELECT s.user.id FROM ScanResult s WHERE s.id = :scanId")
+    Optional<Long> findOwnerIdById(@Param("scanId") Long scanId);
+    
+    /**
+     * Find scan results belonging to a batch
+     */
+    List<ScanResult> findByBatchIdOrderByIdAsc(Long batchId);
+    
+    /**
+     * Count scan results of a batch grouped by status
+     */
+    @Query("SELECT s.status, COUNT(s) FROM ScanResult s WHERE s.batchId = :batchId GROUP BY s.status")
+    List<Object[]> countByBatchIdGroupByStatus(@Param("batchId") Long batchId);
+    
+    /**
+     * Mark scan results with the given status in a single update
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ScanResult s SET s.status = :status WHERE s.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") List<Long> ids, @Param("status") ScanStatus status);
+    
+    /**
+     * Aggregate user counts per role and scan counts and score sums per risk level in one round trip
+     * 
+     * Rows are (kind, enum ordinal, count, score sum) with kind ROLE or RISK.
+     */
+    @Query(value = "SELECT 'ROLE' AS kind, u.role AS bucket, COUNT(*) AS cnt, 0 AS score_sum " +
+                   "FROM users u GROUP BY u.role " +
+                   "UNION ALL " +
+                   "SELECT 'RISK' AS kind, s.risk_level AS bucket, COUNT(*) AS cnt, COALESCE(SUM(s.risk_score), 0) AS score_sum " +
+                   "FROM scan_results s GROUP BY s.risk_level",
+           nativeQuery = true)
+    List<Object[]> aggregateSystemStatistics();
+    
     /**
      * Find scan results with risk score above threshold
      */
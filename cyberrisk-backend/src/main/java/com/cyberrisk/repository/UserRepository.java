@@ -2,7 +2,11 @@ package com.cyberrisk.repository;
 
 import com.cyberrisk.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -48,4 +52,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * Count users by role
      */
     long countByRole(com.cyberrisk.model.Role role);
+    
+    /**
+     * Replace the stored password hash of a user
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
@@ -0,0 +1,14 @@
+package com.cyberrisk.repository;
+
+import com.cyberrisk.model.VulnerabilityDefinition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Vulnerability Definition Repository
+ * 
+ * Data access layer for VulnerabilityDefinition entities.
+ */
+@Repository
+public interface VulnerabilityDefinitionRepository extends JpaRepository<VulnerabilityDefinition, String> {
+}
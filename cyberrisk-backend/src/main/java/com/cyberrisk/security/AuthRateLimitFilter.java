@@ -0,0 +1,230 @@
+package com.cyberrisk.security;
+
+import com.cyberrisk.service.MetricsSource;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Authentication Rate Limit Filter
+ *
+ * Throttles login and registration with token buckets per client IP and per
+ * username, ahead of JWT authentication, so credential stuffing bursts are
+ * turned away before they reach BCrypt or the database. Rejected requests get
+ * 429 with a Retry-After header.
+ */
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter implements MetricsSource {
+
+    private static final int MAX_INSPECTED_BODY_BYTES = 16 * 1024;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${auth.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.rate-limit.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${auth.rate-limit.ip.refill-per-minute:30}")
+    private int ipRefillPerMinute;
+
+    @Value("${auth.rate-limit.username.capacity:10}")
+    private int usernameCapacity;
+
+    @Value("${auth.rate-limit.username.refill-per-minute:10}")
+    private int usernameRefillPerMinute;
+
+    @Value("${auth.rate-limit.max-buckets:100000}")
+    private int maxBuckets;
+
+    @Value("${auth.rate-limit.stripes:16}")
+    private int stripes;
+
+    private TokenBucketRateLimiter ipLimiter;
+    private TokenBucketRateLimiter usernameLimiter;
+
+    private final AtomicLong allowedRequests = new AtomicLong();
+    private final AtomicLong rejectedByIp = new AtomicLong();
+    private final AtomicLong rejectedByUsername = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        ipLimiter = new TokenBucketRateLimiter(ipCapacity, ipRefillPerMinute, maxBuckets, stripes);
+        usernameLimiter = new TokenBucketRateLimiter(usernameCapacity, usernameRefillPerMinute, maxBuckets, stripes);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !enabled
+                || !"POST".equalsIgnoreCase(request.getMethod())
+                || !("/auth/login".equals(path) || "/auth/register".equals(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                  FilterChain filterChain) throws ServletException, IOException {
+
+        long ipWait = ipLimiter.tryAcquire(request.getRemoteAddr());
+        if (ipWait > 0) {
+            rejectedByIp.incrementAndGet();
+            reject(response, ipWait);
+            return;
+        }
+
+        // Read the body once to find the username, then replay it to the controller
+        InputStream body = request.getInputStream();
+        byte[] inspected = body.readNBytes(MAX_INSPECTED_BODY_BYTES + 1);
+        HttpServletRequest replayable = new ReplayedBodyRequest(request, inspected, body);
+
+        String username = inspected.length <= MAX_INSPECTED_BODY_BYTES ? extractUsername(inspected) : null;
+        if (username != null) {
+            long usernameWait = usernameLimiter.tryAcquire(username);
+            if (usernameWait > 0) {
+                rejectedByUsername.incrementAndGet();
+                reject(response, usernameWait);
+                return;
+            }
+        }
+
+        allowedRequests.incrementAndGet();
+        filterChain.doFilter(replayable, response);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "rate-limit";
+    }
+
+    /**
+     * Get rate limiter statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("allowedRequests", allowedRequests.get());
+        stats.put("rejectedByIp", rejectedByIp.get());
+        stats.put("rejectedByUsername", rejectedByUsername.get());
+        stats.put("ipBuckets", ipLimiter.size());
+        stats.put("usernameBuckets", usernameLimiter.size());
+        return stats;
+    }
+
+    private String extractUsername(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).get("username");
+            if (username == null || !username.isTextual() || username.asText().isBlank()) {
+                return null;
+            }
+            return username.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (IOException | RuntimeException e) {
+            // Malformed bodies are rejected by request validation further down
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Too many authentication attempts, please retry later");
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * Request whose body is served from the inspected bytes followed by the unread rest
+     */
+    private static class ReplayedBodyRequest extends HttpServletRequestWrapper {
+
+        private final InputStream body;
+
+        ReplayedBodyRequest(HttpServletRequest request, byte[] inspected, InputStream rest) {
+            super(request);
+            this.body = new SequenceInputStream(new ByteArrayInputStream(inspected), rest);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public int read() throws IOException {
+                    int next = body.read();
+                    finished = next < 0;
+                    return next;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int count = body.read(buffer, offset, length);
+                    finished = count < 0;
+                    return count;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The body is always ready, so the listener can read all of it at once
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        if (finished) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.cyberrisk.security;
+
+import com.cyberrisk.service.MetricsSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt Cost Calibrator
+ *
+ * Picks the BCrypt cost factor at startup. A fixed cost can be configured;
+ * otherwise a sample password is hashed at the minimum cost and the highest
+ * cost whose hashing time stays within the target latency is chosen. Each
+ * cost step doubles the work, so one measurement predicts the others.
+ *
+ * Stored hashes whose cost differs from the chosen one, in either direction,
+ * are reported for upgrade so they are rehashed on the next login.
+ */
+@Component
+public class BCryptCostCalibrator implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final int SAMPLES = 3;
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    @Value("${auth.password.bcrypt-cost:0}")
+    private int configuredCost;
+
+    @Value("${auth.password.target-hash-ms:250}")
+    private long targetHashMs;
+
+    @Value("${auth.password.min-cost:10}")
+    private int minCost;
+
+    @Value("${auth.password.max-cost:14}")
+    private int maxCost;
+
+    private int chosenCost;
+    private long measuredHashMs;
+
+    /**
+     * Resolve the cost factor, calibrating it on first use
+     */
+    public synchronized int resolveCost() {
+        if (chosenCost > 0) {
+            return chosenCost;
+        }
+        if (configuredCost > 0) {
+            chosenCost = configuredCost;
+            log.info("Using configured BCrypt cost {}", chosenCost);
+            return chosenCost;
+        }
+
+        // Warm up once so class loading and JIT do not skew the measurement
+        new BCryptPasswordEncoder(minCost).encode(SAMPLE_PASSWORD);
+        long minCostMs = Math.max(1, measure(minCost));
+
+        int cost = minCost;
+        while (cost < maxCost && (minCostMs << (cost + 1 - minCost)) <= targetHashMs) {
+            cost++;
+        }
+
+        // Confirm the prediction and step back if it overshoots the target
+        measuredHashMs = measure(cost);
+        if (measuredHashMs > targetHashMs && cost > minCost) {
+            cost--;
+            measuredHashMs = measuredHashMs / 2;
+        }
+
+        chosenCost = cost;
+        log.info("Calibrated BCrypt cost {} (~{}ms per hash, target {}ms)", chosenCost, measuredHashMs, targetHashMs);
+        return chosenCost;
+    }
+
+    /**
+     * Create a BCrypt encoder at the resolved cost that upgrades hashes of any other cost
+     */
+    public PasswordEncoder createEncoder() {
+        int cost = resolveCost();
+        return new BCryptPasswordEncoder(cost) {
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                Matcher matcher = encodedPassword == null ? null : BCRYPT_COST.matcher(encodedPassword);
+                if (matcher == null || !matcher.find()) {
+                    return super.upgradeEncoding(encodedPassword);
+                }
+                return Integer.parseInt(matcher.group(1)) != cost;
+            }
+        };
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "password-hashing";
+    }
+
+    /**
+     * Get the chosen cost and how it was arrived at
+     */
+    @Override
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("bcryptCost", resolveCost());
+        stats.put("configuredCost", configuredCost);
+        stats.put("measuredHashMs", measuredHashMs);
+        stats.put("targetHashMs", targetHashMs);
+        return stats;
+    }
+
+    private long measure(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+        }
+        return best;
+    }
+}
@@ -1,10 +1,16 @@
 package com.cyberrisk.security;
 
+import com.cyberrisk.model.User;
+import com.cyberrisk.service.TokenRevocationService;
+import com.cyberrisk.service.UserAccountCache;
+import com.cyberrisk.service.UserAccountCache.AccountState;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -29,38 +35,83 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
     
+    @Autowired
+    private UserAccountCache userAccountCache;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Value("${jwt.stateless-principal.enabled:true}")
+    private boolean statelessPrincipal;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         
         final String authorizationHeader = request.getHeader("Authorization");
         
-        String username = null;
-        String jwt = null;
-        
-        // Extract JWT token from Authorization header
+        // Validate the token and read its claims in a single pass
+        Claims claims = null;
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
-                logger.error("JWT token extraction failed: " + e.getMessage());
+            String jwt = authorizationHeader.substring(7);
+            claims = jwtUtil.getValidClaims(jwt).orElse(null);
+            if (claims == null) {
+                logger.debug("Rejected invalid or expired JWT token");
+            } else if (tokenRevocationService.isRevoked(claims.getId())) {
+                logger.debug("Rejected revoked JWT token of " + claims.getSubject());
+                claims = null;
             }
         }
         
         // Authenticate user if token is valid and user is not already authenticated
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = 
-                    new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        if (claims != null && claims.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = resolvePrincipal(claims);
+            if (userDetails == null) {
+                filterChain.doFilter(request, response);
+                return;
             }
+            
+            UsernamePasswordAuthenticationToken authToken = 
+                new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities());
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
         
         filterChain.doFilter(request, response);
     }
+    
+    /**
+     * Build the principal for a verified token
+     * 
+     * Tokens carrying a user id are turned into a principal straight from their
+     * claims, checked against the cached account state so role changes, disabled
+     * and deleted accounts take effect. Older tokens fall back to a user lookup.
+     * 
+     * @return the principal, or null if the token no longer matches the account
+     */
+    private UserDetails resolvePrincipal(Claims claims) {
+        String username = claims.getSubject();
+        Long userId = jwtUtil.extractUserId(claims);
+        if (!statelessPrincipal || userId == null) {
+            return this.userDetailsService.loadUserByUsername(username);
+        }
+        
+        AccountState account = userAccountCache.getAccount(username);
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        if (!account.exists() || !account.enabled() || !account.userId().equals(userId)
+                || !account.role().name().equals(role)) {
+            logger.debug("Rejected JWT token that no longer matches the account of " + username);
+            return null;
+        }
+        
+        User user = new User();
+        user.setId(userId);
+        user.setUsername(username);
+        user.setOrganization(claims.get(JwtUtil.CLAIM_ORGANIZATION, String.class));
+        user.setRole(account.role());
+        user.setEnabled(true);
+        return user;
+    }
 }
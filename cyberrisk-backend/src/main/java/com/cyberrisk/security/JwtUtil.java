@@ -1,31 +1,67 @@
 package com.cyberrisk.security;
 
+import com.cyberrisk.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
  * JWT Utility Class
  * 
  * Handles JWT token generation, validation, and extraction of claims.
+ * The signing key and parser are built once at startup, and verified claims
+ * are cached by token hash until the token expires, so a token is parsed
+ * and verified once rather than on every request. A full cache makes room
+ * by dropping the cached claims closest to expiry.
  */
 @Component
 public class JwtUtil {
     
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ORGANIZATION = "org";
+    
     @Value("${jwt.secret}")
     private String secret;
     
     @Value("${jwt.expiration}")
     private Long expiration;
     
+    @Value("${jwt.claims-cache.max-entries:10000}")
+    private int claimsCacheMaxEntries;
+    
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    
+    private final Map<String, Claims> claimsCache = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+    
     /**
      * Generate JWT token for user
      */
@@ -39,16 +75,30 @@ public class JwtUtil {
      */
     public String generateToken(String username, String role) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", role);
+        claims.put(CLAIM_ROLE, role);
         return createToken(claims, username);
     }
     
+    /**
+     * Generate JWT token carrying everything needed to rebuild the principal
+     */
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        claims.put(CLAIM_USER_ID, user.getId());
+        if (user.getOrganization() != null) {
+            claims.put(CLAIM_ORGANIZATION, user.getOrganization());
+        }
+        return createToken(claims, user.getUsername());
+    }
+    
     /**
      * Create JWT token with claims
      */
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
@@ -82,55 +132,114 @@ public class JwtUtil {
      * Extract all claims from token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        String cacheKey = hashToken(token);
+        Claims cached = claimsCache.get(cacheKey);
+        if (cached != null) {
+            if (cached.getExpiration().after(new Date())) {
+                return cached;
+            }
+            claimsCache.remove(cacheKey);
+        }
+        
+        // Throws for bad signatures, malformed and expired tokens
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        cacheClaims(cacheKey, claims);
+        return claims;
+    }
+    
+    /**
+     * Validate a token and return all of its claims in a single pass
+     * 
+     * @return the verified claims, or empty if the token is invalid or expired
+     */
+    public Optional<Claims> getValidClaims(String token) {
+        try {
+            return Optional.of(extractAllClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * Cache verified claims, keeping the cache within its size bound
+     */
+    private void cacheClaims(String cacheKey, Claims claims) {
+        if (claimsCacheMaxEntries <= 0 || claims.getExpiration() == null) {
+            return;
+        }
+        if (claimsCache.size() >= claimsCacheMaxEntries) {
+            synchronized (claimsCache) {
+                if (claimsCache.size() >= claimsCacheMaxEntries) {
+                    makeRoom();
+                }
+            }
+        }
+        claimsCache.put(cacheKey, claims);
     }
     
     /**
-     * Check if token is expired
+     * Drop expired claims, then a tenth of the capacity in the claims closest to expiry
      */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private void makeRoom() {
+        Date now = new Date();
+        claimsCache.values().removeIf(entry -> !entry.getExpiration().after(now));
+        if (claimsCache.size() < claimsCacheMaxEntries) {
+            return;
+        }
+        List<Map.Entry<String, Claims>> entries = new ArrayList<>(claimsCache.entrySet());
+        entries.sort(Comparator.comparing(entry -> entry.getValue().getExpiration()));
+        int evict = Math.min(entries.size(), Math.max(1, claimsCacheMaxEntries / 10));
+        for (int i = 0; i < evict; i++) {
+            claimsCache.remove(entries.get(i).getKey(), entries.get(i).getValue());
+        }
+    }
+    
+    /**
+     * Hash a token for use as a cache key, so raw tokens are not held in memory
+     */
+    private String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
     
     /**
      * Validate token
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(userDetails.getUsername()) && claims.getExpiration().after(new Date()));
     }
     
     /**
      * Get signing key
      */
     private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
     
     /**
      * Extract role from token
      */
     public String extractRole(String token) {
-        return extractClaim(token, claims -> claims.get("role", String.class));
+        return extractClaim(token, claims -> claims.get(CLAIM_ROLE, String.class));
+    }
+    
+    /**
+     * Extract user id from claims, or null for tokens issued without one
+     */
+    public Long extractUserId(Claims claims) {
+        Object userId = claims.get(CLAIM_USER_ID);
+        return userId instanceof Number number ? number.longValue() : null;
     }
     
     /**
      * Check if token is valid (not expired and properly formatted)
      */
     public boolean isTokenValid(String token) {
-        try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return getValidClaims(token).isPresent();
     }
 }
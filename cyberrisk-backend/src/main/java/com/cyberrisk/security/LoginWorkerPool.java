@@ -0,0 +1,127 @@
+package com.cyberrisk.security;
+
+import com.cyberrisk.service.MetricsSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Login Worker Pool
+ *
+ * Runs password hashing (login and registration) on a small, bounded pool so
+ * a burst of logins cannot take every CPU away from the rest of the API.
+ * Work beyond the queue capacity, or work that waits longer than the timeout,
+ * is rejected instead of piling up.
+ */
+@Component
+public class LoginWorkerPool implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginWorkerPool.class);
+
+    @Value("${auth.login-pool.workers:0}")
+    private int workers;
+
+    @Value("${auth.login-pool.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${auth.login-pool.timeout-ms:10000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    private final AtomicLong completedTasks = new AtomicLong();
+    private final AtomicLong rejectedTasks = new AtomicLong();
+    private final AtomicLong timedOutTasks = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        // Default to half the cores so hashing always leaves room for other requests
+        int poolSize = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        executor = new ThreadPoolExecutor(
+            poolSize, poolSize,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> new Thread(runnable, "login-worker-" + threadNumber.getAndIncrement()),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        log.info("Login worker pool started with {} workers and queue capacity {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Run a hashing task on the pool and wait for its result
+     *
+     * @throws RejectedExecutionException if the pool is saturated or the task timed out
+     */
+    public <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedTasks.incrementAndGet();
+            throw new RejectedExecutionException("Too many logins in progress");
+        }
+
+        try {
+            T result = future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            completedTasks.incrementAndGet();
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOutTasks.incrementAndGet();
+            throw new RejectedExecutionException("Login timed out waiting for a worker");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Login interrupted");
+        } catch (ExecutionException e) {
+            completedTasks.incrementAndGet();
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "login-pool";
+    }
+
+    /**
+     * Get pool statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("workers", executor.getMaximumPoolSize());
+        stats.put("activeWorkers", executor.getActiveCount());
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("completedTasks", completedTasks.get());
+        stats.put("rejectedTasks", rejectedTasks.get());
+        stats.put("timedOutTasks", timedOutTasks.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,101 @@
+package com.cyberrisk.security;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token Bucket Rate Limiter
+ *
+ * Lock-free token buckets keyed by an arbitrary string. Each bucket is a
+ * single AtomicLong holding its theoretical arrival time (the GCRA form of a
+ * token bucket): a request is allowed while that time is no more than the
+ * burst capacity ahead of now, and every allowed request pushes it forward by
+ * one refill interval.
+ *
+ * Buckets are spread over independent stripes with a bounded number of
+ * entries each. A full stripe first drops buckets that have refilled
+ * completely, which changes nothing for their keys, and only then evicts
+ * arbitrary buckets.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long refillIntervalNanos;
+    private final long burstNanos;
+    private final int maxEntriesPerStripe;
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+
+    public TokenBucketRateLimiter(int capacity, int refillPerMinute, int maxEntries, int stripeCount) {
+        this.refillIntervalNanos = 60_000_000_000L / Math.max(1, refillPerMinute);
+        this.burstNanos = refillIntervalNanos * Math.max(1, capacity);
+        this.maxEntriesPerStripe = Math.max(1, maxEntries / Math.max(1, stripeCount));
+        this.stripes = newStripes(Math.max(1, stripeCount));
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentHashMap<String, AtomicLong>[] newStripes(int count) {
+        // Generic arrays cannot be created directly; every element is set to a typed map
+        return (ConcurrentHashMap<String, AtomicLong>[]) new ConcurrentHashMap<?, ?>[count];
+    }
+
+    /**
+     * Take one token for a key
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong bucket = bucketFor(key, now);
+
+        while (true) {
+            long arrival = bucket.get();
+            long start = Math.max(arrival, now);
+            long next = start + refillIntervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Get the number of live buckets
+     */
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private AtomicLong bucketFor(String key, long now) {
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[Math.floorMod(key.hashCode(), stripes.length)];
+        AtomicLong bucket = stripe.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        if (stripe.size() >= maxEntriesPerStripe) {
+            evict(stripe, now);
+        }
+        return stripe.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    private void evict(ConcurrentHashMap<String, AtomicLong> stripe, long now) {
+        // A bucket whose arrival time has passed is full and can be recreated at no cost
+        stripe.values().removeIf(bucket -> bucket.get() <= now);
+
+        Iterator<String> keys = stripe.keySet().iterator();
+        while (stripe.size() >= maxEntriesPerStripe && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
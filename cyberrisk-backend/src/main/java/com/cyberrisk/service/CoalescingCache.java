@@ -0,0 +1,166 @@
+package com.cyberrisk.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Coalescing Cache
+ *
+ * Caches the outcome of slow lookups, such as DNS queries or TLS handshakes,
+ * for a TTL chosen per outcome. Concurrent requests for a key that is being
+ * loaded share the one in-flight load. Loads run on the given executor; a
+ * load the executor rejects fails its future and is not cached.
+ *
+ * The cache never holds more than max-entries keys. A full cache drops
+ * expired entries first, then the completed entries closest to expiry. When
+ * every entry is still loading, new keys are loaded without being cached.
+ */
+public class CoalescingCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final Executor executor;
+    private final ToLongBiFunction<V, Throwable> ttlMillis;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param ttlMillis how long an outcome stays cached, given the value or the failure of its load
+     */
+    public CoalescingCache(int maxEntries, Executor executor, ToLongBiFunction<V, Throwable> ttlMillis) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.executor = executor;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Get the cached or in-flight outcome for a key, or start loading it
+     */
+    public CompletableFuture<V> get(K key, Callable<V> loader) {
+        long now = System.currentTimeMillis();
+        Entry<V> existing = entries.get(key);
+        if (existing != null && existing.isUsable(now)) {
+            recordReuse(existing);
+            return existing.future;
+        }
+
+        Entry<V> created = new Entry<>();
+        boolean cached;
+        // Misses cost a load anyway, so they are serialized to keep the size bound exact
+        synchronized (this) {
+            existing = entries.get(key);
+            if (existing != null && existing.isUsable(now)) {
+                recordReuse(existing);
+                return existing.future;
+            }
+            if (existing == null && entries.size() >= maxEntries) {
+                makeRoom(now);
+            }
+            cached = existing != null || entries.size() < maxEntries;
+            if (cached) {
+                entries.put(key, created);
+            }
+        }
+
+        try {
+            executor.execute(() -> load(created, loader));
+        } catch (RejectedExecutionException e) {
+            if (cached) {
+                entries.remove(key, created);
+            }
+            created.future.completeExceptionally(e);
+        }
+        return created.future;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Requests answered from a completed entry
+     */
+    public long hits() {
+        return hits.get();
+    }
+
+    /**
+     * Requests that joined an in-flight load
+     */
+    public long coalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * Unexpired entries dropped to stay within max-entries
+     */
+    public long evictions() {
+        return evictions.get();
+    }
+
+    private void load(Entry<V> entry, Callable<V> loader) {
+        V value;
+        try {
+            value = loader.call();
+        } catch (Exception e) {
+            entry.expiresAt = System.currentTimeMillis() + ttlMillis.applyAsLong(null, e);
+            entry.future.completeExceptionally(e);
+            return;
+        }
+        entry.expiresAt = System.currentTimeMillis() + ttlMillis.applyAsLong(value, null);
+        entry.future.complete(value);
+    }
+
+    /**
+     * Drop expired entries, then a tenth of the capacity in completed entries closest to expiry
+     */
+    private void makeRoom(long now) {
+        entries.values().removeIf(entry -> !entry.isUsable(now));
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        List<Map.Entry<K, Entry<V>>> completed = new ArrayList<>();
+        for (Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
+            if (entry.getValue().future.isDone()) {
+                completed.add(entry);
+            }
+        }
+        completed.sort(Comparator.comparingLong(entry -> entry.getValue().expiresAt));
+        int evict = Math.min(completed.size(), Math.max(1, maxEntries / 10));
+        for (int i = 0; i < evict; i++) {
+            if (entries.remove(completed.get(i).getKey(), completed.get(i).getValue())) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private void recordReuse(Entry<V> entry) {
+        if (entry.future.isDone()) {
+            hits.incrementAndGet();
+        } else {
+            coalesced.incrementAndGet();
+        }
+    }
+
+    private static class Entry<V> {
+
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        // In flight or not yet expired
+        boolean isUsable(long now) {
+            return !future.isDone() || expiresAt > now;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.cyberrisk.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Component Version
+ *
+ * A parsed software version, ordered the way package ecosystems usually
+ * order them: "1.10" follows "1.9", "1.0" equals "1.0.0", and pre-release
+ * qualifiers (alpha, beta, milestone, rc, snapshot) precede the release.
+ * Segments are split at '.', '-', '_', '+' and at digit/letter boundaries.
+ */
+final class ComponentVersion implements Comparable<ComponentVersion> {
+
+    private static final int RELEASE_RANK = 6;
+
+    private final String text;
+    private final String[] segments;
+
+    private ComponentVersion(String text, String[] segments) {
+        this.text = text;
+        this.segments = segments;
+    }
+
+    static ComponentVersion parse(String text) {
+        // CPE strings escape punctuation with backslashes
+        String version = text.replace("\\", "").trim().toLowerCase(Locale.ROOT);
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= version.length(); i++) {
+            boolean end = i == version.length();
+            char c = end ? 0 : version.charAt(i);
+            boolean separator = c == '.' || c == '-' || c == '_' || c == '+';
+            boolean boundary = !end && !separator && i > start
+                    && Character.isDigit(c) != Character.isDigit(version.charAt(i - 1));
+            if (end || separator || boundary) {
+                if (i > start) {
+                    segments.add(version.substring(start, i));
+                }
+                start = boundary ? i : i + 1;
+            }
+        }
+        return new ComponentVersion(text, segments.toArray(new String[0]));
+    }
+
+    @Override
+    public int compareTo(ComponentVersion other) {
+        int length = Math.max(segments.length, other.segments.length);
+        for (int i = 0; i < length; i++) {
+            int result = compareSegments(
+                    i < segments.length ? segments[i] : null,
+                    i < other.segments.length ? other.segments[i] : null);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private static int compareSegments(String left, String right) {
+        // A missing segment counts as 0 against a number and as the release against a qualifier
+        boolean leftNumeric = left == null ? right == null || isNumeric(right) : isNumeric(left);
+        boolean rightNumeric = right == null ? leftNumeric : isNumeric(right);
+        if (leftNumeric && rightNumeric) {
+            return compareNumbers(left == null ? "0" : left, right == null ? "0" : right);
+        }
+        if (leftNumeric != rightNumeric) {
+            // 1.0.1 follows 1.0-rc1
+            return leftNumeric ? 1 : -1;
+        }
+        int result = Integer.compare(qualifierRank(left), qualifierRank(right));
+        if (result != 0 || left == null || right == null) {
+            return result;
+        }
+        return left.compareTo(right);
+    }
+
+    private static int compareNumbers(String left, String right) {
+        left = stripLeadingZeros(left);
+        right = stripLeadingZeros(right);
+        if (left.length() != right.length()) {
+            return Integer.compare(left.length(), right.length());
+        }
+        return left.compareTo(right);
+    }
+
+    private static int qualifierRank(String qualifier) {
+        if (qualifier == null) {
+            return RELEASE_RANK;
+        }
+        return switch (qualifier) {
+            case "alpha", "a" -> 1;
+            case "beta", "b" -> 2;
+            case "milestone", "m" -> 3;
+            case "rc", "cr", "pre", "preview" -> 4;
+            case "snapshot", "dev" -> 5;
+            case "ga", "final", "release" -> RELEASE_RANK;
+            default -> RELEASE_RANK + 1;
+        };
+    }
+
+    private static boolean isNumeric(String segment) {
+        return Character.isDigit(segment.charAt(0));
+    }
+
+    private static String stripLeadingZeros(String number) {
+        int i = 0;
+        while (i < number.length() - 1 && number.charAt(i) == '0') {
+            i++;
+        }
+        return number.substring(i);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
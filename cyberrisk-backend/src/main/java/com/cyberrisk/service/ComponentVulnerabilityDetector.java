@@ -0,0 +1,171 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.dto.ComponentDto;
+import com.cyberrisk.model.Severity;
+import com.cyberrisk.model.Vulnerability;
+import com.cyberrisk.model.VulnerabilityDefinition;
+import com.cyberrisk.service.CveIndex.CveRecord;
+import com.cyberrisk.service.ScannerModule.ModuleResult;
+import com.cyberrisk.service.ScannerModule.ScanInput;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Component Vulnerability Detector
+ *
+ * Turns the CVE matches of a component inventory into findings: one finding
+ * per CVE, listing the affected components, backed by a shared definition
+ * built from the imported CVSS data.
+ *
+ * As the "components" scanner module it matches the submitted inventory
+ * together with the components the network module recognized in banners.
+ */
+@Component
+public class ComponentVulnerabilityDetector implements ScannerModule {
+
+    // Probabilistic rule that an inventory scan replaces with real matches
+    public static final String SUPERSEDED_RULE_ID = "SW-OUTDATED-COMPONENTS";
+
+    private static final String DEFINITION_PREFIX = "COMPONENT-";
+    private static final int MAX_AFFECTED_SYSTEM_LENGTH = 200;
+
+    @Autowired
+    private VersionRangeIndex versionRangeIndex;
+
+    @Autowired
+    private CveIndex cveIndex;
+
+    @Autowired
+    private VulnerabilityCatalog vulnerabilityCatalog;
+
+    @Value("${scan.components.module-timeout-ms:10000}")
+    private long moduleTimeoutMs;
+
+    @Override
+    public String getName() {
+        return "components";
+    }
+
+    @Override
+    public Set<ScanInput> getInputs() {
+        // Banner components count too, so the module runs without a submitted inventory
+        return Set.of();
+    }
+
+    @Override
+    public Set<String> getDependencies() {
+        return Set.of("network");
+    }
+
+    @Override
+    public boolean requiresCompletedDependencies() {
+        // The submitted inventory is matched even when no banners were read
+        return false;
+    }
+
+    @Override
+    public int getCostEstimate() {
+        return 1;
+    }
+
+    @Override
+    public Duration getTimeout() {
+        return Duration.ofMillis(moduleTimeoutMs);
+    }
+
+    @Override
+    public ModuleResult scan(ScanContext context) {
+        List<ComponentDto> components = context.getComponents();
+        if (components.isEmpty()) {
+            return ModuleResult.empty();
+        }
+        if (!context.has(ScanInput.COMPONENTS)) {
+            return new ModuleResult(detect(components), Map.of(), Set.of());
+        }
+        // A submitted inventory is matched exactly instead of guessed
+        return new ModuleResult(detect(components),
+            Map.of("componentsScanned", Integer.toString(context.getScanRequest().getComponents().size())),
+            Set.of(SUPERSEDED_RULE_ID));
+    }
+
+    /**
+     * Detect vulnerabilities of the components in an inventory
+     */
+    public List<Vulnerability> detect(List<ComponentDto> components) {
+        Map<String, List<ComponentDto>> affected = versionRangeIndex.match(components);
+
+        List<VulnerabilityDefinition> definitions = new ArrayList<>(affected.size());
+        List<CveRecord> records = new ArrayList<>(affected.size());
+        for (String cveId : affected.keySet()) {
+            cveIndex.find(cveId).ifPresent(record -> {
+                records.add(record);
+                definitions.add(toDefinition(record));
+            });
+        }
+        vulnerabilityCatalog.registerAll(definitions);
+
+        List<Vulnerability> vulnerabilities = new ArrayList<>(records.size());
+        for (CveRecord record : records) {
+            Vulnerability vulnerability = new Vulnerability(vulnerabilityCatalog.get(DEFINITION_PREFIX + record.id()));
+            vulnerability.setCvssVector(record.vector());
+            vulnerability.setAffectedSystem(describe(affected.get(record.id())));
+            vulnerabilities.add(vulnerability);
+        }
+        return vulnerabilities;
+    }
+
+    private VulnerabilityDefinition toDefinition(CveRecord record) {
+        return new VulnerabilityDefinition(
+            DEFINITION_PREFIX + record.id(),
+            "Vulnerable Software Component (" + record.id() + ")",
+            "A software component in the submitted inventory is in a version range affected by " + record.id(),
+            record.severity() != null ? record.severity() : severityOf(record.baseScore()),
+            "Software",
+            record.id(),
+            "Software Components",
+            "Upgrade the affected components to a version outside the ranges published for " + record.id(),
+            record.baseScore(),
+            false
+        );
+    }
+
+    private static Severity severityOf(double cvssScore) {
+        if (cvssScore >= 9.0) {
+            return Severity.CRITICAL;
+        }
+        if (cvssScore >= 7.0) {
+            return Severity.HIGH;
+        }
+        if (cvssScore >= 4.0) {
+            return Severity.MEDIUM;
+        }
+        return Severity.LOW;
+    }
+
+    /**
+     * List the affected components, shortened to fit the affected system column
+     */
+    private static String describe(List<ComponentDto> components) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < components.size(); i++) {
+            ComponentDto component = components.get(i);
+            String entry = component.getName() + " " + component.getVersion();
+            if (description.length() > 0 && description.length() + entry.length() > MAX_AFFECTED_SYSTEM_LENGTH) {
+                description.append(" and ").append(components.size() - i).append(" more");
+                break;
+            }
+            if (description.length() > 0) {
+                description.append(", ");
+            }
+            description.append(entry, 0, Math.min(entry.length(), MAX_AFFECTED_SYSTEM_LENGTH));
+        }
+        return description.toString();
+    }
+}
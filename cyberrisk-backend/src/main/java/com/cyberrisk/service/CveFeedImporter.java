@@ -0,0 +1,331 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.Severity;
+import com.cyberrisk.service.CveIndex.CpeMatch;
+import com.cyberrisk.service.CveIndex.CveRecord;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * CVE Feed Importer
+ *
+ * Imports NVD JSON 1.1 feed files (nvdcve-1.1-*.json, optionally gzipped)
+ * from a local directory into the CVE index. Files are read with a streaming
+ * parser one CVE item at a time and applied to the index in batches of at
+ * most cve.feed.apply-batch-size CVEs, so heap use depends on the size of
+ * the index, not of the feed. Yearly feeds are imported first, then delta
+ * files (modified and recent); a CVE is only replaced by a record modified
+ * later. The directory is re-scanned periodically and changed files are
+ * re-imported.
+ */
+@Component
+public class CveFeedImporter implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(CveFeedImporter.class);
+
+    @Autowired
+    private CveIndex cveIndex;
+
+    @Value("${cve.feed.directory:./data/nvd}")
+    private String feedDirectory;
+
+    @Value("${cve.feed.refresh-minutes:60}")
+    private long refreshMinutes;
+
+    @Value("${cve.feed.apply-batch-size:5000}")
+    private int applyBatchSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFactory jsonFactory = objectMapper.getFactory();
+
+    // Last modified time of each imported file
+    private final Map<Path, Long> importedFiles = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService refresher;
+
+    private final AtomicLong itemsParsed = new AtomicLong();
+    private final AtomicLong cvesApplied = new AtomicLong();
+    private final AtomicLong rejectedCves = new AtomicLong();
+    private final AtomicLong failedFiles = new AtomicLong();
+    private final AtomicLong lastImportMillis = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cve-feed-importer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Import off the startup path; scans fall back to catalog scores until it is done
+        refresher.scheduleWithFixedDelay(this::importChangedFiles, 0, refreshMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Import every feed file that is new or changed since its last import
+     *
+     * @return the number of files imported
+     */
+    public synchronized int importChangedFiles() {
+        Path directory = Paths.get(feedDirectory);
+        if (!Files.isDirectory(directory)) {
+            log.debug("CVE feed directory {} does not exist, skipping import", directory.toAbsolutePath());
+            return 0;
+        }
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                    .filter(this::isFeedFile)
+                    .sorted(Comparator.comparing((Path file) -> isDeltaFile(file)).thenComparing(Path::toString))
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Failed to list CVE feed directory {}: {}", directory, e.getMessage());
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        int imported = 0;
+        for (Path file : files) {
+            try {
+                long modified = Files.getLastModifiedTime(file).toMillis();
+                Long previous = importedFiles.get(file);
+                if (previous != null && previous == modified) {
+                    continue;
+                }
+                int applied = importFile(file);
+                importedFiles.put(file, modified);
+                imported++;
+                log.info("Imported CVE feed {}: {} CVEs added or updated", file.getFileName(), applied);
+            } catch (IOException | RuntimeException e) {
+                failedFiles.incrementAndGet();
+                log.warn("Failed to import CVE feed {}: {}", file.getFileName(), e.getMessage());
+            }
+        }
+        if (imported > 0) {
+            lastImportMillis.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return imported;
+    }
+
+    /**
+     * Stream one feed file into the index
+     *
+     * Parsed CVEs are staged until a batch is full, then applied, so a
+     * yearly feed never sits in memory as a whole. Readers see the index
+     * updated batch by batch while the file is imported.
+     *
+     * @return the number of CVEs added or replaced
+     */
+    int importFile(Path file) throws IOException {
+        Map<String, CveRecord> records = new LinkedHashMap<>();
+        Map<String, List<CpeMatch>> matches = new HashMap<>();
+        Set<String> rejected = new HashSet<>();
+        int applied = 0;
+
+        try (InputStream in = open(file); JsonParser parser = jsonFactory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Feed does not start with a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"CVE_Items".equals(field) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                // Only one CVE item is materialized at a time
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    JsonNode item = objectMapper.readTree(parser);
+                    itemsParsed.incrementAndGet();
+                    parseItem(item, records, matches, rejected);
+                    if (records.size() + rejected.size() >= applyBatchSize) {
+                        applied += applyBatch(records, matches, rejected);
+                    }
+                }
+            }
+        }
+
+        return applied + applyBatch(records, matches, rejected);
+    }
+
+    /**
+     * Apply the staged CVEs to the index and clear them
+     *
+     * @return the number of CVEs added or replaced
+     */
+    private int applyBatch(Map<String, CveRecord> records, Map<String, List<CpeMatch>> matches, Set<String> rejected) {
+        if (records.isEmpty() && rejected.isEmpty()) {
+            return 0;
+        }
+        rejected.removeAll(records.keySet());
+        int applied = cveIndex.apply(records.values(), matches, rejected);
+        cvesApplied.addAndGet(applied);
+        rejectedCves.addAndGet(rejected.size());
+        records.clear();
+        matches.clear();
+        rejected.clear();
+        return applied;
+    }
+
+    private void parseItem(JsonNode item, Map<String, CveRecord> records,
+                           Map<String, List<CpeMatch>> matches, Set<String> rejected) {
+        String id = item.path("cve").path("CVE_data_meta").path("ID").asText(null);
+        if (id == null) {
+            return;
+        }
+        id = id.trim().toUpperCase(Locale.ROOT);
+
+        String description = item.path("cve").path("description").path("description_data").path(0).path("value").asText("");
+        if (description.startsWith("** REJECT **")) {
+            rejected.add(id);
+            records.remove(id);
+            return;
+        }
+
+        float score = 0;
+        Severity severity = null;
+        String vector = null;
+        String version = null;
+        JsonNode v3 = item.path("impact").path("baseMetricV3").path("cvssV3");
+        JsonNode v2 = item.path("impact").path("baseMetricV2");
+        if (!v3.isMissingNode()) {
+            score = (float) v3.path("baseScore").asDouble();
+            severity = toSeverity(v3.path("baseSeverity").asText(null));
+            vector = v3.path("vectorString").asText(null);
+            version = v3.path("version").asText("3.x");
+        } else if (!v2.isMissingNode()) {
+            score = (float) v2.path("cvssV2").path("baseScore").asDouble();
+            severity = toSeverity(v2.path("severity").asText(null));
+            vector = v2.path("cvssV2").path("vectorString").asText(null);
+            version = "2.0";
+        }
+
+        // Collect vulnerable CPE matches from the configuration tree
+        Set<String> productKeys = new LinkedHashSet<>();
+        List<JsonNode> nodes = new ArrayList<>();
+        item.path("configurations").path("nodes").forEach(nodes::add);
+        while (!nodes.isEmpty()) {
+            JsonNode node = nodes.remove(nodes.size() - 1);
+            node.path("children").forEach(nodes::add);
+            for (JsonNode cpe : node.path("cpe_match")) {
+                if (!cpe.path("vulnerable").asBoolean(false)) {
+                    continue;
+                }
+                String[] parts = cpe.path("cpe23Uri").asText("").split("(?<!\\\\):");
+                if (parts.length < 6) {
+                    continue;
+                }
+                String key = CveIndex.productKey(parts[3], parts[4]).intern();
+                productKeys.add(key);
+                matches.computeIfAbsent(key, k -> new ArrayList<>()).add(new CpeMatch(
+                    id,
+                    versionOrNull(parts[5]),
+                    textOrNull(cpe, "versionStartIncluding"),
+                    textOrNull(cpe, "versionStartExcluding"),
+                    textOrNull(cpe, "versionEndIncluding"),
+                    textOrNull(cpe, "versionEndExcluding")
+                ));
+            }
+        }
+
+        records.put(id, new CveRecord(id, score, severity, vector, version,
+                item.path("lastModifiedDate").asText(null), productKeys.toArray(new String[0])));
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "cve-feed";
+    }
+
+    /**
+     * Get importer statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>(cveIndex.getStats());
+        stats.put("feedDirectory", Paths.get(feedDirectory).toAbsolutePath().toString());
+        stats.put("filesImported", importedFiles.size());
+        stats.put("failedFiles", failedFiles.get());
+        stats.put("itemsParsed", itemsParsed.get());
+        stats.put("cvesApplied", cvesApplied.get());
+        stats.put("rejectedCves", rejectedCves.get());
+        stats.put("lastImportMillis", lastImportMillis.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private boolean isFeedFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return Files.isRegularFile(file) && (name.endsWith(".json") || name.endsWith(".json.gz"));
+    }
+
+    private boolean isDeltaFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.contains("modified") || name.contains("recent");
+    }
+
+    private InputStream open(Path file) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+        return file.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(in, 64 * 1024) : in;
+    }
+
+    private static Severity toSeverity(String value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value.toUpperCase(Locale.ROOT)) {
+            case "CRITICAL" -> Severity.CRITICAL;
+            case "HIGH" -> Severity.HIGH;
+            case "MEDIUM" -> Severity.MEDIUM;
+            case "LOW", "NONE" -> Severity.LOW;
+            default -> null;
+        };
+    }
+
+    private static String versionOrNull(String version) {
+        return "*".equals(version) || "-".equals(version) ? null : version;
+    }
+
+    private static String textOrNull(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
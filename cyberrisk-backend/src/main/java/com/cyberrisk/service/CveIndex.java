@@ -0,0 +1,166 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.Severity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CVE Index
+ *
+ * Compact in-memory index of imported CVEs: authoritative CVSS data by CVE
+ * id, and the vulnerable CPE matches of each vendor/product. Only scores,
+ * vectors and version bounds are kept; descriptions and references stay in
+ * the feed files. Reads are lock-free; updates come from the feed importer
+ * one batch of a feed file at a time.
+ */
+@Component
+public class CveIndex {
+
+    private final Map<String, CveRecord> cvesById = new ConcurrentHashMap<>();
+    private final Map<String, List<CpeMatch>> matchesByProduct = new ConcurrentHashMap<>();
+
+    // Incremented after every applied batch, so derived indexes know when to rebuild
+    private volatile long generation;
+
+    /**
+     * Look up a CVE by id
+     */
+    public Optional<CveRecord> find(String cveId) {
+        if (cveId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cvesById.get(cveId.trim().toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * Get the vulnerable CPE matches of a vendor/product
+     */
+    public List<CpeMatch> findByProduct(String vendor, String product) {
+        return matchesByProduct.getOrDefault(productKey(vendor, product), Collections.emptyList());
+    }
+
+    /**
+     * Get all indexed product keys with their matches
+     */
+    public Map<String, List<CpeMatch>> getMatchesByProduct() {
+        return Collections.unmodifiableMap(matchesByProduct);
+    }
+
+    /**
+     * Get the number of updates applied so far
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Apply a batch of records parsed from a feed file
+     *
+     * A record replaces an indexed CVE unless the indexed one was modified
+     * later; rejected CVEs are removed.
+     *
+     * @return the number of CVEs added or replaced
+     */
+    synchronized int apply(Collection<CveRecord> records, Map<String, List<CpeMatch>> matches, Set<String> rejectedIds) {
+        Map<String, Set<String>> removedByProduct = new HashMap<>();
+        Set<String> accepted = new HashSet<>();
+
+        for (CveRecord record : records) {
+            CveRecord existing = cvesById.get(record.id());
+            if (existing != null && existing.isNewerThan(record)) {
+                continue;
+            }
+            accepted.add(record.id());
+            if (existing != null) {
+                for (String key : existing.productKeys()) {
+                    removedByProduct.computeIfAbsent(key, k -> new HashSet<>()).add(existing.id());
+                }
+            }
+        }
+        for (String rejectedId : rejectedIds) {
+            CveRecord existing = cvesById.get(rejectedId);
+            if (existing != null) {
+                for (String key : existing.productKeys()) {
+                    removedByProduct.computeIfAbsent(key, k -> new HashSet<>()).add(existing.id());
+                }
+            }
+        }
+
+        // Rebuild each touched product list once per batch
+        Set<String> touchedProducts = new HashSet<>(removedByProduct.keySet());
+        touchedProducts.addAll(matches.keySet());
+        for (String key : touchedProducts) {
+            Set<String> removed = removedByProduct.getOrDefault(key, Collections.emptySet());
+            List<CpeMatch> updated = new ArrayList<>();
+            for (CpeMatch match : matchesByProduct.getOrDefault(key, Collections.emptyList())) {
+                if (!removed.contains(match.cveId())) {
+                    updated.add(match);
+                }
+            }
+            for (CpeMatch match : matches.getOrDefault(key, Collections.emptyList())) {
+                if (accepted.contains(match.cveId())) {
+                    updated.add(match);
+                }
+            }
+            if (updated.isEmpty()) {
+                matchesByProduct.remove(key);
+            } else {
+                matchesByProduct.put(key, List.copyOf(updated));
+            }
+        }
+
+        for (CveRecord record : records) {
+            if (accepted.contains(record.id())) {
+                cvesById.put(record.id(), record);
+            }
+        }
+        rejectedIds.forEach(cvesById::remove);
+        generation++;
+        return accepted.size();
+    }
+
+    /**
+     * Get index statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("cves", cvesById.size());
+        stats.put("products", matchesByProduct.size());
+        stats.put("cpeMatches", matchesByProduct.values().stream().mapToInt(List::size).sum());
+        return stats;
+    }
+
+    static String productKey(String vendor, String product) {
+        return (vendor + ":" + product).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Authoritative CVSS data of one CVE
+     */
+    public record CveRecord(String id, float baseScore, Severity severity, String vector,
+                            String cvssVersion, String lastModified, String[] productKeys) {
+
+        boolean isNewerThan(CveRecord other) {
+            return lastModified != null && other.lastModified != null
+                    && lastModified.compareTo(other.lastModified) > 0;
+        }
+    }
+
+    /**
+     * One vulnerable CPE match: a product version, or a range of versions, affected by a CVE
+     */
+    public record CpeMatch(String cveId, String version, String startIncluding, String startExcluding,
+                           String endIncluding, String endExcluding) {
+    }
+}
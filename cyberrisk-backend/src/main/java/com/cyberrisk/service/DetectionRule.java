@@ -0,0 +1,189 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.Severity;
+import com.cyberrisk.model.VulnerabilityDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detection Rule
+ *
+ * One entry of the detection rule catalog: the finding it produces and the
+ * conditions under which it fires.
+ *
+ * - keywords: substrings of the organization name, any of which must match
+ *   (no keywords means the rule applies to every organization)
+ * - requires: target attributes that must be present ("domain", "ip")
+ * - scanTypes: scan types the rule applies to (empty means all)
+ * - probability: chance the rule fires once its conditions match
+ */
+public class DetectionRule {
+
+    private String id;
+    private String title;
+    private String description;
+    private Severity severity;
+    private String category;
+    private String cveId;
+    private String affectedSystem;
+    private String remediation;
+    private double cvssScore;
+    private boolean exploitable;
+    private double probability = 1.0;
+    private List<String> keywords = new ArrayList<>();
+    private List<String> requires = new ArrayList<>();
+    private List<String> scanTypes = new ArrayList<>();
+
+    // Constructors
+    public DetectionRule() {}
+
+    public DetectionRule(DetectionRule other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.description = other.description;
+        this.severity = other.severity;
+        this.category = other.category;
+        this.cveId = other.cveId;
+        this.affectedSystem = other.affectedSystem;
+        this.remediation = other.remediation;
+        this.cvssScore = other.cvssScore;
+        this.exploitable = other.exploitable;
+        this.probability = other.probability;
+        this.keywords = new ArrayList<>(other.keywords);
+        this.requires = new ArrayList<>(other.requires);
+        this.scanTypes = new ArrayList<>(other.scanTypes);
+    }
+
+    /**
+     * Build the vulnerability definition this rule reports, keyed by the rule id
+     */
+    public VulnerabilityDefinition toDefinition() {
+        return new VulnerabilityDefinition(id, title, description, severity, category,
+                cveId, affectedSystem, remediation, cvssScore, exploitable);
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    public void setSeverity(Severity severity) {
+        this.severity = severity;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getCveId() {
+        return cveId;
+    }
+
+    public void setCveId(String cveId) {
+        this.cveId = cveId;
+    }
+
+    public String getAffectedSystem() {
+        return affectedSystem;
+    }
+
+    public void setAffectedSystem(String affectedSystem) {
+        this.affectedSystem = affectedSystem;
+    }
+
+    public String getRemediation() {
+        return remediation;
+    }
+
+    public void setRemediation(String remediation) {
+        this.remediation = remediation;
+    }
+
+    public double getCvssScore() {
+        return cvssScore;
+    }
+
+    public void setCvssScore(double cvssScore) {
+        this.cvssScore = cvssScore;
+    }
+
+    public boolean isExploitable() {
+        return exploitable;
+    }
+
+    public void setExploitable(boolean exploitable) {
+        this.exploitable = exploitable;
+    }
+
+    public double getProbability() {
+        return probability;
+    }
+
+    public void setProbability(double probability) {
+        this.probability = probability;
+    }
+
+    public List<String> getKeywords() {
+        return keywords;
+    }
+
+    public void setKeywords(List<String> keywords) {
+        this.keywords = keywords != null ? keywords : new ArrayList<>();
+    }
+
+    public List<String> getRequires() {
+        return requires;
+    }
+
+    public void setRequires(List<String> requires) {
+        this.requires = requires != null ? requires : new ArrayList<>();
+    }
+
+    public List<String> getScanTypes() {
+        return scanTypes;
+    }
+
+    public void setScanTypes(List<String> scanTypes) {
+        this.scanTypes = scanTypes != null ? scanTypes : new ArrayList<>();
+    }
+
+    @Override
+    public String toString() {
+        return "DetectionRule{" +
+                "id='" + id + '\'' +
+                ", title='" + title + '\'' +
+                ", severity=" + severity +
+                ", category='" + category + '\'' +
+                ", probability=" + probability +
+                '}';
+    }
+}
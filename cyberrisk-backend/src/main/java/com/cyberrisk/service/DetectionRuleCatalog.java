@@ -0,0 +1,48 @@
+package com.cyberrisk.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detection Rule Catalog
+ *
+ * Versioned set of detection rules as stored in the catalog file.
+ */
+public class DetectionRuleCatalog {
+
+    private String version;
+    private List<DetectionRule> rules = new ArrayList<>();
+
+    // Constructors
+    public DetectionRuleCatalog() {}
+
+    public DetectionRuleCatalog(String version, List<DetectionRule> rules) {
+        this.version = version;
+        this.rules = rules;
+    }
+
+    // Getters and Setters
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public List<DetectionRule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<DetectionRule> rules) {
+        this.rules = rules != null ? rules : new ArrayList<>();
+    }
+
+    @Override
+    public String toString() {
+        return "DetectionRuleCatalog{" +
+                "version='" + version + '\'' +
+                ", rules=" + rules.size() +
+                '}';
+    }
+}
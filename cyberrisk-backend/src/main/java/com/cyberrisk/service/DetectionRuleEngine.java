@@ -0,0 +1,419 @@
+package com.cyberrisk.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Detection Rule Engine
+ *
+ * Loads the versioned detection rule catalog once at startup, registers the
+ * vulnerability definitions it reports, and compiles it into an indexed matcher:
+ *
+ * - rules without keywords are always candidates
+ * - keyword rules are found through one Aho-Corasick pass over the
+ *   organization name
+ * - candidates are narrowed to the requested categories with one bitmask
+ *   per category
+ * - target attribute and scan type conditions are precomputed bitmasks and sets
+ *
+ * Whether a probabilistic rule fires is derived from a seed, the target and
+ * the rule id only, so results are deterministic for a given seed whatever
+ * the evaluation order or parallelism.
+ *
+ * Benchmarks run one at a time on their own small pool, bounded in total
+ * rule evaluations, so they cannot starve scans of CPU.
+ */
+@Component
+public class DetectionRuleEngine implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(DetectionRuleEngine.class);
+
+    private static final int ATTRIBUTE_DOMAIN = 1;
+    private static final int ATTRIBUTE_IP = 2;
+
+    private static final String[] BENCHMARK_ORGANIZATIONS = {
+        "Acme Tech", "First National Bank", "City Medical Center", "Globex Software",
+        "Initech", "Umbrella Health", "Contoso Financial", "Northwind Traders"
+    };
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Autowired
+    private VulnerabilityCatalog vulnerabilityCatalog;
+
+    @Value("${scan.detection.catalog:classpath:detection/rules-v1.json}")
+    private String catalogLocation;
+
+    @Value("${scan.detection.parallel-threshold:256}")
+    private int parallelThreshold;
+
+    @Value("${scan.detection.benchmark.parallelism:2}")
+    private int benchmarkParallelism;
+
+    @Value("${scan.detection.benchmark.max-evaluations:20000000}")
+    private long benchmarkMaxEvaluations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private volatile CompiledRuleSet ruleSet;
+
+    private ForkJoinPool benchmarkPool;
+    private final AtomicBoolean benchmarkRunning = new AtomicBoolean();
+
+    @PostConstruct
+    public void load() throws IOException {
+        Resource resource = resourceLoader.getResource(catalogLocation);
+        DetectionRuleCatalog catalog;
+        try (InputStream in = resource.getInputStream()) {
+            catalog = objectMapper.readValue(in, DetectionRuleCatalog.class);
+        }
+        ruleSet = new CompiledRuleSet(catalog, parallelThreshold);
+        vulnerabilityCatalog.registerAll(catalog.getRules().stream()
+                .map(DetectionRule::toDefinition)
+                .toList());
+        log.info("Loaded detection rule catalog {} with {} rules from {}",
+                catalog.getVersion(), catalog.getRules().size(), catalogLocation);
+
+        benchmarkPool = new ForkJoinPool(benchmarkParallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("detection-benchmark-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        benchmarkPool.shutdownNow();
+    }
+
+    /**
+     * Evaluate the catalog against one target
+     *
+     * @return the rules that fired, in catalog order
+     */
+    public List<DetectionRule> evaluate(DetectionTarget target, long seed) {
+        return ruleSet.evaluate(target, seed, null, true);
+    }
+
+    /**
+     * Evaluate the rules of some categories against one target
+     *
+     * @param categories categories to evaluate, case-insensitive; empty means all
+     * @return the rules that fired, in catalog order
+     */
+    public List<DetectionRule> evaluate(DetectionTarget target, long seed, Set<String> categories) {
+        return ruleSet.evaluate(target, seed, categories, true);
+    }
+
+    /**
+     * Evaluate the catalog against many targets in parallel
+     */
+    public List<List<DetectionRule>> evaluateAll(List<DetectionTarget> targets, long seed) {
+        CompiledRuleSet rules = ruleSet;
+        return targets.parallelStream()
+                .map(target -> rules.evaluate(target, seed, null, false))
+                .toList();
+    }
+
+    /**
+     * Get the version of the loaded catalog
+     */
+    public String getCatalogVersion() {
+        return ruleSet.version;
+    }
+
+    /**
+     * Measure evaluation throughput for rule sets of the given sizes
+     *
+     * Each rule set is built by cycling through the loaded catalog, and the
+     * same seeded synthetic targets are evaluated against every size.
+     *
+     * @throws IllegalArgumentException if the sizes times the target count exceed the evaluation budget
+     * @throws IllegalStateException if another benchmark is running
+     */
+    public List<Map<String, Object>> benchmark(List<Integer> ruleSetSizes, int targetCount, long seed)
+            throws InterruptedException {
+        long evaluations = ruleSetSizes.stream().mapToLong(Integer::longValue).sum() * targetCount;
+        if (evaluations > benchmarkMaxEvaluations) {
+            throw new IllegalArgumentException("Benchmark would evaluate " + evaluations
+                + " rules, more than the limit of " + benchmarkMaxEvaluations);
+        }
+        if (!benchmarkRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("A detection benchmark is already running");
+        }
+        try {
+            return benchmarkPool.submit(() -> runBenchmark(ruleSetSizes, targetCount, seed)).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Detection benchmark failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            benchmarkRunning.set(false);
+        }
+    }
+
+    /**
+     * Runs inside the benchmark pool, so its parallel streams stay on that pool
+     */
+    private List<Map<String, Object>> runBenchmark(List<Integer> ruleSetSizes, int targetCount, long seed) {
+        List<DetectionTarget> targets = syntheticTargets(targetCount, seed);
+        List<DetectionRule> baseRules = ruleSet.catalogRules;
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        if (baseRules.isEmpty()) {
+            return results;
+        }
+        for (int size : ruleSetSizes) {
+            List<DetectionRule> rules = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                DetectionRule rule = new DetectionRule(baseRules.get(i % baseRules.size()));
+                rule.setId(rule.getId() + "#" + i);
+                rules.add(rule);
+            }
+            CompiledRuleSet compiled = new CompiledRuleSet(
+                new DetectionRuleCatalog(ruleSet.version + "-bench-" + size, rules), parallelThreshold);
+
+            long start = System.nanoTime();
+            long findings = targets.parallelStream()
+                    .mapToLong(target -> compiled.evaluate(target, seed, null, false).size())
+                    .sum();
+            long elapsedNanos = Math.max(1, System.nanoTime() - start);
+
+            long rulesEvaluated = compiled.rulesEvaluated.sum();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("ruleSetSize", size);
+            result.put("targets", targetCount);
+            result.put("rulesEvaluated", rulesEvaluated);
+            result.put("findings", findings);
+            result.put("elapsedMillis", elapsedNanos / 1_000_000.0);
+            result.put("rulesPerSecond", Math.round(rulesEvaluated * 1_000_000_000.0 / elapsedNanos));
+            result.put("targetsPerSecond", Math.round(targetCount * 1_000_000_000.0 / elapsedNanos));
+            results.add(result);
+        }
+        return results;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "detection";
+    }
+
+    /**
+     * Get engine statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        CompiledRuleSet rules = ruleSet;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("catalogVersion", rules.version);
+        stats.put("catalogLocation", catalogLocation);
+        stats.put("rules", rules.rules.length);
+        stats.put("keywords", rules.keywordCount);
+        stats.put("rulesByCategory", rules.rulesByCategory);
+        stats.put("targetsEvaluated", rules.targetsEvaluated.sum());
+        stats.put("rulesEvaluated", rules.rulesEvaluated.sum());
+        stats.put("benchmarkRunning", benchmarkRunning.get());
+        return stats;
+    }
+
+    private List<DetectionTarget> syntheticTargets(int count, long seed) {
+        Random random = new Random(seed);
+        List<DetectionTarget> targets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String organization = BENCHMARK_ORGANIZATIONS[random.nextInt(BENCHMARK_ORGANIZATIONS.length)];
+            String domain = "target" + i + ".example.com";
+            String ip = random.nextBoolean() ? "10.0." + random.nextInt(256) + "." + random.nextInt(256) : null;
+            targets.add(new DetectionTarget(organization, domain, ip, null));
+        }
+        return targets;
+    }
+
+    /**
+     * SplitMix64 finalizer; spreads seed, target and rule bits over the whole word
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * A catalog compiled into index structures for matching
+     */
+    private static class CompiledRuleSet {
+
+        private final String version;
+        private final List<DetectionRule> catalogRules;
+        private final CompiledRule[] rules;
+        private final BitSet unconditionalRules = new BitSet();
+        private final KeywordMatcher keywordMatcher;
+        private final int[][] rulesByKeyword;
+        private final int keywordCount;
+        private final Map<String, Integer> rulesByCategory = new HashMap<>();
+        private final Map<String, BitSet> rulesInCategory = new HashMap<>();
+        private final int parallelThreshold;
+
+        private final LongAdder targetsEvaluated = new LongAdder();
+        private final LongAdder rulesEvaluated = new LongAdder();
+
+        CompiledRuleSet(DetectionRuleCatalog catalog, int parallelThreshold) {
+            this.version = catalog.getVersion();
+            this.catalogRules = catalog.getRules();
+            this.parallelThreshold = parallelThreshold;
+            this.rules = new CompiledRule[catalogRules.size()];
+
+            Map<String, Integer> keywordIndexes = new LinkedHashMap<>();
+            Map<Integer, List<Integer>> keywordRules = new HashMap<>();
+            Set<String> ruleIds = new HashSet<>();
+
+            for (int i = 0; i < catalogRules.size(); i++) {
+                DetectionRule rule = catalogRules.get(i);
+                if (rule.getId() == null || !ruleIds.add(rule.getId())) {
+                    throw new IllegalStateException("Detection rule ids must be present and unique: " + rule.getId());
+                }
+                rules[i] = new CompiledRule(rule);
+                rulesByCategory.merge(rule.getCategory(), 1, Integer::sum);
+                if (rule.getCategory() != null) {
+                    rulesInCategory.computeIfAbsent(rule.getCategory().trim().toLowerCase(Locale.ROOT),
+                        key -> new BitSet()).set(i);
+                }
+
+                if (rule.getKeywords().isEmpty()) {
+                    unconditionalRules.set(i);
+                }
+                for (String keyword : rule.getKeywords()) {
+                    int keywordIndex = keywordIndexes.computeIfAbsent(
+                        keyword.toLowerCase(Locale.ROOT), key -> keywordIndexes.size());
+                    keywordRules.computeIfAbsent(keywordIndex, key -> new ArrayList<>()).add(i);
+                }
+            }
+
+            this.keywordCount = keywordIndexes.size();
+            this.keywordMatcher = new KeywordMatcher(new ArrayList<>(keywordIndexes.keySet()));
+            this.rulesByKeyword = new int[keywordCount][];
+            for (int k = 0; k < keywordCount; k++) {
+                rulesByKeyword[k] = keywordRules.get(k).stream().mapToInt(Integer::intValue).toArray();
+            }
+        }
+
+        List<DetectionRule> evaluate(DetectionTarget target, long seed, Set<String> categories, boolean allowParallel) {
+            BitSet candidates = (BitSet) unconditionalRules.clone();
+            BitSet keywords = keywordMatcher.match(target.organizationName());
+            for (int k = keywords.nextSetBit(0); k >= 0; k = keywords.nextSetBit(k + 1)) {
+                for (int ruleIndex : rulesByKeyword[k]) {
+                    candidates.set(ruleIndex);
+                }
+            }
+            if (categories != null && !categories.isEmpty()) {
+                candidates.and(categoryMask(categories));
+            }
+
+            int attributes = (target.hasDomain() ? ATTRIBUTE_DOMAIN : 0) | (target.hasIp() ? ATTRIBUTE_IP : 0);
+            String scanType = target.scanType() == null ? null : target.scanType().trim().toLowerCase(Locale.ROOT);
+            long targetSeed = seed ^ mix(target.stableHash());
+
+            int candidateCount = candidates.cardinality();
+            IntStream stream = candidates.stream();
+            if (allowParallel && candidateCount >= parallelThreshold) {
+                stream = stream.parallel();
+            }
+            int[] fired = stream
+                    .filter(i -> rules[i].fires(attributes, scanType, targetSeed))
+                    .toArray();
+
+            targetsEvaluated.increment();
+            rulesEvaluated.add(candidateCount);
+
+            List<DetectionRule> matches = new ArrayList<>(fired.length);
+            for (int i : fired) {
+                matches.add(rules[i].rule);
+            }
+            return matches;
+        }
+
+        private BitSet categoryMask(Set<String> categories) {
+            BitSet mask = new BitSet(rules.length);
+            for (String category : categories) {
+                BitSet inCategory = rulesInCategory.get(category.trim().toLowerCase(Locale.ROOT));
+                if (inCategory != null) {
+                    mask.or(inCategory);
+                }
+            }
+            return mask;
+        }
+    }
+
+    /**
+     * A rule with its conditions precomputed
+     */
+    private static class CompiledRule {
+
+        private final DetectionRule rule;
+        private final int requiredAttributes;
+        private final Set<String> scanTypes = new HashSet<>();
+        private final long idHash;
+
+        CompiledRule(DetectionRule rule) {
+            this.rule = rule;
+
+            int required = 0;
+            for (String attribute : rule.getRequires()) {
+                switch (attribute.toLowerCase(Locale.ROOT)) {
+                    case "domain" -> required |= ATTRIBUTE_DOMAIN;
+                    case "ip" -> required |= ATTRIBUTE_IP;
+                    default -> throw new IllegalStateException(
+                        "Unknown target attribute '" + attribute + "' in detection rule " + rule.getId());
+                }
+            }
+            this.requiredAttributes = required;
+
+            for (String scanType : rule.getScanTypes()) {
+                scanTypes.add(scanType.trim().toLowerCase(Locale.ROOT));
+            }
+            this.idHash = mix(rule.getId().hashCode());
+        }
+
+        boolean fires(int attributes, String scanType, long targetSeed) {
+            if ((attributes & requiredAttributes) != requiredAttributes) {
+                return false;
+            }
+            if (!scanTypes.isEmpty() && (scanType == null || !scanTypes.contains(scanType))) {
+                return false;
+            }
+            if (rule.getProbability() >= 1.0) {
+                return true;
+            }
+            // Uniform value in [0, 1) from the top 53 bits of the mixed seed
+            double roll = (mix(targetSeed ^ idHash) >>> 11) * 0x1.0p-53;
+            return roll < rule.getProbability();
+        }
+    }
+}
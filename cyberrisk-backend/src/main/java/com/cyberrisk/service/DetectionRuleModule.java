@@ -0,0 +1,102 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.Vulnerability;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Detection Rule Module
+ *
+ * The "rules" scanner module: evaluates the detection rule catalog against
+ * the target and backs each fired rule with the imported NVD data of its
+ * CVE. The rules estimate rather than measure, so their findings give way
+ * wherever another module measured the same issue. Only the configured rule
+ * categories are evaluated; none configured means all of them.
+ */
+@Component
+public class DetectionRuleModule implements ScannerModule {
+
+    @Autowired
+    private DetectionRuleEngine detectionRuleEngine;
+
+    @Autowired
+    private VulnerabilityCatalog vulnerabilityCatalog;
+
+    @Autowired
+    private CveIndex cveIndex;
+
+    @Value("${scan.detection.module-timeout-ms:5000}")
+    private long moduleTimeoutMs;
+
+    @Value("${scan.detection.categories:}")
+    private String categories;
+
+    private Set<String> enabledCategories;
+
+    @PostConstruct
+    public void init() {
+        enabledCategories = Arrays.stream(categories.split(","))
+            .map(String::trim)
+            .filter(category -> !category.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public String getName() {
+        return "rules";
+    }
+
+    @Override
+    public Set<ScanInput> getInputs() {
+        return Set.of();
+    }
+
+    @Override
+    public int getCostEstimate() {
+        return 1;
+    }
+
+    @Override
+    public Duration getTimeout() {
+        return Duration.ofMillis(moduleTimeoutMs);
+    }
+
+    @Override
+    public boolean isFallback() {
+        return true;
+    }
+
+    @Override
+    public ModuleResult scan(ScanContext context) {
+        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        DetectionTarget target = DetectionTarget.from(context.getScanRequest());
+        for (DetectionRule rule : detectionRuleEngine.evaluate(target, context.getSeed(), enabledCategories)) {
+            Vulnerability vulnerability = new Vulnerability(vulnerabilityCatalog.get(rule.getId()));
+            enrichFromCveFeed(vulnerability);
+            vulnerabilities.add(vulnerability);
+        }
+        return new ModuleResult(vulnerabilities, Map.of("ruleCatalogVersion", detectionRuleEngine.getCatalogVersion()), Set.of());
+    }
+
+    /**
+     * Replace the catalog CVSS data of a finding with the imported NVD data for its CVE
+     */
+    private void enrichFromCveFeed(Vulnerability vulnerability) {
+        cveIndex.find(vulnerability.getCveId()).ifPresent(cve -> {
+            if (cve.cvssVersion() != null) {
+                vulnerability.setCvssScore(cve.baseScore());
+                vulnerability.setCvssVector(cve.vector());
+            }
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.dto.ScanRequest;
+
+import java.util.Locale;
+
+/**
+ * Detection Target
+ *
+ * The attributes of a scan target that detection rules are matched against.
+ */
+public record DetectionTarget(String organizationName, String domain, String ip, String scanType) {
+
+    public static DetectionTarget from(ScanRequest scanRequest) {
+        return new DetectionTarget(
+            scanRequest.getOrganizationName(),
+            scanRequest.getTargetDomain(),
+            scanRequest.getTargetIp(),
+            scanRequest.getScanType()
+        );
+    }
+
+    public boolean hasDomain() {
+        return domain != null && !domain.isBlank();
+    }
+
+    public boolean hasIp() {
+        return ip != null && !ip.isBlank();
+    }
+
+    /**
+     * Stable hash of the target, used to derive per-rule decisions from a seed
+     */
+    public long stableHash() {
+        String key = (normalize(organizationName) + "|" + normalize(domain) + "|"
+            + normalize(ip) + "|" + normalize(scanType));
+        long hash = 1125899906842597L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = 31 * hash + key.charAt(i);
+        }
+        return hash;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
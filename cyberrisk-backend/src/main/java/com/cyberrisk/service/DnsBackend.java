@@ -0,0 +1,23 @@
+package com.cyberrisk.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+
+/**
+ * DNS Backend
+ *
+ * Source of address lookups behind the DNS resolver. Lookups may block; the
+ * resolver calls them on its own worker threads. Declare another backend
+ * bean as @Primary to replace the system resolver, for example with a stub
+ * in tests.
+ */
+public interface DnsBackend {
+
+    /**
+     * Resolve a host name to its addresses
+     *
+     * @throws UnknownHostException if the name does not exist or has no addresses
+     */
+    List<InetAddress> lookup(String host) throws UnknownHostException;
+}
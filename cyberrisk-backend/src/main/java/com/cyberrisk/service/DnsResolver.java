@@ -0,0 +1,176 @@
+package com.cyberrisk.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DNS Resolver
+ *
+ * Asynchronous, caching name resolution for the scan pipeline. Lookups run
+ * on a small pool against the configured DNS backend; answers are cached
+ * for the positive TTL and unknown names for the negative TTL, and
+ * concurrent lookups of the same name share one backend call. IP literals
+ * are answered without a lookup. The cache holds at most max-entries names.
+ */
+@Component
+public class DnsResolver implements MetricsSource {
+
+    @Autowired
+    private DnsBackend dnsBackend;
+
+    @Value("${scan.dns.workers:8}")
+    private int workers;
+
+    @Value("${scan.dns.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${scan.dns.negative-ttl-seconds:30}")
+    private long negativeTtlSeconds;
+
+    @Value("${scan.dns.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${scan.dns.max-entries:50000}")
+    private int maxEntries;
+
+    private ExecutorService lookupPool;
+    private CoalescingCache<String, List<InetAddress>> cache;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong failedLookups = new AtomicLong();
+    private final AtomicLong totalLookupMicros = new AtomicLong();
+    private final AtomicLong maxLookupMicros = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        lookupPool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "dns-resolver-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        cache = new CoalescingCache<>(maxEntries, lookupPool, (addresses, error) ->
+            TimeUnit.SECONDS.toMillis(error == null ? ttlSeconds : negativeTtlSeconds));
+    }
+
+    /**
+     * Resolve a host name to its addresses
+     *
+     * The future fails with UnknownHostException for names that do not resolve.
+     */
+    public CompletableFuture<List<InetAddress>> resolve(String host) {
+        requests.incrementAndGet();
+        String name = normalize(host);
+        // Literals are parsed without a lookup; malformed ones such as 999.1.1.1 are looked up as names
+        InetAddress literal = IpLiteral.parse(name);
+        if (literal != null) {
+            return CompletableFuture.completedFuture(List.of(literal));
+        }
+
+        return cache.get(name, () -> lookup(name));
+    }
+
+    /**
+     * Resolve a host name, waiting up to the lookup timeout
+     *
+     * @throws UnknownHostException if the name does not resolve in time
+     */
+    public List<InetAddress> resolveNow(String host) throws UnknownHostException, InterruptedException {
+        try {
+            return resolve(host).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UnknownHostException unknownHost) {
+                throw unknownHost;
+            }
+            throw new UnknownHostException(host + ": " + e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            throw new UnknownHostException(host + ": lookup timed out");
+        }
+    }
+
+    /**
+     * Start resolving a name ahead of its use
+     */
+    public void prefetch(String host) {
+        if (host != null && !host.isBlank()) {
+            resolve(host);
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "dns";
+    }
+
+    /**
+     * Get resolver statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        long total = requests.get();
+        long backendLookups = lookups.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("cachedNames", cache.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("evictions", cache.evictions());
+        stats.put("requests", total);
+        stats.put("cacheHits", cache.hits());
+        stats.put("coalesced", cache.coalesced());
+        stats.put("lookups", backendLookups);
+        stats.put("failedLookups", failedLookups.get());
+        stats.put("hitRate", total == 0 ? 0.0 : Math.round((cache.hits() + cache.coalesced()) * 1000.0 / total) / 1000.0);
+        stats.put("avgLookupMillis", backendLookups == 0 ? 0.0
+            : Math.round(totalLookupMicros.get() / (double) backendLookups) / 1000.0);
+        stats.put("maxLookupMillis", maxLookupMicros.get() / 1000.0);
+        stats.put("backend", dnsBackend.getClass().getSimpleName());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lookupPool.shutdownNow();
+    }
+
+    private List<InetAddress> lookup(String name) throws UnknownHostException {
+        long start = System.nanoTime();
+        lookups.incrementAndGet();
+        try {
+            List<InetAddress> addresses = dnsBackend.lookup(name);
+            if (addresses.isEmpty()) {
+                throw new UnknownHostException(name + ": no addresses");
+            }
+            return List.copyOf(addresses);
+        } catch (UnknownHostException | RuntimeException e) {
+            failedLookups.incrementAndGet();
+            throw e;
+        } finally {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            totalLookupMicros.addAndGet(micros);
+            maxLookupMicros.accumulateAndGet(micros, Math::max);
+        }
+    }
+
+    private static String normalize(String host) {
+        String name = host.trim().toLowerCase(Locale.ROOT);
+        return name.endsWith(".") ? name.substring(0, name.length() - 1) : name;
+    }
+}
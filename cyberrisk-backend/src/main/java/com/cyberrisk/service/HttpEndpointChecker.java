@@ -0,0 +1,281 @@
+package com.cyberrisk.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP Endpoint Checker
+ *
+ * Fetches URLs of scan targets with one shared asynchronous HttpClient, so
+ * connections are pooled and reused per host and HTTP/2 is negotiated
+ * where the server offers it. At most max-in-flight requests are
+ * outstanding across all scans; callers wait for a slot up to the acquire
+ * timeout. Redirects are not followed and response bodies are discarded,
+ * since only status and headers are checked.
+ *
+ * Certificates are not validated here: the TLS inspector reports
+ * certificate problems, and headers of a site with a bad certificate are
+ * still worth checking.
+ *
+ * URLs whose host resolves to an address the target address policy refuses
+ * are not fetched, so sensitive path checks cannot reach internal services.
+ */
+@Component
+public class HttpEndpointChecker implements MetricsSource {
+
+    @Autowired
+    private DnsResolver dnsResolver;
+
+    @Autowired
+    private TargetAddressPolicy targetAddressPolicy;
+
+    @Value("${scan.http.max-in-flight:200}")
+    private int maxInFlight;
+
+    @Value("${scan.http.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    @Value("${scan.http.request-timeout-ms:5000}")
+    private long requestTimeoutMs;
+
+    @Value("${scan.http.acquire-timeout-ms:10000}")
+    private long acquireTimeoutMs;
+
+    @Value("${scan.http.workers:4}")
+    private int workers;
+
+    @Value("${scan.http.user-agent:CyberRisk-Scanner/1.0}")
+    private String userAgent;
+
+    private HttpClient client;
+    private ExecutorService clientExecutor;
+    private Semaphore inFlight;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong refused = new AtomicLong();
+    private final AtomicLong http2Responses = new AtomicLong();
+    private final AtomicLong totalMillis = new AtomicLong();
+
+    @PostConstruct
+    public void start() throws GeneralSecurityException {
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, new TrustManager[] {new AcceptingTrustManager()}, null);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        clientExecutor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "http-checker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .sslContext(sslContext)
+            .executor(clientExecutor)
+            .build();
+        inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Fetch a URL, waiting for an in-flight slot first
+     *
+     * The future always completes normally; failures are reported in the result.
+     */
+    public CompletableFuture<HttpCheck> fetch(URI uri) throws InterruptedException {
+        String refusal = checkAddresses(uri);
+        if (refusal != null) {
+            refused.incrementAndGet();
+            return CompletableFuture.completedFuture(HttpCheck.failed(uri, refusal));
+        }
+        if (!inFlight.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+            rejected.incrementAndGet();
+            return CompletableFuture.completedFuture(HttpCheck.failed(uri, "in-flight limit reached"));
+        }
+
+        requests.incrementAndGet();
+        long start = System.nanoTime();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .timeout(Duration.ofMillis(requestTimeoutMs))
+            .header("User-Agent", userAgent)
+            .GET()
+            .build();
+
+        CompletableFuture<HttpResponse<Void>> response;
+        try {
+            response = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        } catch (RuntimeException e) {
+            inFlight.release();
+            failures.incrementAndGet();
+            return CompletableFuture.completedFuture(HttpCheck.failed(uri, e.getMessage()));
+        }
+        return response.handle((result, error) -> {
+            inFlight.release();
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            totalMillis.addAndGet(millis);
+            if (error != null) {
+                failures.incrementAndGet();
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                return HttpCheck.failed(uri, cause.getClass().getSimpleName() + ": " + cause.getMessage());
+            }
+            if (result.version() == HttpClient.Version.HTTP_2) {
+                http2Responses.incrementAndGet();
+            }
+            return new HttpCheck(uri, result.statusCode(), result.version(), result.headers().map(), null, millis);
+        });
+    }
+
+    /**
+     * Resolve the URL's host and check its addresses against the target address policy
+     *
+     * @return why the URL must not be fetched, or null if it may be
+     */
+    private String checkAddresses(URI uri) throws InterruptedException {
+        String host = uri.getHost();
+        if (host == null) {
+            return "no host";
+        }
+        if (host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1);
+        }
+        List<InetAddress> addresses;
+        try {
+            addresses = dnsResolver.resolveNow(host);
+        } catch (UnknownHostException e) {
+            return "unresolvable host";
+        }
+        return targetAddressPolicy.arePermitted(addresses) ? null : "address not permitted";
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "http-checker";
+    }
+
+    /**
+     * Get checker statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        long count = requests.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("requests", count);
+        stats.put("failures", failures.get());
+        stats.put("rejected", rejected.get());
+        stats.put("refused", refused.get());
+        stats.put("http2Responses", http2Responses.get());
+        stats.put("inFlight", maxInFlight - inFlight.availablePermits());
+        stats.put("maxInFlight", maxInFlight);
+        stats.put("avgResponseMillis", count == 0 ? 0 : totalMillis.get() / count);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clientExecutor.shutdownNow();
+    }
+
+    /**
+     * Status and headers of one response; status is 0 when the request failed
+     */
+    public record HttpCheck(URI uri, int status, HttpClient.Version version, Map<String, List<String>> headers,
+                            String error, long millis) {
+
+        static HttpCheck failed(URI uri, String error) {
+            return new HttpCheck(uri, 0, null, Map.of(), error, 0);
+        }
+
+        public boolean succeeded() {
+            return error == null;
+        }
+
+        public boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+
+        public boolean isRedirect() {
+            return status >= 300 && status < 400;
+        }
+
+        /**
+         * Values of a header; names are case-insensitive
+         */
+        public List<String> header(String name) {
+            for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+                if (entry.getKey().equalsIgnoreCase(name)) {
+                    return entry.getValue();
+                }
+            }
+            return List.of();
+        }
+
+        public boolean hasHeader(String name) {
+            return !header(name).isEmpty();
+        }
+    }
+
+    /**
+     * Accepts any server certificate and skips host name verification
+     */
+    private static class AcceptingTrustManager extends X509ExtendedTrustManager {
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket) {
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.Severity;
+import com.cyberrisk.model.Vulnerability;
+import com.cyberrisk.model.VulnerabilityDefinition;
+import com.cyberrisk.service.HttpEndpointChecker.HttpCheck;
+import com.cyberrisk.service.ScannerModule.ModuleResult;
+import com.cyberrisk.service.ScannerModule.ScanInput;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * HTTP Security Detector
+ *
+ * Checks the web front of a scan target over HTTPS, falling back to plain
+ * HTTP: missing security headers (HSTS, CSP, frame options), cookies
+ * without Secure/HttpOnly, and well-known API and management paths that
+ * answer without asking for credentials. Path checks are skipped when the
+ * site answers a random path with success as well, since it would then
+ * report every path as exposed.
+ *
+ * Runs as the "http" scanner module, independently of the port sweep.
+ */
+@Component
+public class HttpSecurityDetector implements ScannerModule {
+
+    // Probabilistic rule that a conclusive endpoint check replaces
+    public static final String SUPERSEDED_RULE_ID = "API-INSECURE-ENDPOINTS";
+
+    private static final VulnerabilityDefinition MISSING_HSTS = new VulnerabilityDefinition(
+        "HTTP-MISSING-HSTS",
+        "Missing HTTP Strict Transport Security",
+        "The HTTPS site does not send Strict-Transport-Security, so browsers can be downgraded to plain HTTP",
+        Severity.MEDIUM, "Web Security", null, "Web Server",
+        "Send Strict-Transport-Security with a max-age of at least one year on all HTTPS responses",
+        5.4, false);
+
+    private static final VulnerabilityDefinition MISSING_CSP = new VulnerabilityDefinition(
+        "HTTP-MISSING-CSP",
+        "Missing Content Security Policy",
+        "HTML responses carry no Content-Security-Policy, leaving no defence in depth against injected scripts",
+        Severity.MEDIUM, "Web Security", null, "Web Application",
+        "Define a Content-Security-Policy that restricts script sources, starting in report-only mode",
+        4.7, false);
+
+    private static final VulnerabilityDefinition MISSING_FRAME_OPTIONS = new VulnerabilityDefinition(
+        "HTTP-MISSING-FRAME-OPTIONS",
+        "Missing Clickjacking Protection",
+        "Responses allow framing by any site: neither X-Frame-Options nor a CSP frame-ancestors directive is set",
+        Severity.LOW, "Web Security", null, "Web Application",
+        "Send X-Frame-Options: DENY or a CSP frame-ancestors directive",
+        3.1, false);
+
+    private static final VulnerabilityDefinition INSECURE_COOKIES = new VulnerabilityDefinition(
+        "HTTP-INSECURE-COOKIES",
+        "Cookies Without Secure or HttpOnly Flags",
+        "Cookies are set without the Secure or HttpOnly attribute and can leak over HTTP or to scripts",
+        Severity.LOW, "Web Security", null, "Web Application",
+        "Set Secure, HttpOnly and SameSite on session cookies",
+        3.7, false);
+
+    @Autowired
+    private HttpEndpointChecker httpEndpointChecker;
+
+    @Autowired
+    private VulnerabilityCatalog vulnerabilityCatalog;
+
+    @Value("${scan.http.enabled:true}")
+    private boolean enabled;
+
+    @Value("${scan.http.sensitive-paths:/api,/api/v1,/admin,/actuator,/actuator/env,/swagger-ui.html,/v3/api-docs,/graphql}")
+    private String sensitivePaths;
+
+    @Value("${scan.http.request-timeout-ms:5000}")
+    private long requestTimeoutMs;
+
+    @Value("${scan.http.module-timeout-ms:30000}")
+    private long moduleTimeoutMs;
+
+    @PostConstruct
+    public void init() {
+        vulnerabilityCatalog.registerAll(List.of(MISSING_HSTS, MISSING_CSP, MISSING_FRAME_OPTIONS, INSECURE_COOKIES));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String getName() {
+        return "http";
+    }
+
+    @Override
+    public Set<ScanInput> getInputs() {
+        return Set.of(ScanInput.TARGET_DOMAIN, ScanInput.TARGET_IP);
+    }
+
+    @Override
+    public int getCostEstimate() {
+        // Root page plus the sensitive paths and a control path
+        return 3 + sensitivePaths.split(",").length;
+    }
+
+    @Override
+    public Duration getTimeout() {
+        return Duration.ofMillis(moduleTimeoutMs);
+    }
+
+    @Override
+    public ModuleResult scan(ScanContext context) throws InterruptedException {
+        HttpFindings http = detect(context.getHost());
+        Map<String, String> metadata = new HashMap<>();
+        if (!http.conclusive()) {
+            metadata.put("httpCheck", "no response");
+            return new ModuleResult(http.vulnerabilities(), metadata, Set.of());
+        }
+        metadata.put("httpBaseUrl", http.root().uri().toString());
+        metadata.put("httpStatus", Integer.toString(http.root().status()));
+        metadata.put("httpVersion", String.valueOf(http.root().version()));
+        return new ModuleResult(http.vulnerabilities(), metadata, Set.of(SUPERSEDED_RULE_ID));
+    }
+
+    /**
+     * Check the web front of a host, optionally given as host:port
+     */
+    public HttpFindings detect(String host) throws InterruptedException {
+        boolean ipv6Literal = host.indexOf(':') != host.lastIndexOf(':');
+        String authority = ipv6Literal && !host.startsWith("[") ? "[" + host + "]" : host;
+        HttpCheck root = await(httpEndpointChecker.fetch(URI.create("https://" + authority + "/")));
+        if (!root.succeeded()) {
+            root = await(httpEndpointChecker.fetch(URI.create("http://" + authority + "/")));
+        }
+        if (!root.succeeded()) {
+            return new HttpFindings(root, List.of(), false);
+        }
+
+        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        boolean https = "https".equals(root.uri().getScheme());
+        if (https && !root.hasHeader("Strict-Transport-Security")) {
+            vulnerabilities.add(finding(MISSING_HSTS, root.uri().toString()));
+        }
+        String contentType = String.join(",", root.header("Content-Type")).toLowerCase(Locale.ROOT);
+        String csp = String.join(",", root.header("Content-Security-Policy")).toLowerCase(Locale.ROOT);
+        if (contentType.contains("text/html") && csp.isEmpty()) {
+            vulnerabilities.add(finding(MISSING_CSP, root.uri().toString()));
+        }
+        if (contentType.contains("text/html") && !root.hasHeader("X-Frame-Options") && !csp.contains("frame-ancestors")) {
+            vulnerabilities.add(finding(MISSING_FRAME_OPTIONS, root.uri().toString()));
+        }
+        if (root.header("Set-Cookie").stream().anyMatch(cookie -> isInsecureCookie(cookie, https))) {
+            vulnerabilities.add(finding(INSECURE_COOKIES, root.uri().toString()));
+        }
+
+        List<String> exposedPaths = findExposedPaths(root.uri());
+        if (!exposedPaths.isEmpty()) {
+            vulnerabilities.add(finding(vulnerabilityCatalog.get(SUPERSEDED_RULE_ID), String.join(", ", exposedPaths)));
+        }
+        return new HttpFindings(root, vulnerabilities, true);
+    }
+
+    /**
+     * Fetch the sensitive paths concurrently and return those served without authentication
+     */
+    private List<String> findExposedPaths(URI base) throws InterruptedException {
+        CompletableFuture<HttpCheck> control = httpEndpointChecker.fetch(base.resolve("/" + UUID.randomUUID()));
+        List<String> paths = Arrays.stream(sensitivePaths.split(",")).map(String::trim).filter(path -> !path.isEmpty()).toList();
+        List<CompletableFuture<HttpCheck>> checks = new ArrayList<>();
+        for (String path : paths) {
+            checks.add(httpEndpointChecker.fetch(base.resolve(path)));
+        }
+
+        // A site that serves every path successfully tells us nothing about these ones
+        if (await(control).isSuccess()) {
+            return List.of();
+        }
+        List<String> exposed = new ArrayList<>();
+        for (int i = 0; i < paths.size(); i++) {
+            HttpCheck check = await(checks.get(i));
+            if (check.isSuccess() && !check.hasHeader("WWW-Authenticate")) {
+                exposed.add(paths.get(i));
+            }
+        }
+        return exposed;
+    }
+
+    private HttpCheck await(CompletableFuture<HttpCheck> check) throws InterruptedException {
+        try {
+            return check.get(2 * requestTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            return HttpCheck.failed(null, e.getMessage());
+        }
+    }
+
+    private Vulnerability finding(VulnerabilityDefinition definition, String affectedSystem) {
+        Vulnerability vulnerability = new Vulnerability(vulnerabilityCatalog.get(definition.getId()));
+        vulnerability.setAffectedSystem(affectedSystem.length() > 200 ? affectedSystem.substring(0, 200) : affectedSystem);
+        return vulnerability;
+    }
+
+    private static boolean isInsecureCookie(String cookie, boolean https) {
+        String attributes = cookie.toLowerCase(Locale.ROOT);
+        return !attributes.contains("httponly") || (https && !attributes.contains("secure"));
+    }
+
+    /**
+     * Outcome of checking one host
+     *
+     * Conclusive when the site answered over HTTPS or HTTP.
+     */
+    public record HttpFindings(HttpCheck root, List<Vulnerability> vulnerabilities, boolean conclusive) {
+    }
+}
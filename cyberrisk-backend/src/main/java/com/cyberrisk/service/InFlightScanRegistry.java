@@ -0,0 +1,118 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.ScanResult;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-Flight Scan Registry
+ *
+ * Tracks running scans by target key so duplicate requests for the same
+ * target attach to the running scan instead of starting a new one. The scan
+ * that registers first is the leader; later requests become followers and
+ * receive a copy of the leader's result when it finishes.
+ */
+@Component
+public class InFlightScanRegistry implements MetricsSource {
+
+    private final Map<String, InFlightScan> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong leaderScans = new AtomicLong();
+    private final AtomicLong coalescedScans = new AtomicLong();
+    private final AtomicLong reusedScans = new AtomicLong();
+
+    /**
+     * Join the scan running for a target key, or become its leader
+     *
+     * @return true if the scan became the leader and must be executed,
+     *         false if it was attached as a follower of a running scan
+     */
+    public boolean joinOrLead(String targetKey, ScanResult scanResult) {
+        while (true) {
+            InFlightScan candidate = new InFlightScan(scanResult.getId());
+            InFlightScan existing = inFlight.putIfAbsent(targetKey, candidate);
+            if (existing == null) {
+                leaderScans.incrementAndGet();
+                return true;
+            }
+            if (existing.attach(scanResult)) {
+                coalescedScans.incrementAndGet();
+                return false;
+            }
+            // The leader is finishing; clear its entry and try again
+            inFlight.remove(targetKey, existing);
+        }
+    }
+
+    /**
+     * Close the running scan of a target key and hand back its followers
+     */
+    public List<ScanResult> finish(String targetKey, Long leaderScanId) {
+        InFlightScan scan = inFlight.get(targetKey);
+        if (scan == null || !scan.leaderScanId.equals(leaderScanId)) {
+            return Collections.emptyList();
+        }
+        List<ScanResult> followers = scan.close();
+        inFlight.remove(targetKey, scan);
+        return followers;
+    }
+
+    /**
+     * Record a request served from a recently completed scan
+     */
+    public void recordReuse() {
+        reusedScans.incrementAndGet();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "scan-coalescing";
+    }
+
+    /**
+     * Get coalescing statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("inFlightTargets", inFlight.size());
+        stats.put("leaderScans", leaderScans.get());
+        stats.put("coalescedScans", coalescedScans.get());
+        stats.put("reusedScans", reusedScans.get());
+        return stats;
+    }
+
+    /**
+     * A running scan and the duplicate requests waiting for its result
+     */
+    private static class InFlightScan {
+
+        private final Long leaderScanId;
+        private final List<ScanResult> followers = new ArrayList<>();
+        private boolean closed;
+
+        InFlightScan(Long leaderScanId) {
+            this.leaderScanId = leaderScanId;
+        }
+
+        synchronized boolean attach(ScanResult follower) {
+            if (closed) {
+                return false;
+            }
+            followers.add(follower);
+            return true;
+        }
+
+        synchronized List<ScanResult> close() {
+            closed = true;
+            return new ArrayList<>(followers);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.cyberrisk.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * IP Literal
+ *
+ * Strict parsing of IPv4 (dotted decimal) and IPv6 address literals without
+ * any name lookup. Anything that is not a valid literal, such as
+ * "999.1.1.1", is treated as a host name by the callers.
+ */
+final class IpLiteral {
+
+    private IpLiteral() {
+    }
+
+    /**
+     * Parse an address literal
+     *
+     * @return the address, or null if the text is not an IPv4 or IPv6 literal
+     */
+    static InetAddress parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] address = text.indexOf(':') >= 0 ? parseIpv6(text) : parseIpv4(text);
+        if (address == null) {
+            return null;
+        }
+        try {
+            return InetAddress.getByAddress(address);
+        } catch (UnknownHostException e) {
+            // Only raised for addresses of the wrong length
+            return null;
+        }
+    }
+
+    static boolean isLiteral(String text) {
+        return parse(text) != null;
+    }
+
+    private static byte[] parseIpv4(String text) {
+        String[] parts = text.split("\\.", -1);
+        if (parts.length != 4) {
+            return null;
+        }
+        byte[] address = new byte[4];
+        for (int i = 0; i < 4; i++) {
+            String part = parts[i];
+            if (part.isEmpty() || part.length() > 3) {
+                return null;
+            }
+            int value = 0;
+            for (int j = 0; j < part.length(); j++) {
+                char c = part.charAt(j);
+                if (c < '0' || c > '9') {
+                    return null;
+                }
+                value = value * 10 + (c - '0');
+            }
+            if (value > 255) {
+                return null;
+            }
+            address[i] = (byte) value;
+        }
+        return address;
+    }
+
+    private static byte[] parseIpv6(String text) {
+        int gap = text.indexOf("::");
+        if (gap >= 0 && text.indexOf("::", gap + 1) >= 0) {
+            return null;
+        }
+        int[] head = groups(gap < 0 ? text : text.substring(0, gap), gap < 0);
+        int[] tail = gap < 0 ? new int[0] : groups(text.substring(gap + 2), true);
+        if (head == null || tail == null) {
+            return null;
+        }
+        int count = head.length + tail.length;
+        if (gap < 0 ? count != 8 : count > 7) {
+            return null;
+        }
+        byte[] address = new byte[16];
+        for (int i = 0; i < head.length; i++) {
+            address[2 * i] = (byte) (head[i] >> 8);
+            address[2 * i + 1] = (byte) head[i];
+        }
+        int offset = 8 - tail.length;
+        for (int i = 0; i < tail.length; i++) {
+            address[2 * (offset + i)] = (byte) (tail[i] >> 8);
+            address[2 * (offset + i) + 1] = (byte) tail[i];
+        }
+        return address;
+    }
+
+    /**
+     * Parse colon separated 16-bit groups; the last one may be a dotted IPv4 address standing for two groups
+     */
+    private static int[] groups(String text, boolean ipv4Allowed) {
+        if (text.isEmpty()) {
+            return new int[0];
+        }
+        String[] parts = text.split(":", -1);
+        boolean ipv4 = ipv4Allowed && parts[parts.length - 1].indexOf('.') >= 0;
+        int[] groups = new int[parts.length + (ipv4 ? 1 : 0)];
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            if (ipv4 && i == parts.length - 1) {
+                byte[] embedded = parseIpv4(part);
+                if (embedded == null) {
+                    return null;
+                }
+                groups[i] = (embedded[0] & 0xff) << 8 | embedded[1] & 0xff;
+                groups[i + 1] = (embedded[2] & 0xff) << 8 | embedded[3] & 0xff;
+                break;
+            }
+            if (part.isEmpty() || part.length() > 4) {
+                return null;
+            }
+            int value = 0;
+            for (int j = 0; j < part.length(); j++) {
+                char c = part.charAt(j);
+                int digit = c >= '0' && c <= '9' ? c - '0'
+                    : c >= 'a' && c <= 'f' ? c - 'a' + 10
+                    : c >= 'A' && c <= 'F' ? c - 'A' + 10
+                    : -1;
+                if (digit < 0) {
+                    return null;
+                }
+                value = value << 4 | digit;
+            }
+            groups[i] = value;
+        }
+        return groups;
+    }
+}
@@ -0,0 +1,90 @@
+package com.cyberrisk.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Keyword Matcher
+ *
+ * Aho-Corasick automaton over a fixed keyword list. Finds every keyword that
+ * occurs as a substring of a text in one pass over the text, however many
+ * keywords there are. Matching is case-insensitive.
+ */
+class KeywordMatcher {
+
+    private final Node root = new Node();
+    private final int keywordCount;
+
+    KeywordMatcher(List<String> keywords) {
+        this.keywordCount = keywords.size();
+        for (int i = 0; i < keywords.size(); i++) {
+            Node node = root;
+            for (char c : keywords.get(i).toLowerCase(Locale.ROOT).toCharArray()) {
+                node = node.children.computeIfAbsent(c, key -> new Node());
+            }
+            node.outputs.add(i);
+        }
+        buildFailureLinks();
+    }
+
+    /**
+     * Find the indexes of all keywords occurring in a text
+     */
+    BitSet match(String text) {
+        BitSet matches = new BitSet(keywordCount);
+        if (text == null || keywordCount == 0) {
+            return matches;
+        }
+
+        Node node = root;
+        for (char c : text.toLowerCase(Locale.ROOT).toCharArray()) {
+            while (node != root && !node.children.containsKey(c)) {
+                node = node.failure;
+            }
+            node = node.children.getOrDefault(c, root);
+            for (int output : node.outputs) {
+                matches.set(output);
+            }
+        }
+        return matches;
+    }
+
+    private void buildFailureLinks() {
+        Queue<Node> queue = new ArrayDeque<>();
+        root.failure = root;
+        for (Node child : root.children.values()) {
+            child.failure = root;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            Node node = queue.remove();
+            for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+                char c = entry.getKey();
+                Node child = entry.getValue();
+
+                Node fallback = node.failure;
+                while (fallback != root && !fallback.children.containsKey(c)) {
+                    fallback = fallback.failure;
+                }
+                Node target = fallback.children.get(c);
+                child.failure = target != null && target != child ? target : root;
+                // A node also reports the keywords ending at its failure target
+                child.outputs.addAll(child.failure.outputs);
+                queue.add(child);
+            }
+        }
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Integer> outputs = new ArrayList<>();
+        private Node failure;
+    }
+}
@@ -0,0 +1,143 @@
+package com.cyberrisk.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Last Login Writer
+ *
+ * Buffers last login times in memory and writes them behind the login
+ * request. Repeated logins of the same user collapse into one entry, and the
+ * buffer is flushed as a single JDBC batch of updates on a fixed interval
+ * and once more on shutdown.
+ */
+@Component
+public class LastLoginWriter implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(LastLoginWriter.class);
+
+    private static final String UPDATE_LAST_LOGIN_SQL = "UPDATE users SET last_login = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${auth.last-login.flush-interval-ms:5000}")
+    private long flushIntervalMs;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+
+    private final AtomicLong recordedLogins = new AtomicLong();
+    private final AtomicLong flushedUpdates = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicLong lastFlushMillis = new AtomicLong();
+    private final AtomicLong maxFlushMillis = new AtomicLong();
+    private final AtomicLong lastBatchSize = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "last-login-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record a login; the newest time per user wins
+     */
+    public void record(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (current, next) -> next.isAfter(current) ? next : current);
+        recordedLogins.incrementAndGet();
+    }
+
+    /**
+     * Write all buffered login times in one batch
+     */
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Long> userIds = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        for (Long userId : pending.keySet()) {
+            LocalDateTime loginTime = pending.remove(userId);
+            if (loginTime != null) {
+                userIds.add(userId);
+                batch.add(new Object[] { Timestamp.valueOf(loginTime), userId });
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN_SQL, batch);
+            flushedUpdates.addAndGet(batch.size());
+            flushCount.incrementAndGet();
+            lastBatchSize.set(batch.size());
+        } catch (RuntimeException e) {
+            failedFlushes.incrementAndGet();
+            log.warn("Failed to write {} last login updates, keeping them for the next flush: {}",
+                    batch.size(), e.getMessage());
+            for (int i = 0; i < userIds.size(); i++) {
+                record(userIds.get(i), ((Timestamp) batch.get(i)[0]).toLocalDateTime());
+            }
+            recordedLogins.addAndGet(-userIds.size());
+        } finally {
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            lastFlushMillis.set(elapsedMillis);
+            maxFlushMillis.accumulateAndGet(elapsedMillis, Math::max);
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "last-login-writer";
+    }
+
+    /**
+     * Get buffer and flush statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("bufferSize", pending.size());
+        stats.put("flushIntervalMs", flushIntervalMs);
+        stats.put("recordedLogins", recordedLogins.get());
+        stats.put("flushedUpdates", flushedUpdates.get());
+        stats.put("flushCount", flushCount.get());
+        stats.put("failedFlushes", failedFlushes.get());
+        stats.put("lastBatchSize", lastBatchSize.get());
+        stats.put("lastFlushMillis", lastFlushMillis.get());
+        stats.put("maxFlushMillis", maxFlushMillis.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(flushIntervalMs, TimeUnit.MILLISECONDS);
+        flush();
+    }
+}
@@ -0,0 +1,23 @@
+package com.cyberrisk.service;
+
+import java.util.Map;
+
+/**
+ * Metrics Source
+ *
+ * A component that reports runtime statistics, such as pool occupancy, cache
+ * hit rates or counters. Sources are Spring beans picked up by the admin
+ * metrics endpoint, which reports each one under its name.
+ */
+public interface MetricsSource {
+
+    /**
+     * Unique name the statistics are reported under, used in /admin/metrics/{name}
+     */
+    String getMetricsName();
+
+    /**
+     * Get a snapshot of the current statistics
+     */
+    Map<String, Object> getStats();
+}
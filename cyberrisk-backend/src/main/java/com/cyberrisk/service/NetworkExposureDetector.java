@@ -0,0 +1,318 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.dto.ComponentDto;
+import com.cyberrisk.model.Severity;
+import com.cyberrisk.model.Vulnerability;
+import com.cyberrisk.model.VulnerabilityDefinition;
+import com.cyberrisk.service.PortProbeEngine.PortProbeResult;
+import com.cyberrisk.service.ScannerModule.ModuleResult;
+import com.cyberrisk.service.ScannerModule.ScanInput;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Network Exposure Detector
+ *
+ * Sweeps the configured ports of a scan target's address with the port
+ * probe engine and turns what answers into findings: risky services that
+ * should not be reachable (Telnet, FTP, databases, remote administration)
+ * and banners that disclose product versions. Products recognized in
+ * banners are returned as components so they can be matched against the
+ * known-vulnerable version ranges.
+ *
+ * As the "network" scanner module it shares the open ports and banner
+ * components with the modules that depend on it.
+ */
+@Component
+public class NetworkExposureDetector implements ScannerModule {
+
+    private static final Logger log = LoggerFactory.getLogger(NetworkExposureDetector.class);
+
+    private static final Pattern SSH_BANNER = Pattern.compile("^SSH-[\\d.]+-OpenSSH_([\\w.]+)");
+    private static final Pattern HTTP_SERVER_HEADER = Pattern.compile("(?im)^Server:\\s*([A-Za-z][\\w.-]*)/([\\w.-]+)");
+    private static final Pattern FTP_BANNER = Pattern.compile("(?i)^220[ -].*?\\b(vsftpd|proftpd)\\s+([\\w.]+)");
+
+    // Server header product names that differ from their CPE vendor and product
+    private static final Map<String, String[]> HTTP_SERVER_PRODUCTS = Map.of(
+        "apache", new String[] {"apache", "http_server"},
+        "microsoft-iis", new String[] {"microsoft", "internet_information_services"},
+        "nginx", new String[] {null, "nginx"},
+        "lighttpd", new String[] {"lighttpd", "lighttpd"},
+        "jetty", new String[] {"eclipse", "jetty"}
+    );
+
+    private static final List<ExposureRule> EXPOSURE_RULES = List.of(
+        new ExposureRule(Set.of(23), new VulnerabilityDefinition(
+            "NET-EXPOSED-TELNET",
+            "Telnet Service Exposed",
+            "A Telnet service accepts connections; Telnet sends credentials and sessions in clear text",
+            Severity.CRITICAL, "Network", null, "Network Services",
+            "Disable Telnet and use SSH for remote shell access",
+            9.1, true)),
+        new ExposureRule(Set.of(21), new VulnerabilityDefinition(
+            "NET-EXPOSED-FTP",
+            "Unencrypted FTP Service Exposed",
+            "An FTP service accepts connections; FTP sends credentials and files in clear text",
+            Severity.HIGH, "Network", null, "Network Services",
+            "Replace FTP with SFTP or FTPS, or restrict the service to trusted networks",
+            7.5, true)),
+        new ExposureRule(Set.of(1433, 1521, 3306, 5432, 6379, 9200, 11211, 27017), new VulnerabilityDefinition(
+            "NET-EXPOSED-DATABASE",
+            "Database Service Exposed to the Network",
+            "A database or data store port accepts connections from the scanner's network",
+            Severity.HIGH, "Network", null, "Data Stores",
+            "Bind data stores to private interfaces and allow access only from application hosts",
+            8.6, true)),
+        new ExposureRule(Set.of(139, 445, 3389, 5900), new VulnerabilityDefinition(
+            "NET-EXPOSED-REMOTE-ADMIN",
+            "Remote Administration Service Exposed",
+            "A remote desktop or file sharing service (RDP, VNC, SMB) accepts connections from the scanner's network",
+            Severity.HIGH, "Network", null, "Network Services",
+            "Put remote administration behind a VPN or bastion host and enforce network level authentication",
+            8.1, true))
+    );
+
+    private static final VulnerabilityDefinition BANNER_DISCLOSURE = new VulnerabilityDefinition(
+        "NET-SERVICE-BANNER-DISCLOSURE",
+        "Service Version Disclosure",
+        "Network services announce their product and version in banners, which helps attackers pick exploits",
+        Severity.LOW, "Network", null, "Network Services",
+        "Suppress version details in service banners and HTTP Server headers",
+        3.7, false);
+
+    @Autowired
+    private PortProbeEngine portProbeEngine;
+
+    @Autowired
+    private VulnerabilityCatalog vulnerabilityCatalog;
+
+    @Autowired
+    private DnsResolver dnsResolver;
+
+    @Autowired
+    private TargetAddressPolicy targetAddressPolicy;
+
+    @Value("${scan.probe.enabled:true}")
+    private boolean enabled;
+
+    @Value("${scan.probe.ports:21-23,25,53,80,110,139,143,443,445,587,993,995,1433,1521,3306,3389,5432,5900,6379,8000-8100,8443,9200,11211,27017}")
+    private String portList;
+
+    @Value("${scan.probe.sweep-timeout-ms:30000}")
+    private long sweepTimeoutMs;
+
+    @Value("${scan.probe.module-timeout-ms:40000}")
+    private long moduleTimeoutMs;
+
+    private List<Integer> ports;
+
+    @PostConstruct
+    public void init() {
+        ports = parsePorts(portList);
+        List<VulnerabilityDefinition> definitions = new ArrayList<>();
+        EXPOSURE_RULES.forEach(rule -> definitions.add(rule.definition()));
+        definitions.add(BANNER_DISCLOSURE);
+        vulnerabilityCatalog.registerAll(definitions);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String getName() {
+        return "network";
+    }
+
+    @Override
+    public Set<ScanInput> getInputs() {
+        return Set.of(ScanInput.TARGET_IP, ScanInput.TARGET_DOMAIN);
+    }
+
+    @Override
+    public int getCostEstimate() {
+        return ports.size();
+    }
+
+    @Override
+    public Duration getTimeout() {
+        return Duration.ofMillis(moduleTimeoutMs);
+    }
+
+    @Override
+    public ModuleResult scan(ScanContext context) throws InterruptedException {
+        NetworkFindings network = detect(context.getAddress());
+        Map<String, String> metadata = new HashMap<>();
+        if (network.skipReason() != null) {
+            metadata.put("networkProbe", "skipped: " + network.skipReason());
+        } else {
+            List<Integer> openPorts = network.openPorts();
+            context.setOpenPorts(openPorts);
+            metadata.put("networkProbe", "completed");
+            metadata.put("portsProbed", Integer.toString(network.results().size()));
+            metadata.put("openPortCount", Integer.toString(openPorts.size()));
+            // Metadata values are limited to 255 characters
+            metadata.put("openPorts", openPorts.stream().limit(40).map(String::valueOf).collect(Collectors.joining(",")));
+        }
+        context.addDiscoveredComponents(network.components());
+        return new ModuleResult(network.vulnerabilities(), metadata, Set.of());
+    }
+
+    /**
+     * Probe a target and derive findings
+     *
+     * Host names are resolved through the DNS resolver and the first address is
+     * probed, unless the target address policy refuses it.
+     */
+    public NetworkFindings detect(String target) throws InterruptedException {
+        InetAddress address;
+        try {
+            address = dnsResolver.resolveNow(target).get(0);
+        } catch (UnknownHostException e) {
+            return NetworkFindings.skipped("unresolvable");
+        }
+        if (!targetAddressPolicy.isPermitted(address)) {
+            log.warn("Not probing {}: {} is not a permitted target address", target, address.getHostAddress());
+            return NetworkFindings.skipped("address not permitted");
+        }
+
+        CompletableFuture<List<PortProbeResult>> sweep = portProbeEngine.probe(address, ports);
+        List<PortProbeResult> results;
+        try {
+            results = sweep.get(sweepTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            sweep.cancel(false);
+            return NetworkFindings.skipped("timed out");
+        } catch (ExecutionException e) {
+            log.warn("Port sweep of {} failed: {}", target, e.getCause().getMessage());
+            return NetworkFindings.skipped("failed");
+        } catch (InterruptedException e) {
+            sweep.cancel(false);
+            throw e;
+        }
+
+        List<PortProbeResult> open = results.stream().filter(PortProbeResult::isOpen).toList();
+        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        for (ExposureRule rule : EXPOSURE_RULES) {
+            Set<Integer> exposed = new TreeSet<>();
+            open.stream().map(PortProbeResult::port).filter(rule.ports()::contains).forEach(exposed::add);
+            if (!exposed.isEmpty()) {
+                vulnerabilities.add(finding(rule.definition().getId(), exposed));
+            }
+        }
+
+        Map<Integer, ComponentDto> bannerComponents = new LinkedHashMap<>();
+        for (PortProbeResult result : open) {
+            if (result.banner() != null) {
+                ComponentDto component = componentFromBanner(result.banner());
+                if (component != null) {
+                    bannerComponents.put(result.port(), component);
+                }
+            }
+        }
+        if (!bannerComponents.isEmpty()) {
+            vulnerabilities.add(finding(BANNER_DISCLOSURE.getId(), bannerComponents.keySet()));
+        }
+
+        return new NetworkFindings(results, vulnerabilities, List.copyOf(bannerComponents.values()), null);
+    }
+
+    private Vulnerability finding(String definitionId, Set<Integer> ports) {
+        Vulnerability vulnerability = new Vulnerability(vulnerabilityCatalog.get(definitionId));
+        vulnerability.setAffectedSystem("TCP " + ports.stream().map(String::valueOf).collect(Collectors.joining(", ")));
+        return vulnerability;
+    }
+
+    /**
+     * Recognize a product and version in a service banner
+     */
+    static ComponentDto componentFromBanner(String banner) {
+        Matcher ssh = SSH_BANNER.matcher(banner);
+        if (ssh.find()) {
+            return component("openbsd", "openssh", ssh.group(1));
+        }
+        Matcher http = HTTP_SERVER_HEADER.matcher(banner);
+        if (http.find()) {
+            String name = http.group(1).toLowerCase(Locale.ROOT);
+            String[] vendorAndProduct = HTTP_SERVER_PRODUCTS.getOrDefault(name, new String[] {null, name});
+            return component(vendorAndProduct[0], vendorAndProduct[1], http.group(2));
+        }
+        Matcher ftp = FTP_BANNER.matcher(banner);
+        if (ftp.find()) {
+            String product = ftp.group(1).toLowerCase(Locale.ROOT);
+            return component(null, product, ftp.group(2));
+        }
+        return null;
+    }
+
+    private static ComponentDto component(String vendor, String product, String version) {
+        ComponentDto component = new ComponentDto(product, version);
+        component.setVendor(vendor);
+        return component;
+    }
+
+    /**
+     * Parse a port list such as "22,80,8000-8100"
+     */
+    static List<Integer> parsePorts(String portList) {
+        Set<Integer> parsed = new TreeSet<>();
+        for (String part : portList.split(",")) {
+            String entry = part.trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            int dash = entry.indexOf('-');
+            int first = Integer.parseInt(dash < 0 ? entry : entry.substring(0, dash).trim());
+            int last = dash < 0 ? first : Integer.parseInt(entry.substring(dash + 1).trim());
+            if (first < 1 || last > 65535 || first > last) {
+                throw new IllegalArgumentException("Invalid port range: " + entry);
+            }
+            for (int port = first; port <= last; port++) {
+                parsed.add(port);
+            }
+        }
+        return List.copyOf(parsed);
+    }
+
+    private record ExposureRule(Set<Integer> ports, VulnerabilityDefinition definition) {
+    }
+
+    /**
+     * Outcome of probing one target
+     */
+    public record NetworkFindings(List<PortProbeResult> results, List<Vulnerability> vulnerabilities,
+                                  List<ComponentDto> components, String skipReason) {
+
+        static NetworkFindings skipped(String reason) {
+            return new NetworkFindings(List.of(), List.of(), List.of(), reason);
+        }
+
+        public List<Integer> openPorts() {
+            return results.stream().filter(PortProbeResult::isOpen).map(PortProbeResult::port).toList();
+        }
+    }
+}
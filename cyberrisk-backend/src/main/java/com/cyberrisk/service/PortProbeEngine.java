@@ -0,0 +1,397 @@
+package com.cyberrisk.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Port Probe Engine
+ *
+ * Non-blocking TCP connect and banner-grab sweeps on a single selector
+ * thread. Each sweep probes a list of ports of one target; at most
+ * per-target-concurrency connections are open per target and at most
+ * max-open-sockets overall, with new probes started round-robin across
+ * targets as slots free up. A probe that does not connect within the
+ * connect timeout is reported as filtered; an open port is given the banner
+ * timeout to send its greeting. Ports of protocols where the client speaks
+ * first get a short HTTP request instead.
+ */
+@Component
+public class PortProbeEngine implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(PortProbeEngine.class);
+
+    private static final Set<Integer> CLIENT_FIRST_PORTS = Set.of(80, 8000, 8008, 8080, 8888, 9200);
+    private static final byte[] HTTP_PROBE = "HEAD / HTTP/1.0\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    @Value("${scan.probe.connect-timeout-ms:1500}")
+    private long connectTimeoutMs;
+
+    @Value("${scan.probe.banner-timeout-ms:1000}")
+    private long bannerTimeoutMs;
+
+    @Value("${scan.probe.banner-max-bytes:512}")
+    private int bannerMaxBytes;
+
+    @Value("${scan.probe.per-target-concurrency:64}")
+    private int perTargetConcurrency;
+
+    @Value("${scan.probe.max-open-sockets:1024}")
+    private int maxOpenSockets;
+
+    private final ConcurrentLinkedQueue<Sweep> submitted = new ConcurrentLinkedQueue<>();
+    private final List<Sweep> activeSweeps = new ArrayList<>();
+    private int openSockets;
+    private int nextSweep;
+
+    private Selector selector;
+    private Thread selectorThread;
+    private volatile boolean running;
+
+    private final AtomicLong sweepsStarted = new AtomicLong();
+    private final AtomicLong probesStarted = new AtomicLong();
+    private final AtomicLong openPorts = new AtomicLong();
+    private final AtomicLong closedPorts = new AtomicLong();
+    private final AtomicLong filteredPorts = new AtomicLong();
+    private final AtomicInteger openSocketsGauge = new AtomicInteger();
+
+    @PostConstruct
+    public void start() throws IOException {
+        selector = Selector.open();
+        running = true;
+        selectorThread = new Thread(this::run, "port-probe-selector");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    /**
+     * Probe ports of a target
+     *
+     * The future completes with one result per distinct port, ordered by
+     * port. Cancelling it stops the sweep from starting further probes.
+     */
+    public CompletableFuture<List<PortProbeResult>> probe(InetAddress address, Collection<Integer> ports) {
+        for (int port : ports) {
+            if (port < 1 || port > 65535) {
+                throw new IllegalArgumentException("Invalid port: " + port);
+            }
+        }
+        Sweep sweep = new Sweep(address, new TreeSet<>(ports));
+        if (!running) {
+            sweep.future.completeExceptionally(new IllegalStateException("Port probe engine is stopped"));
+            return sweep.future;
+        }
+        sweepsStarted.incrementAndGet();
+        submitted.add(sweep);
+        selector.wakeup();
+        return sweep.future;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "port-probe";
+    }
+
+    /**
+     * Get engine statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("sweepsStarted", sweepsStarted.get());
+        stats.put("probesStarted", probesStarted.get());
+        stats.put("openPorts", openPorts.get());
+        stats.put("closedPorts", closedPorts.get());
+        stats.put("filteredPorts", filteredPorts.get());
+        stats.put("openSockets", openSocketsGauge.get());
+        stats.put("perTargetConcurrency", perTargetConcurrency);
+        stats.put("maxOpenSockets", maxOpenSockets);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        selector.wakeup();
+        selectorThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                acceptSubmittedSweeps();
+                startProbes();
+                long timeout = nextDeadlineMillis();
+                if (timeout == 0) {
+                    // Idle until a sweep is submitted
+                    selector.select();
+                } else {
+                    selector.select(timeout);
+                }
+                Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+                while (selected.hasNext()) {
+                    SelectionKey key = selected.next();
+                    selected.remove();
+                    handle(key);
+                }
+                expireProbes();
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            log.error("Port probe selector failed", e);
+        } finally {
+            running = false;
+            closeAll();
+        }
+    }
+
+    private void acceptSubmittedSweeps() {
+        Sweep sweep;
+        while ((sweep = submitted.poll()) != null) {
+            if (sweep.pending.isEmpty()) {
+                sweep.future.complete(List.of());
+            } else {
+                activeSweeps.add(sweep);
+            }
+        }
+    }
+
+    /**
+     * Start probes round-robin across targets while sockets are available
+     */
+    private void startProbes() {
+        boolean started = true;
+        while (started && openSockets < maxOpenSockets && !activeSweeps.isEmpty()) {
+            started = false;
+            for (int i = 0; i < activeSweeps.size() && openSockets < maxOpenSockets; i++) {
+                Sweep sweep = activeSweeps.get((nextSweep + i) % activeSweeps.size());
+                if (sweep.future.isDone()) {
+                    sweep.pending.clear();
+                }
+                if (sweep.active < perTargetConcurrency && !sweep.pending.isEmpty()) {
+                    startProbe(sweep, sweep.pending.poll());
+                    started = true;
+                }
+            }
+            nextSweep = (nextSweep + 1) % activeSweeps.size();
+        }
+        activeSweeps.removeIf(this::completeIfFinished);
+    }
+
+    private void startProbe(Sweep sweep, int port) {
+        probesStarted.incrementAndGet();
+        Probe probe = new Probe(sweep, port);
+        try {
+            probe.channel = SocketChannel.open();
+            sweep.active++;
+            openSockets++;
+            openSocketsGauge.set(openSockets);
+            probe.channel.configureBlocking(false);
+            probe.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            probe.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(connectTimeoutMs);
+            if (probe.channel.connect(new InetSocketAddress(sweep.address, port))) {
+                onConnected(probe, probe.channel.register(selector, 0, probe));
+            } else {
+                probe.channel.register(selector, SelectionKey.OP_CONNECT, probe);
+            }
+        } catch (IOException e) {
+            finish(probe, PortProbeResult.PortState.CLOSED);
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        Probe probe = (Probe) key.attachment();
+        try {
+            if (key.isConnectable()) {
+                if (probe.channel.finishConnect()) {
+                    onConnected(probe, key);
+                }
+            } else if (key.isReadable()) {
+                int read = probe.channel.read(probe.banner);
+                if (read < 0 || !probe.banner.hasRemaining() || endsLine(probe.banner)) {
+                    finish(probe, PortProbeResult.PortState.OPEN);
+                }
+            }
+        } catch (IOException e) {
+            finish(probe, probe.connected ? PortProbeResult.PortState.OPEN : PortProbeResult.PortState.CLOSED);
+        }
+    }
+
+    private void onConnected(Probe probe, SelectionKey key) throws IOException {
+        probe.connected = true;
+        probe.connectNanos = System.nanoTime() - probe.startNanos;
+        probe.banner = ByteBuffer.allocate(bannerMaxBytes);
+        probe.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(bannerTimeoutMs);
+        if (CLIENT_FIRST_PORTS.contains(probe.port)) {
+            // Small enough to go out in one write on a fresh connection
+            probe.channel.write(ByteBuffer.wrap(HTTP_PROBE));
+        }
+        key.interestOps(SelectionKey.OP_READ);
+    }
+
+    private void expireProbes() {
+        long now = System.nanoTime();
+        for (SelectionKey key : List.copyOf(selector.keys())) {
+            Probe probe = (Probe) key.attachment();
+            if (key.isValid() && now - probe.deadline >= 0) {
+                // A silent open port still counts as open
+                finish(probe, probe.connected ? PortProbeResult.PortState.OPEN : PortProbeResult.PortState.FILTERED);
+            }
+        }
+    }
+
+    /**
+     * Milliseconds until the earliest probe deadline, or 0 when no probe is open
+     */
+    private long nextDeadlineMillis() {
+        long now = System.nanoTime();
+        long next = Long.MAX_VALUE;
+        for (SelectionKey key : selector.keys()) {
+            next = Math.min(next, ((Probe) key.attachment()).deadline - now);
+        }
+        return next == Long.MAX_VALUE ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toMillis(next) + 1);
+    }
+
+    private void finish(Probe probe, PortProbeResult.PortState state) {
+        if (probe.finished) {
+            return;
+        }
+        probe.finished = true;
+        closeQuietly(probe.channel);
+        if (probe.channel != null) {
+            probe.sweep.active--;
+            openSockets--;
+            openSocketsGauge.set(openSockets);
+        }
+
+        String banner = null;
+        if (state == PortProbeResult.PortState.OPEN && probe.banner != null && probe.banner.position() > 0) {
+            banner = new String(probe.banner.array(), 0, probe.banner.position(), StandardCharsets.ISO_8859_1).trim();
+        }
+        switch (state) {
+            case OPEN -> openPorts.incrementAndGet();
+            case CLOSED -> closedPorts.incrementAndGet();
+            case FILTERED -> filteredPorts.incrementAndGet();
+        }
+        long latencyNanos = probe.connected ? probe.connectNanos : System.nanoTime() - probe.startNanos;
+        probe.sweep.results.add(new PortProbeResult(probe.port, state, banner, TimeUnit.NANOSECONDS.toMillis(latencyNanos)));
+    }
+
+    private boolean completeIfFinished(Sweep sweep) {
+        if (sweep.active > 0 || !sweep.pending.isEmpty()) {
+            return false;
+        }
+        sweep.results.sort(Comparator.comparingInt(PortProbeResult::port));
+        sweep.future.complete(List.copyOf(sweep.results));
+        return true;
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            closeQuietly(((Probe) key.attachment()).channel);
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            log.debug("Failed to close port probe selector: {}", e.getMessage());
+        }
+        IllegalStateException stopped = new IllegalStateException("Port probe engine is stopped");
+        activeSweeps.forEach(sweep -> sweep.future.completeExceptionally(stopped));
+        Sweep sweep;
+        while ((sweep = submitted.poll()) != null) {
+            sweep.future.completeExceptionally(stopped);
+        }
+    }
+
+    private static boolean endsLine(ByteBuffer buffer) {
+        return buffer.position() > 0 && buffer.get(buffer.position() - 1) == '\n';
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Nothing left to release
+        }
+    }
+
+    /**
+     * Result of probing one port
+     */
+    public record PortProbeResult(int port, PortState state, String banner, long latencyMillis) {
+
+        public enum PortState {
+            OPEN, CLOSED, FILTERED
+        }
+
+        public boolean isOpen() {
+            return state == PortState.OPEN;
+        }
+    }
+
+    /**
+     * Ports of one target, owned by the selector thread once accepted
+     */
+    private static class Sweep {
+
+        private final InetAddress address;
+        private final ArrayDeque<Integer> pending;
+        private final List<PortProbeResult> results = new ArrayList<>();
+        private final CompletableFuture<List<PortProbeResult>> future = new CompletableFuture<>();
+        private int active;
+
+        Sweep(InetAddress address, Set<Integer> ports) {
+            this.address = address;
+            this.pending = new ArrayDeque<>(ports);
+        }
+    }
+
+    private static class Probe {
+
+        private final Sweep sweep;
+        private final int port;
+        private final long startNanos = System.nanoTime();
+        private SocketChannel channel;
+        private ByteBuffer banner;
+        private long deadline;
+        private long connectNanos;
+        private boolean connected;
+        private boolean finished;
+
+        Probe(Sweep sweep, int port) {
+            this.sweep = sweep;
+            this.port = port;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.AggregateScope;
+import com.cyberrisk.model.RiskAggregate;
+import com.cyberrisk.model.ScanResult;
+import com.cyberrisk.model.ScanStatus;
+import com.cyberrisk.model.User;
+import com.cyberrisk.repository.RiskAggregateRepository;
+import com.cyberrisk.repository.ScanResultRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Risk Aggregate Service
+ * 
+ * Maintains per-user and per-organization risk aggregates. A completed scan
+ * and the aggregate updates it causes are written in one transaction, so
+ * the aggregates always match the stored scans.
+ */
+@Service
+public class RiskAggregateService {
+    
+    @Autowired
+    private ScanResultRepository scanResultRepository;
+    
+    @Autowired
+    private RiskAggregateRepository riskAggregateRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    /**
+     * Save a completed scan and fold it into its user and organization aggregates
+     * 
+     * The organization aggregate is the one of the scanning user's organization; the
+     * organization name typed into the scan request is free text and only names the target.
+     */
+    public ScanResult saveCompletedScan(ScanResult scanResult) {
+        if (scanResult.getStatus() != ScanStatus.COMPLETED) {
+            throw new IllegalArgumentException("Only completed scans can be aggregated");
+        }
+        
+        User user = scanResult.getUser();
+        String userKey = userKey(user.getId());
+        String organizationKey = organizationKey(user.getOrganization());
+        
+        // Create missing rows up front so the update below only ever locks existing rows
+        ensureAggregateExists(AggregateScope.USER, userKey);
+        if (organizationKey != null) {
+            ensureAggregateExists(AggregateScope.ORGANIZATION, organizationKey);
+        }
+        
+        return transactionTemplate.execute(status -> {
+            ScanResult saved = scanResultRepository.save(scanResult);
+            lockAggregate(AggregateScope.USER, userKey).record(saved);
+            if (organizationKey != null) {
+                lockAggregate(AggregateScope.ORGANIZATION, organizationKey).record(saved);
+            }
+            return saved;
+        });
+    }
+    
+    /**
+     * Get the aggregate of a user's completed scans
+     */
+    public Optional<RiskAggregate> getUserAggregate(Long userId) {
+        return riskAggregateRepository.findByScopeAndScopeKey(AggregateScope.USER, userKey(userId));
+    }
+    
+    /**
+     * Get the aggregate of an organization's completed scans
+     */
+    public Optional<RiskAggregate> getOrganizationAggregate(String organizationName) {
+        String organizationKey = organizationKey(organizationName);
+        if (organizationKey == null) {
+            return Optional.empty();
+        }
+        return riskAggregateRepository.findByScopeAndScopeKey(AggregateScope.ORGANIZATION, organizationKey);
+    }
+    
+    private RiskAggregate lockAggregate(AggregateScope scope, String scopeKey) {
+        return riskAggregateRepository.findForUpdate(scope, scopeKey)
+            .orElseThrow(() -> new IllegalStateException("Risk aggregate missing for " + scope + " " + scopeKey));
+    }
+    
+    private void ensureAggregateExists(AggregateScope scope, String scopeKey) {
+        if (riskAggregateRepository.findByScopeAndScopeKey(scope, scopeKey).isPresent()) {
+            return;
+        }
+        try {
+            riskAggregateRepository.saveAndFlush(new RiskAggregate(scope, scopeKey));
+        } catch (DataIntegrityViolationException e) {
+            // Another scan created the row first
+        }
+    }
+    
+    private String userKey(Long userId) {
+        return userId.toString();
+    }
+    
+    private String organizationKey(String organizationName) {
+        if (organizationName == null || organizationName.isBlank()) {
+            return null;
+        }
+        return organizationName.trim().toLowerCase(Locale.ROOT);
+    }
+}
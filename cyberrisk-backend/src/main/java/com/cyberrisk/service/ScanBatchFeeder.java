@@ -0,0 +1,199 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.ScanResult;
+import com.cyberrisk.model.ScanStatus;
+import com.cyberrisk.repository.ScanResultRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scan Batch Feeder
+ *
+ * Hands the scans of batch submissions to the job engine as it frees up
+ * room instead of all at once, so a batch of thousands of targets is not
+ * rejected by the engine's bounded queue. Batch scans wait in one FIFO
+ * queue drained by a single feeder thread, which always leaves a few engine
+ * slots free for single scans. Room in the feeder queue is reserved before
+ * a batch is persisted; batches that do not fit are rejected up front.
+ *
+ * Scans still waiting when the application shuts down are marked
+ * CANCELLED together with the duplicate scans attached to them, so they
+ * do not stay PENDING forever.
+ */
+@Component
+public class ScanBatchFeeder implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ScanBatchFeeder.class);
+
+    private static final int CANCEL_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private ScanJobEngine scanJobEngine;
+
+    @Autowired
+    private ScanResultRepository scanResultRepository;
+
+    @Autowired
+    private InFlightScanRegistry inFlightScanRegistry;
+
+    @Value("${scan.batch.queue-capacity:20000}")
+    private int queueCapacity;
+
+    @Value("${scan.batch.interactive-headroom:10}")
+    private int interactiveHeadroom;
+
+    private final BlockingQueue<BatchJob> pending = new LinkedBlockingQueue<>();
+    private Semaphore freeSlots;
+    private Thread feederThread;
+
+    private final AtomicLong queuedJobs = new AtomicLong();
+    private final AtomicLong fedJobs = new AtomicLong();
+    private final AtomicLong droppedJobs = new AtomicLong();
+    private final AtomicLong cancelledJobs = new AtomicLong();
+    private final AtomicLong rejectedBatches = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        freeSlots = new Semaphore(queueCapacity);
+        feederThread = new Thread(this::feed, "scan-batch-feeder");
+        feederThread.setDaemon(true);
+        feederThread.start();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Reserve feeder queue room for a batch
+     *
+     * @return false if the batch does not fit; nothing is reserved then
+     */
+    public boolean reserve(int jobs) {
+        if (freeSlots.tryAcquire(jobs)) {
+            return true;
+        }
+        rejectedBatches.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Give back reserved room that was not used for a job
+     */
+    public void release(int jobs) {
+        if (jobs > 0) {
+            freeSlots.release(jobs);
+        }
+    }
+
+    /**
+     * Queue a scan job on a reserved slot
+     *
+     * @param scan the saved scan the job executes
+     * @param onRejected runs instead of the job if the engine shuts down before taking it
+     */
+    public void enqueue(ScanResult scan, Runnable job, Runnable onRejected) {
+        queuedJobs.incrementAndGet();
+        pending.add(new BatchJob(scan, job, onRejected));
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "scan-batch-feeder";
+    }
+
+    /**
+     * Get feeder statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("waitingJobs", pending.size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("interactiveHeadroom", interactiveHeadroom);
+        stats.put("queuedJobs", queuedJobs.get());
+        stats.put("fedJobs", fedJobs.get());
+        stats.put("droppedJobs", droppedJobs.get());
+        stats.put("cancelledJobs", cancelledJobs.get());
+        stats.put("rejectedBatches", rejectedBatches.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        feederThread.interrupt();
+        feederThread.join(5000);
+
+        List<BatchJob> waiting = new ArrayList<>();
+        pending.drainTo(waiting);
+        if (waiting.isEmpty()) {
+            return;
+        }
+        List<Long> scanIds = new ArrayList<>();
+        for (BatchJob batchJob : waiting) {
+            ScanResult scan = batchJob.scan();
+            scanIds.add(scan.getId());
+            inFlightScanRegistry.finish(scan.getTargetKey(), scan.getId())
+                .forEach(follower -> scanIds.add(follower.getId()));
+        }
+        try {
+            for (int from = 0; from < scanIds.size(); from += CANCEL_CHUNK_SIZE) {
+                scanResultRepository.updateStatusByIdIn(
+                    scanIds.subList(from, Math.min(from + CANCEL_CHUNK_SIZE, scanIds.size())), ScanStatus.CANCELLED);
+            }
+            cancelledJobs.addAndGet(waiting.size());
+            log.warn("Scan batch feeder stopped; cancelled {} batch scans not yet handed to the engine", scanIds.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to cancel {} batch scans left in the feeder queue: {}", scanIds.size(), e.getMessage(), e);
+        }
+    }
+
+    private void feed() {
+        while (!Thread.currentThread().isInterrupted()) {
+            BatchJob batchJob;
+            try {
+                batchJob = pending.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            freeSlots.release();
+            try {
+                scanJobEngine.submitWhenReady(batchJob.job(), interactiveHeadroom);
+                fedJobs.incrementAndGet();
+            } catch (RejectedExecutionException e) {
+                droppedJobs.incrementAndGet();
+                runRejected(batchJob);
+            } catch (InterruptedException e) {
+                droppedJobs.incrementAndGet();
+                runRejected(batchJob);
+                return;
+            }
+        }
+    }
+
+    private void runRejected(BatchJob batchJob) {
+        try {
+            batchJob.onRejected().run();
+        } catch (RuntimeException e) {
+            log.error("Failed to mark a rejected batch scan: {}", e.getMessage(), e);
+        }
+    }
+
+    private record BatchJob(ScanResult scan, Runnable job, Runnable onRejected) {
+    }
+}
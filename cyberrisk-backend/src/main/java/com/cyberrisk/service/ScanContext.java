@@ -0,0 +1,99 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.dto.ComponentDto;
+import com.cyberrisk.dto.ScanRequest;
+import com.cyberrisk.service.ScannerModule.ScanInput;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Scan Context
+ *
+ * The target of one scan as seen by the scanner modules, plus what modules
+ * learn about it for the modules that depend on them: the open ports and
+ * the components recognized in service banners. Modules run concurrently,
+ * so the shared state is thread-safe.
+ */
+public class ScanContext {
+
+    private final ScanRequest scanRequest;
+    private final long seed;
+
+    private volatile List<Integer> openPorts = List.of();
+    private final List<ComponentDto> discoveredComponents = new CopyOnWriteArrayList<>();
+
+    public ScanContext(ScanRequest scanRequest, long seed) {
+        this.scanRequest = scanRequest;
+        this.seed = seed;
+    }
+
+    public ScanRequest getScanRequest() {
+        return scanRequest;
+    }
+
+    /**
+     * Seed for the detection rules, kept so the findings can be reproduced
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Whether the scan request has the given attribute
+     */
+    public boolean has(ScanInput input) {
+        return switch (input) {
+            case TARGET_IP -> hasText(scanRequest.getTargetIp());
+            case TARGET_DOMAIN -> hasText(scanRequest.getTargetDomain());
+            case COMPONENTS -> scanRequest.hasComponents();
+        };
+    }
+
+    /**
+     * Network address to probe: the target IP, or the domain without one
+     */
+    public String getAddress() {
+        return hasText(scanRequest.getTargetIp()) ? scanRequest.getTargetIp().trim() : trimmed(scanRequest.getTargetDomain());
+    }
+
+    /**
+     * Host name to connect to by name: the target domain, or the IP without one
+     */
+    public String getHost() {
+        return hasText(scanRequest.getTargetDomain()) ? scanRequest.getTargetDomain().trim() : trimmed(scanRequest.getTargetIp());
+    }
+
+    public List<Integer> getOpenPorts() {
+        return openPorts;
+    }
+
+    public void setOpenPorts(List<Integer> openPorts) {
+        this.openPorts = List.copyOf(openPorts);
+    }
+
+    public void addDiscoveredComponents(List<ComponentDto> components) {
+        discoveredComponents.addAll(components);
+    }
+
+    /**
+     * Submitted inventory followed by the components discovered so far
+     */
+    public List<ComponentDto> getComponents() {
+        List<ComponentDto> components = new ArrayList<>();
+        if (scanRequest.hasComponents()) {
+            components.addAll(scanRequest.getComponents());
+        }
+        components.addAll(discoveredComponents);
+        return components;
+    }
+
+    private static String trimmed(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
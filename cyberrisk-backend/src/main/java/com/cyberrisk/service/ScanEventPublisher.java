@@ -0,0 +1,113 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.dto.VulnerabilityDto;
+import com.cyberrisk.model.ScanResult;
+import com.cyberrisk.model.ScanStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Scan Event Publisher
+ *
+ * Pushes scan progress to server-sent event subscribers: status transitions,
+ * each vulnerability as it is found, and the final risk score. Emitters are
+ * dropped as soon as the scan finishes or the client goes away.
+ */
+@Component
+public class ScanEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(ScanEventPublisher.class);
+
+    @Value("${scan.events.timeout-ms:300000}")
+    private long emitterTimeoutMs;
+
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Register a subscriber for a scan
+     */
+    public SseEmitter subscribe(Long scanId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        subscribers.computeIfAbsent(scanId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+
+        emitter.onCompletion(() -> unsubscribe(scanId, emitter));
+        emitter.onTimeout(() -> unsubscribe(scanId, emitter));
+        emitter.onError(e -> unsubscribe(scanId, emitter));
+        return emitter;
+    }
+
+    /**
+     * Publish a status transition
+     */
+    public void publishStatus(Long scanId, ScanStatus status) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("scanId", scanId.toString());
+        payload.put("status", status);
+        send(scanId, "status", payload);
+    }
+
+    /**
+     * Publish a discovered vulnerability
+     */
+    public void publishVulnerability(Long scanId, VulnerabilityDto vulnerability) {
+        send(scanId, "vulnerability", vulnerability);
+    }
+
+    /**
+     * Publish the final scan outcome and close all subscribers of the scan
+     */
+    public void publishFinished(ScanResult scanResult) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("scanId", scanResult.getId().toString());
+        payload.put("status", scanResult.getStatus());
+        payload.put("riskScore", scanResult.getRiskScore());
+        payload.put("riskLevel", scanResult.getRiskLevel());
+        send(scanResult.getId(), "finished", payload);
+
+        List<SseEmitter> emitters = subscribers.remove(scanResult.getId());
+        if (emitters != null) {
+            emitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    /**
+     * Check whether anyone is listening to a scan
+     */
+    public boolean hasSubscribers(Long scanId) {
+        List<SseEmitter> emitters = subscribers.get(scanId);
+        return emitters != null && !emitters.isEmpty();
+    }
+
+    private void send(Long scanId, String eventName, Object payload) {
+        List<SseEmitter> emitters = subscribers.get(scanId);
+        if (emitters == null) {
+            return;
+        }
+
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(payload));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping scan event subscriber for scan {}: {}", scanId, e.getMessage());
+                unsubscribe(scanId, emitter);
+            }
+        }
+    }
+
+    private void unsubscribe(Long scanId, SseEmitter emitter) {
+        subscribers.computeIfPresent(scanId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,237 @@
+package com.cyberrisk.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scan Job Engine
+ *
+ * Runs scan jobs off the request thread so requests return as soon as a scan
+ * is queued. Two execution modes are supported:
+ *
+ * - platform: a fixed pool of scan workers in front of a bounded queue
+ * - virtual: one virtual thread per scan, capped by a max in-flight limit
+ *
+ * In both modes jobs beyond capacity are rejected instead of piling up in memory.
+ * Batch feeding uses submitWhenReady instead, which waits for room.
+ */
+@Component
+public class ScanJobEngine implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ScanJobEngine.class);
+
+    // Upper bound on a wait for room, in case a capacity signal is missed
+    private static final long CAPACITY_WAIT_MILLIS = 100;
+
+    @Value("${scan.engine.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${scan.engine.workers:4}")
+    private int workers;
+
+    @Value("${scan.engine.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${scan.engine.max-in-flight:10000}")
+    private int maxInFlight;
+
+    @Value("${scan.engine.shutdown-timeout-seconds:30}")
+    private int shutdownTimeoutSeconds;
+
+    private ExecutorService executor;
+    private ThreadPoolExecutor platformExecutor;
+    private Semaphore inFlightPermits;
+    private final Object capacityMonitor = new Object();
+
+    private final AtomicInteger inFlightJobs = new AtomicInteger();
+    private final AtomicInteger peakInFlightJobs = new AtomicInteger();
+    private final AtomicLong submittedJobs = new AtomicLong();
+    private final AtomicLong completedJobs = new AtomicLong();
+    private final AtomicLong failedJobs = new AtomicLong();
+    private final AtomicLong rejectedJobs = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        if (virtualThreads) {
+            inFlightPermits = new Semaphore(maxInFlight);
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("scan-vworker-", 1).factory());
+            log.info("Scan job engine started on virtual threads with max {} in-flight scans", maxInFlight);
+        } else {
+            platformExecutor = new ThreadPoolExecutor(
+                workers, workers,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new ScanWorkerThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+            );
+            executor = platformExecutor;
+            log.info("Scan job engine started with {} workers and queue capacity {}", workers, queueCapacity);
+        }
+    }
+
+    /**
+     * Queue a scan job for execution
+     *
+     * @throws RejectedExecutionException if the engine is at capacity or shutting down
+     */
+    public void submit(Runnable job) {
+        if (!trySubmit(job)) {
+            rejectedJobs.incrementAndGet();
+            throw new RejectedExecutionException(virtualThreads
+                ? "Scan engine is at its in-flight limit of " + maxInFlight
+                : "Scan engine queue is full");
+        }
+    }
+
+    /**
+     * Queue a scan job once the engine has more than the given number of free slots
+     *
+     * Blocks until then, so a caller feeding many jobs leaves the headroom to single scans.
+     *
+     * @throws RejectedExecutionException if the engine is shutting down
+     */
+    public void submitWhenReady(Runnable job, int headroom) throws InterruptedException {
+        int reserved = Math.max(0, Math.min(headroom, capacity() - 1));
+        while (true) {
+            if (executor.isShutdown()) {
+                rejectedJobs.incrementAndGet();
+                throw new RejectedExecutionException("Scan engine is shutting down");
+            }
+            if (freeCapacity() > reserved && trySubmit(job)) {
+                return;
+            }
+            synchronized (capacityMonitor) {
+                capacityMonitor.wait(CAPACITY_WAIT_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Queue a job if there is room
+     *
+     * @throws RejectedExecutionException if the engine is shutting down
+     */
+    private boolean trySubmit(Runnable job) {
+        if (inFlightPermits != null && !inFlightPermits.tryAcquire()) {
+            return false;
+        }
+
+        submittedJobs.incrementAndGet();
+        try {
+            executor.execute(() -> runJob(job));
+            return true;
+        } catch (RejectedExecutionException e) {
+            submittedJobs.decrementAndGet();
+            if (inFlightPermits != null) {
+                inFlightPermits.release();
+            }
+            if (executor.isShutdown()) {
+                throw e;
+            }
+            return false;
+        }
+    }
+
+    private int capacity() {
+        return virtualThreads ? maxInFlight : queueCapacity;
+    }
+
+    private int freeCapacity() {
+        return virtualThreads ? inFlightPermits.availablePermits() : platformExecutor.getQueue().remainingCapacity();
+    }
+
+    private void signalCapacity() {
+        synchronized (capacityMonitor) {
+            capacityMonitor.notifyAll();
+        }
+    }
+
+    private void runJob(Runnable job) {
+        peakInFlightJobs.accumulateAndGet(inFlightJobs.incrementAndGet(), Math::max);
+        // A queued job just left the platform queue
+        signalCapacity();
+        try {
+            job.run();
+            completedJobs.incrementAndGet();
+        } catch (RuntimeException e) {
+            failedJobs.incrementAndGet();
+            log.error("Scan job failed: {}", e.getMessage(), e);
+        } finally {
+            inFlightJobs.decrementAndGet();
+            if (inFlightPermits != null) {
+                inFlightPermits.release();
+                signalCapacity();
+            }
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "scan-engine";
+    }
+
+    /**
+     * Get engine statistics for capacity sizing
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("mode", virtualThreads ? "virtual" : "platform");
+        if (virtualThreads) {
+            stats.put("maxInFlight", maxInFlight);
+            stats.put("queueDepth", 0);
+        } else {
+            stats.put("workers", platformExecutor.getMaximumPoolSize());
+            stats.put("queueDepth", platformExecutor.getQueue().size());
+            stats.put("queueCapacity", queueCapacity);
+        }
+        stats.put("activeWorkers", inFlightJobs.get());
+        stats.put("peakInFlight", peakInFlightJobs.get());
+        stats.put("submittedJobs", submittedJobs.get());
+        stats.put("completedJobs", completedJobs.get());
+        stats.put("failedJobs", failedJobs.get());
+        stats.put("rejectedJobs", rejectedJobs.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+            log.warn("Scan job engine did not drain within {}s, interrupting workers", shutdownTimeoutSeconds);
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Names worker threads so they are recognisable in thread dumps
+     */
+    private static class ScanWorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "scan-worker-" + threadNumber.getAndIncrement());
+            thread.setDaemon(false);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.Vulnerability;
+import com.cyberrisk.service.ScannerModule.ModuleResult;
+import com.cyberrisk.service.ScannerModule.ScanInput;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Scan Orchestrator
+ *
+ * Runs the scanner modules of a scan. Each module starts as soon as the
+ * modules it depends on have finished, so independent modules run in
+ * parallel on the module pool. A module whose dependency did not complete
+ * (failed, timed out, cancelled or skipped) is skipped rather than run on
+ * missing input, unless it declares that it works without that input. A
+ * module that overruns its own timeout is
+ * interrupted, and whatever is still running at the scan deadline is
+ * cancelled; the scan completes with the findings of the modules that
+ * finished. Status and wall time of every module are recorded in the scan
+ * metadata as module.<name>.status and module.<name>.millis.
+ *
+ * Findings of measuring modules are handed to a listener as each module
+ * completes; fallback findings follow once all modules are done, since a
+ * later module may still supersede them.
+ */
+@Component
+public class ScanOrchestrator implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ScanOrchestrator.class);
+
+    @Autowired
+    private List<ScannerModule> modules;
+
+    @Value("${scan.orchestrator.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${scan.orchestrator.workers:32}")
+    private int workers;
+
+    @Value("${scan.orchestrator.deadline-ms:60000}")
+    private long deadlineMs;
+
+    // Dependencies first; among modules that can start together the most expensive first
+    private List<ScannerModule> executionOrder;
+    private Map<String, ModuleStats> moduleStats;
+
+    private ExecutorService moduleExecutor;
+    private ScheduledThreadPoolExecutor timeoutScheduler;
+
+    private final AtomicLong scans = new AtomicLong();
+    private final AtomicLong deadlinesExceeded = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        executionOrder = orderModules(modules);
+        moduleStats = new LinkedHashMap<>();
+        executionOrder.forEach(module -> moduleStats.put(module.getName(), new ModuleStats()));
+
+        if (virtualThreads) {
+            moduleExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("scan-vmodule-", 1).factory());
+        } else {
+            AtomicInteger threadNumber = new AtomicInteger();
+            moduleExecutor = Executors.newFixedThreadPool(workers, runnable -> {
+                Thread thread = new Thread(runnable, "scan-module-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        timeoutScheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "scan-module-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timeoutScheduler.setRemoveOnCancelPolicy(true);
+
+        log.info("Scan orchestrator started with modules {}",
+                executionOrder.stream().map(ScannerModule::getName).toList());
+    }
+
+    /**
+     * Run all modules against one target
+     *
+     * Module metadata and per-module timings are added to the given metadata.
+     *
+     * @param findingsListener called with the findings of each completed module, on the module's thread
+     * @return fallback findings that no module superseded, followed by the measured findings
+     */
+    public List<Vulnerability> run(ScanContext context, Map<String, String> metadata,
+                                   Consumer<List<Vulnerability>> findingsListener) throws InterruptedException {
+        scans.incrementAndGet();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+
+        Map<String, ModuleRun> runs = new LinkedHashMap<>();
+        for (ScannerModule module : executionOrder) {
+            ModuleRun run = new ModuleRun(module);
+            runs.put(module.getName(), run);
+            if (!module.isEnabled()) {
+                run.finish(ModuleStatus.SKIPPED, null, "disabled");
+                continue;
+            }
+            if (!hasAnyInput(context, module.getInputs())) {
+                run.finish(ModuleStatus.SKIPPED, null, "no input");
+                continue;
+            }
+            List<ModuleRun> dependencies = module.getDependencies().stream().map(runs::get).toList();
+            CompletableFuture.allOf(dependencies.stream().map(dependency -> dependency.outcome).toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, error) -> launch(run, dependencies, context, findingsListener));
+        }
+
+        CompletableFuture<Void> all = CompletableFuture.allOf(runs.values().stream()
+            .map(run -> run.outcome)
+            .toArray(CompletableFuture[]::new));
+        try {
+            all.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            deadlinesExceeded.incrementAndGet();
+            runs.values().forEach(run -> run.cancel(ModuleStatus.TIMED_OUT, "scan deadline"));
+        } catch (InterruptedException e) {
+            runs.values().forEach(run -> run.cancel(ModuleStatus.CANCELLED, null));
+            throw e;
+        } catch (ExecutionException e) {
+            // Outcomes are only ever completed normally
+            throw new IllegalStateException("Scanner module outcome failed", e.getCause());
+        }
+
+        return collect(runs, metadata, findingsListener);
+    }
+
+    private void launch(ModuleRun run, List<ModuleRun> dependencies, ScanContext context,
+                        Consumer<List<Vulnerability>> findingsListener) {
+        // Cancelled at the deadline while waiting for its dependencies
+        if (run.outcome.isDone()) {
+            return;
+        }
+        if (run.module.requiresCompletedDependencies()) {
+            for (ModuleRun dependency : dependencies) {
+                ModuleStatus status = dependency.outcome.join().status();
+                if (status != ModuleStatus.COMPLETED) {
+                    run.finish(ModuleStatus.SKIPPED, null,
+                        "dependency " + dependency.module.getName() + " " + status.name().toLowerCase(Locale.ROOT));
+                    return;
+                }
+            }
+        }
+        run.started(System.nanoTime());
+        try {
+            run.task = moduleExecutor.submit(() -> execute(run, context, findingsListener));
+        } catch (RejectedExecutionException e) {
+            run.finish(ModuleStatus.FAILED, null, "rejected");
+            return;
+        }
+        // The scan may have been cancelled before the task was recorded
+        if (run.outcome.isDone()) {
+            run.task.cancel(true);
+            return;
+        }
+        try {
+            ScheduledFuture<?> timer = timeoutScheduler.schedule(
+                () -> run.cancel(ModuleStatus.TIMED_OUT, "module timeout"),
+                run.module.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            run.outcome.whenComplete((outcome, error) -> timer.cancel(false));
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the scan deadline still applies
+        }
+    }
+
+    private void execute(ModuleRun run, ScanContext context, Consumer<List<Vulnerability>> findingsListener) {
+        try {
+            ModuleResult result = run.module.scan(context);
+            if (run.finish(ModuleStatus.COMPLETED, result, null) && !run.module.isFallback()) {
+                notifyFindings(findingsListener, result.vulnerabilities());
+            }
+        } catch (InterruptedException e) {
+            run.finish(ModuleStatus.CANCELLED, null, null);
+        } catch (RuntimeException e) {
+            log.warn("Scanner module {} failed: {}", run.module.getName(), e.getMessage(), e);
+            run.finish(ModuleStatus.FAILED, null, e.getClass().getSimpleName());
+        }
+    }
+
+    private static void notifyFindings(Consumer<List<Vulnerability>> findingsListener, List<Vulnerability> vulnerabilities) {
+        if (vulnerabilities.isEmpty()) {
+            return;
+        }
+        try {
+            findingsListener.accept(vulnerabilities);
+        } catch (RuntimeException e) {
+            log.warn("Findings listener failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Merge the outcomes in execution order, record per-module timings and report the remaining fallback findings
+     */
+    private List<Vulnerability> collect(Map<String, ModuleRun> runs, Map<String, String> metadata,
+                                        Consumer<List<Vulnerability>> findingsListener) {
+        Set<String> supersededRules = new HashSet<>();
+        for (ModuleRun run : runs.values()) {
+            ModuleOutcome outcome = run.outcome.join();
+            if (outcome.status() == ModuleStatus.COMPLETED) {
+                supersededRules.addAll(outcome.result().supersededRules());
+            }
+        }
+
+        List<Vulnerability> fallback = new ArrayList<>();
+        List<Vulnerability> measured = new ArrayList<>();
+        for (ModuleRun run : runs.values()) {
+            ModuleOutcome outcome = run.outcome.join();
+            String name = run.module.getName();
+            moduleStats.get(name).record(outcome);
+
+            String status = outcome.status().name().toLowerCase(Locale.ROOT);
+            metadata.put("module." + name + ".status", outcome.detail() == null ? status : status + ": " + outcome.detail());
+            if (outcome.status() != ModuleStatus.SKIPPED) {
+                metadata.put("module." + name + ".millis", Long.toString(outcome.millis()));
+            }
+            if (outcome.status() != ModuleStatus.COMPLETED) {
+                continue;
+            }
+
+            metadata.putAll(outcome.result().metadata());
+            if (run.module.isFallback()) {
+                outcome.result().vulnerabilities().stream()
+                    .filter(vulnerability -> !supersededRules.contains(vulnerability.getDefinitionId()))
+                    .forEach(fallback::add);
+            } else {
+                measured.addAll(outcome.result().vulnerabilities());
+            }
+        }
+
+        notifyFindings(findingsListener, fallback);
+        List<Vulnerability> vulnerabilities = new ArrayList<>(fallback);
+        vulnerabilities.addAll(measured);
+        return vulnerabilities;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "scan-modules";
+    }
+
+    /**
+     * Get orchestrator statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        List<Map<String, Object>> moduleList = new ArrayList<>();
+        for (ScannerModule module : executionOrder) {
+            Map<String, Object> entry = moduleStats.get(module.getName()).toMap();
+            entry.put("name", module.getName());
+            entry.put("enabled", module.isEnabled());
+            entry.put("inputs", module.getInputs());
+            entry.put("dependencies", module.getDependencies());
+            entry.put("costEstimate", module.getCostEstimate());
+            entry.put("timeoutMs", module.getTimeout().toMillis());
+            entry.put("fallback", module.isFallback());
+            moduleList.add(entry);
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("modules", moduleList);
+        stats.put("scans", scans.get());
+        stats.put("deadlinesExceeded", deadlinesExceeded.get());
+        stats.put("deadlineMs", deadlineMs);
+        stats.put("virtualThreads", virtualThreads);
+        stats.put("workers", workers);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timeoutScheduler.shutdownNow();
+        moduleExecutor.shutdownNow();
+    }
+
+    private static boolean hasAnyInput(ScanContext context, Set<ScanInput> inputs) {
+        return inputs.isEmpty() || inputs.stream().anyMatch(context::has);
+    }
+
+    /**
+     * Order modules so that every module comes after its dependencies
+     *
+     * @throws IllegalStateException on duplicate names, unknown dependencies or cycles
+     */
+    private static List<ScannerModule> orderModules(List<ScannerModule> modules) {
+        Map<String, ScannerModule> byName = new HashMap<>();
+        for (ScannerModule module : modules) {
+            if (byName.put(module.getName(), module) != null) {
+                throw new IllegalStateException("Duplicate scanner module name: " + module.getName());
+            }
+        }
+
+        Map<String, Integer> pendingDependencies = new HashMap<>();
+        Map<String, List<ScannerModule>> dependents = new HashMap<>();
+        PriorityQueue<ScannerModule> ready = new PriorityQueue<>(
+            Comparator.comparingInt(ScannerModule::getCostEstimate).reversed().thenComparing(ScannerModule::getName));
+        for (ScannerModule module : modules) {
+            for (String dependency : module.getDependencies()) {
+                if (!byName.containsKey(dependency)) {
+                    throw new IllegalStateException("Scanner module " + module.getName() + " depends on unknown module " + dependency);
+                }
+                dependents.computeIfAbsent(dependency, name -> new ArrayList<>()).add(module);
+            }
+            pendingDependencies.put(module.getName(), module.getDependencies().size());
+            if (module.getDependencies().isEmpty()) {
+                ready.add(module);
+            }
+        }
+
+        List<ScannerModule> order = new ArrayList<>(modules.size());
+        while (!ready.isEmpty()) {
+            ScannerModule module = ready.poll();
+            order.add(module);
+            for (ScannerModule dependent : dependents.getOrDefault(module.getName(), List.of())) {
+                if (pendingDependencies.merge(dependent.getName(), -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (order.size() < modules.size()) {
+            List<String> cyclic = modules.stream().map(ScannerModule::getName)
+                .filter(name -> pendingDependencies.get(name) > 0)
+                .toList();
+            throw new IllegalStateException("Scanner module dependency cycle among " + cyclic);
+        }
+        return List.copyOf(order);
+    }
+
+    private enum ModuleStatus {
+        COMPLETED,
+        FAILED,
+        TIMED_OUT,
+        CANCELLED,
+        SKIPPED
+    }
+
+    private record ModuleOutcome(ModuleStatus status, ModuleResult result, String detail, long millis) {
+    }
+
+    /**
+     * One module within one scan; the outcome is completed exactly once
+     */
+    private static class ModuleRun {
+
+        private final ScannerModule module;
+        private final CompletableFuture<ModuleOutcome> outcome = new CompletableFuture<>();
+        private volatile Future<?> task;
+        private volatile boolean started;
+        private volatile long startNanos;
+
+        ModuleRun(ScannerModule module) {
+            this.module = module;
+        }
+
+        void started(long nanos) {
+            startNanos = nanos;
+            started = true;
+        }
+
+        boolean finish(ModuleStatus status, ModuleResult result, String detail) {
+            long millis = started ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) : 0;
+            return outcome.complete(new ModuleOutcome(status, result, detail, millis));
+        }
+
+        void cancel(ModuleStatus status, String detail) {
+            if (finish(status, null, detail)) {
+                Future<?> running = task;
+                if (running != null) {
+                    running.cancel(true);
+                }
+            }
+        }
+    }
+
+    private static class ModuleStats {
+
+        private final AtomicLong[] counts = new AtomicLong[ModuleStatus.values().length];
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        ModuleStats() {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new AtomicLong();
+            }
+        }
+
+        void record(ModuleOutcome outcome) {
+            counts[outcome.status().ordinal()].incrementAndGet();
+            if (outcome.status() != ModuleStatus.SKIPPED) {
+                totalMillis.addAndGet(outcome.millis());
+                maxMillis.accumulateAndGet(outcome.millis(), Math::max);
+            }
+        }
+
+        Map<String, Object> toMap() {
+            long ran = 0;
+            Map<String, Object> map = new HashMap<>();
+            for (ModuleStatus status : ModuleStatus.values()) {
+                long count = counts[status.ordinal()].get();
+                map.put(status.name().toLowerCase(Locale.ROOT), count);
+                if (status != ModuleStatus.SKIPPED) {
+                    ran += count;
+                }
+            }
+            map.put("avgMillis", ran == 0 ? 0 : totalMillis.get() / ran);
+            map.put("maxMillis", maxMillis.get());
+            return map;
+        }
+    }
+}
@@ -1,17 +1,38 @@
 package com.cyberrisk.service;
 
+import com.cyberrisk.dto.BatchScanResponse;
+import com.cyberrisk.dto.ComponentDto;
 import com.cyberrisk.dto.ScanRequest;
 import com.cyberrisk.dto.ScanResponse;
 import com.cyberrisk.dto.VulnerabilityDto;
 import com.cyberrisk.dto.RecommendationDto;
+import com.cyberrisk.dto.RiskStatistics;
+import com.cyberrisk.dto.ScanHistoryPage;
 import com.cyberrisk.model.*;
+import com.cyberrisk.repository.RiskLevelAggregate;
+import com.cyberrisk.repository.ScanBatchRepository;
 import com.cyberrisk.repository.ScanResultRepository;
+import jakarta.annotation.PostConstruct;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
 /**
  * Scan Service
@@ -27,25 +48,359 @@ public class ScanService {
     @Autowired
     private AnalysisService analysisService;
     
+    @Autowired
+    private ScanJobEngine scanJobEngine;
+    
+    @Autowired
+    private ScanBatchFeeder scanBatchFeeder;
+    
+    @Autowired
+    private ScanBatchRepository scanBatchRepository;
+    
+    @Autowired
+    private ScanEventPublisher scanEventPublisher;
+    
+    @Autowired
+    private InFlightScanRegistry inFlightScanRegistry;
+    
+    @Autowired
+    private RiskAggregateService riskAggregateService;
+    
+    @Autowired
+    private VulnerabilityCatalog vulnerabilityCatalog;
+    
+    @Autowired
+    private ScanOrchestrator scanOrchestrator;
+    
+    @Autowired
+    private DnsResolver dnsResolver;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${scan.batch.max-targets:5000}")
+    private int maxBatchTargets;
+    
+    @Value("${scan.coalescing.freshness-seconds:300}")
+    private long freshnessSeconds;
+    
+    @Value("${scan.history.default-page-size:20}")
+    private int defaultPageSize;
+    
+    @Value("${scan.history.max-page-size:100}")
+    private int maxPageSize;
+    
+    // Fixed detection seed for reproducible runs; unset draws a new seed per scan
+    @Value("${scan.detection.seed:#{null}}")
+    private Long detectionSeed;
+    
+    // Loads scans outside request transactions, e.g. on scan workers
+    private TransactionTemplate readOnlyTransaction;
+    
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+    
     /**
-     * Perform vulnerability scan
+     * Queue vulnerability scan
+     * 
+     * Persists a PENDING scan result and hands the scan to the job engine.
+     * Clients poll the returned scan ID for progress. A scan of the same
+     * target completed within the freshness window is reused instead, and a
+     * scan of a target that is already running attaches to that scan.
      */
     public ScanResponse performScan(ScanRequest scanRequest, User user) {
         // Create scan result
+        ScanResult scanResult = createScanResult(scanRequest, user);
+        
+        // Reuse a recent result for the same target
+        if (freshnessSeconds > 0) {
+            Optional<ScanResult> recentScan = readOnlyTransaction.execute(status -> scanResultRepository
+                .findFirstByTargetKeyAndStatusAndScanDateAfterOrderByScanDateDesc(
+                    scanResult.getTargetKey(), ScanStatus.COMPLETED, LocalDateTime.now().minusSeconds(freshnessSeconds))
+                .map(this::withFindings));
+            if (recentScan.isPresent()) {
+                copyScanOutcome(recentScan.get(), scanResult);
+                inFlightScanRegistry.recordReuse();
+                return convertToScanResponse(riskAggregateService.saveCompletedScan(scanResult));
+            }
+        }
+        
+        // Save initial scan result
+        ScanResult pendingScan = scanResultRepository.save(scanResult);
+        ScanResponse response = convertToScanResponse(pendingScan);
+        
+        try {
+            dispatchScan(pendingScan, scanRequest);
+        } catch (RejectedExecutionException e) {
+            pendingScan.setStatus(ScanStatus.FAILED);
+            scanResultRepository.save(pendingScan);
+            throw e;
+        }
+        
+        return response;
+    }
+    
+    /**
+     * Queue vulnerability scans for a list of targets
+     * 
+     * All scan results are inserted in one JDBC batch and handed to the batch
+     * feeder, which passes them to the scan workers as they free up.
+     * 
+     * @throws RejectedExecutionException if the feeder has no room for the batch; nothing is persisted then
+     */
+    public BatchScanResponse performBatchScan(List<ScanRequest> scanRequests, User user) {
+        if (scanRequests.size() > maxBatchTargets || scanRequests.size() > scanBatchFeeder.getQueueCapacity()) {
+            throw new IllegalArgumentException("Batch exceeds the limit of "
+                + Math.min(maxBatchTargets, scanBatchFeeder.getQueueCapacity()) + " targets");
+        }
+        if (!scanBatchFeeder.reserve(scanRequests.size())) {
+            throw new RejectedExecutionException("Batch queue is full");
+        }
+        
+        int queued = 0;
+        try {
+            ScanBatch batch = scanBatchRepository.save(new ScanBatch(user, scanRequests.size()));
+            
+            List<ScanResult> scanResults = new ArrayList<>(scanRequests.size());
+            for (ScanRequest scanRequest : scanRequests) {
+                ScanResult scanResult = createScanResult(scanRequest, user);
+                scanResult.setBatchId(batch.getId());
+                scanResults.add(scanResult);
+            }
+            List<ScanResult> pendingScans = scanResultRepository.saveAll(scanResults);
+            
+            // Resolve each distinct domain once while the scans wait for workers
+            scanRequests.stream()
+                .map(ScanRequest::getTargetDomain)
+                .filter(ScanService::hasText)
+                .distinct()
+                .forEach(dnsResolver::prefetch);
+            
+            for (int i = 0; i < pendingScans.size(); i++) {
+                if (queueBatchScan(pendingScans.get(i), scanRequests.get(i))) {
+                    queued++;
+                }
+            }
+            
+            BatchScanResponse response = new BatchScanResponse(batch.getId().toString(), batch.getTotalTargets(), batch.getCreatedAt());
+            Map<ScanStatus, Long> progress = emptyProgress();
+            progress.put(ScanStatus.PENDING, (long) pendingScans.size());
+            response.setProgress(progress);
+            return response;
+        } finally {
+            // Scans that attached to a running scan of the same target need no slot
+            scanBatchFeeder.release(scanRequests.size() - queued);
+        }
+    }
+    
+    /**
+     * Create an unsaved scan result for a scan request
+     */
+    private ScanResult createScanResult(ScanRequest scanRequest, User user) {
         ScanResult scanResult = new ScanResult(user, scanRequest.getOrganizationName(), scanRequest.getTargetDomain());
         scanResult.setTargetIp(scanRequest.getTargetIp());
-        scanResult.setStatus(ScanStatus.IN_PROGRESS);
+        scanResult.setScanType(scanRequest.getScanType());
+        scanResult.setTargetKey(buildTargetKey(scanRequest));
+        scanResult.setStatus(ScanStatus.PENDING);
+        return scanResult;
+    }
+    
+    /**
+     * Build the coalescing key of a scan request
+     * 
+     * The organization and the component inventory are part of the key because findings depend on them.
+     */
+    private String buildTargetKey(ScanRequest scanRequest) {
+        String domain = normalizeKeyPart(scanRequest.getTargetDomain());
+        if (domain.endsWith(".")) {
+            domain = domain.substring(0, domain.length() - 1);
+        }
+        String key = normalizeKeyPart(scanRequest.getOrganizationName()) + "|"
+            + normalizeKeyPart(scanRequest.getScanType()) + "|"
+            + domain + "|"
+            + normalizeKeyPart(scanRequest.getTargetIp());
+        if (scanRequest.hasComponents()) {
+            key += "|" + inventoryDigest(scanRequest.getComponents());
+        }
+        return key;
+    }
+    
+    /**
+     * Digest of a component inventory, independent of the order of its entries
+     */
+    private String inventoryDigest(List<ComponentDto> components) {
+        List<String> entries = new ArrayList<>(components.size());
+        for (ComponentDto component : components) {
+            entries.add(normalizeKeyPart(component.getVendor()) + ":" + normalizeKeyPart(component.getName())
+                + ":" + normalizeKeyPart(component.getVersion()));
+        }
+        Collections.sort(entries);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String entry : entries) {
+                digest.update(entry.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private String normalizeKeyPart(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Submit a saved scan to the job engine, or attach it to a running scan of the same target
+     * 
+     * @throws RejectedExecutionException if the scan had to run and the engine is at capacity
+     */
+    private void dispatchScan(ScanResult pendingScan, ScanRequest scanRequest) {
+        if (!inFlightScanRegistry.joinOrLead(pendingScan.getTargetKey(), pendingScan)) {
+            return;
+        }
         
-        // Save initial scan result
-        scanResult = scanResultRepository.save(scanResult);
+        try {
+            scanJobEngine.submit(() -> executeScan(pendingScan, scanRequest));
+        } catch (RejectedExecutionException e) {
+            failFollowers(pendingScan);
+            throw e;
+        }
+    }
+    
+    /**
+     * Hand a saved batch scan to the batch feeder, or attach it to a running scan of the same target
+     * 
+     * @return true if the scan was queued on a reserved feeder slot
+     */
+    private boolean queueBatchScan(ScanResult pendingScan, ScanRequest scanRequest) {
+        if (!inFlightScanRegistry.joinOrLead(pendingScan.getTargetKey(), pendingScan)) {
+            return false;
+        }
+        
+        scanBatchFeeder.enqueue(pendingScan, () -> executeScan(pendingScan, scanRequest), () -> {
+            failFollowers(pendingScan);
+            scanResultRepository.updateStatusByIdIn(List.of(pendingScan.getId()), ScanStatus.FAILED);
+        });
+        return true;
+    }
+    
+    /**
+     * Fail the scans that attached to a scan the engine did not take
+     */
+    private void failFollowers(ScanResult leader) {
+        List<Long> followerIds = inFlightScanRegistry.finish(leader.getTargetKey(), leader.getId())
+            .stream()
+            .map(ScanResult::getId)
+            .toList();
+        if (!followerIds.isEmpty()) {
+            scanResultRepository.updateStatusByIdIn(followerIds, ScanStatus.FAILED);
+        }
+    }
+    
+    /**
+     * Copy the outcome of a scan onto another scan result of the same target
+     */
+    private void copyScanOutcome(ScanResult source, ScanResult target) {
+        target.setStatus(source.getStatus());
+        target.setRiskScore(source.getRiskScore());
+        target.setScanSummary(source.getScanSummary());
+        target.setVulnerabilities(source.getVulnerabilities().stream()
+            .map(Vulnerability::new)
+            .collect(Collectors.toCollection(ArrayList::new)));
+        target.setRecommendations(source.getRecommendations().stream()
+            .map(Recommendation::new)
+            .collect(Collectors.toCollection(ArrayList::new)));
+        
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("sourceScanId", source.getId().toString());
+        target.setScanMetadata(metadata);
+    }
+    
+    /**
+     * Hand the leader's outcome to every scan that attached to it
+     */
+    private void completeFollowers(ScanResult leader) {
+        List<ScanResult> followers = inFlightScanRegistry.finish(leader.getTargetKey(), leader.getId());
+        if (followers.isEmpty()) {
+            return;
+        }
+        
+        // The leader is detached; reload it if its findings were never loaded
+        ScanResult outcome = leader;
+        if (!Hibernate.isInitialized(leader.getVulnerabilities()) || !Hibernate.isInitialized(leader.getRecommendations())) {
+            outcome = readOnlyTransaction.execute(status -> scanResultRepository.findById(leader.getId())
+                .map(this::withFindings)
+                .orElse(leader));
+        }
+        
+        for (ScanResult follower : followers) {
+            copyScanOutcome(outcome, follower);
+            scanEventPublisher.publishFinished(saveFinishedScan(follower));
+        }
+    }
+    
+    /**
+     * Get batch scan progress with per-target status
+     */
+    public BatchScanResponse getBatchScan(String batchId, User user) {
+        ScanBatch batch = scanBatchRepository.findById(Long.parseLong(batchId))
+            .orElseThrow(() -> new RuntimeException("Scan batch not found: " + batchId));
+        
+        if (!batch.getUser().getId().equals(user.getId()) && !user.isAdmin()) {
+            throw new AccessDeniedException("You can only view your own scan batches");
+        }
+        
+        BatchScanResponse response = new BatchScanResponse(batch.getId().toString(), batch.getTotalTargets(), batch.getCreatedAt());
+        
+        Map<ScanStatus, Long> progress = emptyProgress();
+        for (Object[] row : scanResultRepository.countByBatchIdGroupByStatus(batch.getId())) {
+            progress.put((ScanStatus) row[0], (Long) row[1]);
+        }
+        response.setProgress(progress);
         
-        // Simulate scan process (in real implementation, this would be async)
+        response.setTargets(scanResultRepository.findByBatchIdOrderByIdAsc(batch.getId()).stream()
+            .map(this::convertToScanSummary)
+            .toList());
+        
+        return response;
+    }
+    
+    /**
+     * Create a progress map with every status at zero
+     */
+    private Map<ScanStatus, Long> emptyProgress() {
+        Map<ScanStatus, Long> progress = new EnumMap<>(ScanStatus.class);
+        for (ScanStatus status : ScanStatus.values()) {
+            progress.put(status, 0L);
+        }
+        return progress;
+    }
+    
+    /**
+     * Execute vulnerability scan on a scan worker thread
+     */
+    void executeScan(ScanResult scanResult, ScanRequest scanRequest) {
+        Exception failure = null;
         try {
-            // Simulate scan delay
-            Thread.sleep(2000);
+            scanResult.setStatus(ScanStatus.IN_PROGRESS);
+            scanResult = scanResultRepository.save(scanResult);
+            scanEventPublisher.publishStatus(scanResult.getId(), ScanStatus.IN_PROGRESS);
             
-            // Generate simulated vulnerabilities
-            List<Vulnerability> vulnerabilities = generateSimulatedVulnerabilities(scanRequest);
+            // Run the scanner modules; the seed is kept so the rule findings can be reproduced
+            long seed = detectionSeed != null ? detectionSeed : ThreadLocalRandom.current().nextLong();
+            if (scanResult.getScanMetadata() == null) {
+                scanResult.setScanMetadata(new HashMap<>());
+            }
+            scanResult.getScanMetadata().put("detectionSeed", Long.toString(seed));
+            Long scanId = scanResult.getId();
+            List<Vulnerability> vulnerabilities = scanOrchestrator.run(new ScanContext(scanRequest, seed), scanResult.getScanMetadata(),
+                found -> found.forEach(vulnerability ->
+                    scanEventPublisher.publishVulnerability(scanId, convertToVulnerabilityDto(vulnerability))));
             scanResult.setVulnerabilities(vulnerabilities);
             
             // Perform risk analysis
@@ -63,164 +418,69 @@ public class ScanService {
             // Update status
             scanResult.setStatus(ScanStatus.COMPLETED);
             
-            // Save final result
-            scanResult = scanResultRepository.save(scanResult);
-            
-            // Convert to response DTO
-            return convertToScanResponse(scanResult);
-            
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            scanResult.setStatus(ScanStatus.CANCELLED);
         } catch (Exception e) {
             scanResult.setStatus(ScanStatus.FAILED);
-            scanResultRepository.save(scanResult);
-            throw new RuntimeException("Scan failed: " + e.getMessage());
+            failure = e;
+        }
+        
+        // Save final result and release any duplicate requests waiting on it
+        try {
+            scanResult = saveFinishedScan(scanResult);
+            scanEventPublisher.publishFinished(scanResult);
+        } finally {
+            completeFollowers(scanResult);
+        }
+        
+        if (failure != null) {
+            throw new RuntimeException("Scan failed: " + failure.getMessage(), failure);
         }
     }
     
     /**
-     * Generate simulated vulnerabilities for demo purposes
+     * Save a scan that reached a final status, updating risk aggregates for completed scans
      */
-    private List<Vulnerability> generateSimulatedVulnerabilities(ScanRequest scanRequest) {
-        List<Vulnerability> vulnerabilities = new ArrayList<>();
-        Random random = new Random();
-        
-        // Simulate different types of vulnerabilities based on organization
-        String orgName = scanRequest.getOrganizationName().toLowerCase();
-        
-        // Common vulnerabilities
-        if (random.nextBoolean()) {
-            vulnerabilities.add(createVulnerability(
-                "Weak Password Policy",
-                "Organization uses weak password requirements (minimum 6 characters, no complexity requirements)",
-                Severity.HIGH,
-                "Authentication",
-                "CVE-2023-0001",
-                "User Management System",
-                "Implement strong password policy with minimum 12 characters, complexity requirements, and regular rotation",
-                7.5,
-                true
-            ));
-        }
-        
-        if (random.nextBoolean()) {
-            vulnerabilities.add(createVulnerability(
-                "Missing Multi-Factor Authentication",
-                "Critical systems lack multi-factor authentication, increasing risk of unauthorized access",
-                Severity.CRITICAL,
-                "Authentication",
-                "CVE-2023-0002",
-                "Authentication System",
-                "Enable MFA for all user accounts, especially administrative and privileged accounts",
-                9.2,
-                true
-            ));
-        }
-        
-        if (random.nextBoolean()) {
-            vulnerabilities.add(createVulnerability(
-                "Outdated Software Components",
-                "Multiple software components are running outdated versions with known security vulnerabilities",
-                Severity.HIGH,
-                "Software",
-                "CVE-2023-0003",
-                "Web Application",
-                "Update all software components to latest stable versions and implement automated patch management",
-                8.1,
-                true
-            ));
-        }
-        
-        if (random.nextBoolean()) {
-            vulnerabilities.add(createVulnerability(
-                "Unencrypted Data Transmission",
-                "Sensitive data is transmitted over unencrypted channels (HTTP instead of HTTPS)",
-                Severity.MEDIUM,
-                "Network",
-                "CVE-2023-0004",
-                "Web Server",
-                "Implement SSL/TLS encryption for all data transmission and enforce HTTPS",
-                6.3,
-                false
-            ));
-        }
-        
-        if (random.nextBoolean()) {
-            vulnerabilities.add(createVulnerability(
-                "Insufficient Access Controls",
-                "User permissions are overly permissive, allowing access to resources beyond job requirements",
-                Severity.MEDIUM,
-                "Authorization",
-                "CVE-2023-0005",
-                "Access Control System",
-                "Implement principle of least privilege and regular access reviews",
-                5.8,
-                false
-            ));
-        }
-        
-        // Add organization-specific vulnerabilities
-        if (orgName.contains("tech") || orgName.contains("software")) {
-            vulnerabilities.add(createVulnerability(
-                "Insecure API Endpoints",
-                "API endpoints lack proper authentication and rate limiting",
-                Severity.HIGH,
-                "API Security",
-                "CVE-2023-0006",
-                "API Gateway",
-                "Implement API authentication, rate limiting, and input validation",
-                7.8,
-                true
-            ));
-        }
-        
-        if (orgName.contains("bank") || orgName.contains("financial")) {
-            vulnerabilities.add(createVulnerability(
-                "PCI DSS Compliance Issues",
-                "Payment card data handling does not meet PCI DSS requirements",
-                Severity.CRITICAL,
-                "Compliance",
-                "CVE-2023-0007",
-                "Payment System",
-                "Implement PCI DSS compliant data handling and encryption",
-                9.5,
-                true
-            ));
-        }
-        
-        if (orgName.contains("health") || orgName.contains("medical")) {
-            vulnerabilities.add(createVulnerability(
-                "HIPAA Compliance Violations",
-                "Protected health information (PHI) is not properly secured according to HIPAA requirements",
-                Severity.CRITICAL,
-                "Compliance",
-                "CVE-2023-0008",
-                "Health Records System",
-                "Implement HIPAA compliant data protection and access controls",
-                9.8,
-                true
-            ));
-        }
-        
-        return vulnerabilities;
+    private ScanResult saveFinishedScan(ScanResult scanResult) {
+        if (scanResult.isCompleted()) {
+            return riskAggregateService.saveCompletedScan(scanResult);
+        }
+        return scanResultRepository.save(scanResult);
     }
     
     /**
-     * Create vulnerability object
+     * Subscribe to server-sent progress events of a scan
+     * 
+     * Scans that already finished get their final event straight away.
+     * 
+     * @throws AccessDeniedException if the scan belongs to another user and the user is not an admin
      */
-    private Vulnerability createVulnerability(String title, String description, Severity severity, 
-                                            String category, String cveId, String affectedSystem, 
-                                            String remediation, double cvssScore, boolean exploitable) {
-        Vulnerability vuln = new Vulnerability();
-        vuln.setId(UUID.randomUUID().toString());
-        vuln.setTitle(title);
-        vuln.setDescription(description);
-        vuln.setSeverity(severity);
-        vuln.setCategory(category);
-        vuln.setCveId(cveId);
-        vuln.setAffectedSystem(affectedSystem);
-        vuln.setRemediation(remediation);
-        vuln.setCvssScore(cvssScore);
-        vuln.setExploitable(exploitable);
-        return vuln;
+    public SseEmitter subscribeToScanEvents(String scanId, User user) {
+        Long id = Long.parseLong(scanId);
+        
+        Long ownerId = scanResultRepository.findOwnerIdById(id)
+            .orElseThrow(() -> new RuntimeException("Scan result not found: " + scanId));
+        if (!ownerId.equals(user.getId()) && !user.isAdmin()) {
+            throw new AccessDeniedException("You can only follow your own scans");
+        }
+        
+        // Subscribe before reading the status so a scan finishing in between is not missed
+        SseEmitter emitter = scanEventPublisher.subscribe(id);
+        ScanResult scanResult = scanResultRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Scan result not found: " + scanId));
+        
+        if (scanResult.isCompleted() || scanResult.isFailed() || scanResult.getStatus() == ScanStatus.CANCELLED) {
+            scanEventPublisher.publishFinished(scanResult);
+        } else {
+            scanEventPublisher.publishStatus(id, scanResult.getStatus());
+        }
+        
+        return emitter;
+    }
+    
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
     }
     
     /**
@@ -263,6 +523,28 @@ public class ScanService {
      * Convert ScanResult to ScanResponse DTO
      */
     private ScanResponse convertToScanResponse(ScanResult scanResult) {
+        ScanResponse response = convertToScanSummary(scanResult);
+        
+        // Convert vulnerabilities, attaching the shared definitions to loaded findings
+        vulnerabilityCatalog.resolve(scanResult.getVulnerabilities());
+        List<VulnerabilityDto> vulnerabilityDtos = scanResult.getVulnerabilities().stream()
+            .map(this::convertToVulnerabilityDto)
+            .toList();
+        response.setVulnerabilities(vulnerabilityDtos);
+        
+        // Convert recommendations
+        List<RecommendationDto> recommendationDtos = scanResult.getRecommendations().stream()
+            .map(this::convertToRecommendationDto)
+            .toList();
+        response.setRecommendations(recommendationDtos);
+        
+        return response;
+    }
+    
+    /**
+     * Convert ScanResult to ScanResponse DTO without vulnerabilities and recommendations
+     */
+    private ScanResponse convertToScanSummary(ScanResult scanResult) {
         ScanResponse response = new ScanResponse(
             scanResult.getId().toString(),
             scanResult.getOrganizationName(),
@@ -276,18 +558,6 @@ public class ScanService {
         response.setTargetIp(scanResult.getTargetIp());
         response.setScanSummary(scanResult.getScanSummary());
         
-        // Convert vulnerabilities
-        List<VulnerabilityDto> vulnerabilityDtos = scanResult.getVulnerabilities().stream()
-            .map(this::convertToVulnerabilityDto)
-            .toList();
-        response.setVulnerabilities(vulnerabilityDtos);
-        
-        // Convert recommendations
-        List<RecommendationDto> recommendationDtos = scanResult.getRecommendations().stream()
-            .map(this::convertToRecommendationDto)
-            .toList();
-        response.setRecommendations(recommendationDtos);
-        
         return response;
     }
     
@@ -305,6 +575,7 @@ public class ScanService {
         dto.setAffectedSystem(vulnerability.getAffectedSystem());
         dto.setRemediation(vulnerability.getRemediation());
         dto.setCvssScore(vulnerability.getCvssScore());
+        dto.setCvssVector(vulnerability.getCvssVector());
         dto.setExploitable(vulnerability.isExploitable());
         return dto;
     }
@@ -330,20 +601,156 @@ public class ScanService {
     /**
      * Get scan result by ID
      */
+    @Transactional(readOnly = true)
     public ScanResponse getScanResult(String scanId) {
         ScanResult scanResult = scanResultRepository.findById(Long.parseLong(scanId))
             .orElseThrow(() -> new RuntimeException("Scan result not found: " + scanId));
         
+        loadFindings(List.of(scanResult));
         return convertToScanResponse(scanResult);
     }
     
     /**
      * Get scan results by user
+     * 
+     * Uses a fixed number of queries regardless of history size: one for the
+     * scans and one per collection, keyed by the scan IDs.
      */
+    @Transactional(readOnly = true)
     public List<ScanResponse> getScanResultsByUser(User user) {
-        List<ScanResult> scanResults = scanResultRepository.findByUser(user);
+        List<ScanResult> scanResults = scanResultRepository.findByUserOrderByScanDateAscIdAsc(user);
+        loadFindings(scanResults);
         return scanResults.stream()
             .map(this::convertToScanResponse)
             .toList();
     }
+    
+    /**
+     * Get one page of a user's scan history, newest first
+     * 
+     * Keyset pagination on (scanDate, id): each page is a single index range
+     * scan no matter how deep the client pages. Vulnerabilities and
+     * recommendations are only loaded when includeFindings is set.
+     */
+    @Transactional(readOnly = true)
+    public ScanHistoryPage getScanHistoryPage(Long userId, String cursor, Integer limit, boolean includeFindings) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        
+        // Fetch one extra row to learn whether another page exists
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<ScanResult> scanResults;
+        if (cursor == null || cursor.isBlank()) {
+            scanResults = scanResultRepository.findPageByUserId(userId, pageable);
+        } else {
+            HistoryCursor position = decodeCursor(cursor);
+            scanResults = scanResultRepository.findPageByUserIdAfter(userId, position.scanDate(), position.id(), pageable);
+        }
+        
+        boolean hasMore = scanResults.size() > pageSize;
+        if (hasMore) {
+            scanResults = scanResults.subList(0, pageSize);
+        }
+        
+        List<ScanResponse> items;
+        if (includeFindings) {
+            loadFindings(scanResults);
+            items = scanResults.stream().map(this::convertToScanResponse).toList();
+        } else {
+            items = scanResults.stream().map(this::convertToScanSummary).toList();
+        }
+        
+        String nextCursor = hasMore ? encodeCursor(scanResults.get(scanResults.size() - 1)) : null;
+        return new ScanHistoryPage(items, nextCursor, hasMore, pageSize);
+    }
+    
+    /**
+     * Get risk statistics over a user's completed scans
+     * 
+     * Computed from one GROUP BY query, so cost does not grow with the
+     * number of scan rows loaded into memory.
+     */
+    public RiskStatistics getRiskStatistics(Long userId) {
+        long totalScans = 0;
+        long scoreSum = 0;
+        int highestScore = Integer.MIN_VALUE;
+        int lowestScore = Integer.MAX_VALUE;
+        Map<String, Long> distribution = new HashMap<>();
+        
+        for (RiskLevelAggregate aggregate : scanResultRepository.aggregateRiskByUserId(userId, ScanStatus.COMPLETED)) {
+            totalScans += aggregate.getScanCount();
+            scoreSum += aggregate.getScoreSum();
+            highestScore = Math.max(highestScore, aggregate.getMaxScore());
+            lowestScore = Math.min(lowestScore, aggregate.getMinScore());
+            distribution.put(aggregate.getRiskLevel().getDisplayName(), aggregate.getScanCount());
+        }
+        
+        if (totalScans == 0) {
+            return new RiskStatistics(0, 0, 0, 0, distribution);
+        }
+        return new RiskStatistics(totalScans, (double) scoreSum / totalScans, highestScore, lowestScore, distribution);
+    }
+    
+    /**
+     * Get a user's latest completed scan with vulnerabilities and recommendations
+     */
+    @Transactional(readOnly = true)
+    public Optional<ScanResponse> getLatestCompletedScan(Long userId) {
+        return scanResultRepository.findFirstByUserIdAndStatusOrderByScanDateDescIdDesc(userId, ScanStatus.COMPLETED)
+            .map(scanResult -> {
+                loadFindings(List.of(scanResult));
+                return convertToScanResponse(scanResult);
+            });
+    }
+    
+    /**
+     * Count scans of a user
+     */
+    public long countScansByUserId(Long userId) {
+        return scanResultRepository.countByUserId(userId);
+    }
+    
+    private String encodeCursor(ScanResult scanResult) {
+        String position = scanResult.getScanDate() + "|" + scanResult.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private HistoryCursor decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf('|');
+            return new HistoryCursor(
+                LocalDateTime.parse(position.substring(0, separator)),
+                Long.parseLong(position.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid history cursor");
+        }
+    }
+    
+    /**
+     * Position of the last scan of a history page
+     */
+    private record HistoryCursor(LocalDateTime scanDate, Long id) {}
+    
+    /**
+     * Initialize the findings of one managed scan result
+     */
+    private ScanResult withFindings(ScanResult scanResult) {
+        loadFindings(List.of(scanResult));
+        return scanResult;
+    }
+    
+    /**
+     * Initialize the vulnerability and recommendation collections of managed scan results
+     * 
+     * Both collections are batch fetched (see ScanResult), so initializing the
+     * first scan's collection loads those of up to a batch of other scans in
+     * the persistence context with one query per collection.
+     */
+    private void loadFindings(List<ScanResult> scanResults) {
+        for (ScanResult scanResult : scanResults) {
+            Hibernate.initialize(scanResult.getVulnerabilities());
+            Hibernate.initialize(scanResult.getRecommendations());
+        }
+    }
 }
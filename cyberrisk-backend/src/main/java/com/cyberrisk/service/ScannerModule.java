@@ -0,0 +1,100 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.Vulnerability;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Scanner Module
+ *
+ * One unit of work of a scan, such as the port sweep or the TLS inspection.
+ * Modules are Spring beans picked up by the scan orchestrator. Each one
+ * declares the target attributes it needs, the modules whose output it
+ * reads, a relative cost and a timeout; modules that do not depend on each
+ * other run in parallel.
+ */
+public interface ScannerModule {
+
+    /**
+     * Unique name, used for dependencies and in scan metadata keys
+     */
+    String getName();
+
+    /**
+     * Target attributes the module works on
+     *
+     * The module is skipped when the scan request has none of them; an empty set means it always runs.
+     */
+    Set<ScanInput> getInputs();
+
+    /**
+     * Names of the modules that must finish first because this module reads their output
+     */
+    default Set<String> getDependencies() {
+        return Set.of();
+    }
+
+    /**
+     * Whether the module is skipped when a dependency did not complete
+     *
+     * Modules that also work without their dependencies' output return false and run regardless.
+     */
+    default boolean requiresCompletedDependencies() {
+        return true;
+    }
+
+    /**
+     * Relative cost; of the modules that can start together the most expensive are started first
+     */
+    int getCostEstimate();
+
+    /**
+     * Time the module may take once started before it is cancelled
+     */
+    Duration getTimeout();
+
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Whether the findings are estimates that give way to measured findings
+     *
+     * Findings of a fallback module are dropped when another module reports their rule as superseded.
+     */
+    default boolean isFallback() {
+        return false;
+    }
+
+    /**
+     * Scan a target
+     *
+     * Runs on an orchestrator thread, which is interrupted when the module
+     * overruns its timeout or the scan deadline.
+     */
+    ModuleResult scan(ScanContext context) throws InterruptedException;
+
+    /**
+     * Target attributes a module can declare as inputs
+     */
+    enum ScanInput {
+        TARGET_IP,
+        TARGET_DOMAIN,
+        COMPONENTS
+    }
+
+    /**
+     * Findings and metadata of one module run
+     *
+     * Superseded rules are the fallback rule IDs the module measured conclusively.
+     */
+    record ModuleResult(List<Vulnerability> vulnerabilities, Map<String, String> metadata, Set<String> supersededRules) {
+
+        public static ModuleResult empty() {
+            return new ModuleResult(List.of(), Map.of(), Set.of());
+        }
+    }
+}
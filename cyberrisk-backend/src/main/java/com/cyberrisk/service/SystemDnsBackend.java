@@ -0,0 +1,21 @@
+package com.cyberrisk.service;
+
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+
+/**
+ * System DNS Backend
+ *
+ * Resolves names through the JVM's resolver (InetAddress).
+ */
+@Component
+public class SystemDnsBackend implements DnsBackend {
+
+    @Override
+    public List<InetAddress> lookup(String host) throws UnknownHostException {
+        return List.of(InetAddress.getAllByName(host));
+    }
+}
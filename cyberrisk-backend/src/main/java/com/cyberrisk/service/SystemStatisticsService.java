@@ -0,0 +1,118 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.RiskLevel;
+import com.cyberrisk.model.Role;
+import com.cyberrisk.repository.ScanResultRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * System Statistics Service
+ * 
+ * Computes the admin dashboard statistics with a single grouped query and
+ * keeps the result as a short-lived snapshot, so repeated page views within
+ * the TTL cost no database round trips.
+ */
+@Service
+public class SystemStatisticsService {
+    
+    private static final String ROLE_ROW = "ROLE";
+    
+    @Autowired
+    private ScanResultRepository scanResultRepository;
+    
+    @Value("${admin.stats.cache-ttl-seconds:10}")
+    private long cacheTtlSeconds;
+    
+    private volatile Snapshot snapshot;
+    
+    /**
+     * Get system statistics, recomputing them when the cached snapshot has expired
+     * 
+     * The returned map carries computedAt and ageSeconds so callers can see how stale it is.
+     */
+    public Map<String, Object> getSystemStats() {
+        Snapshot current = snapshot;
+        if (current == null || current.isExpired(cacheTtlSeconds)) {
+            current = refresh();
+        }
+        
+        Map<String, Object> stats = new HashMap<>(current.stats);
+        stats.put("computedAt", LocalDateTime.ofInstant(current.computedAt, ZoneId.systemDefault()));
+        stats.put("ageSeconds", Duration.between(current.computedAt, Instant.now()).toSeconds());
+        stats.put("cacheTtlSeconds", cacheTtlSeconds);
+        return stats;
+    }
+    
+    /**
+     * Recompute the snapshot; concurrent callers wait for one refresh instead of each querying
+     */
+    private synchronized Snapshot refresh() {
+        Snapshot current = snapshot;
+        if (current != null && !current.isExpired(cacheTtlSeconds)) {
+            return current;
+        }
+        
+        Map<Role, Long> usersByRole = new EnumMap<>(Role.class);
+        Map<RiskLevel, Long> scansByRiskLevel = new EnumMap<>(RiskLevel.class);
+        long totalUsers = 0;
+        long totalScans = 0;
+        long scoredScans = 0;
+        long scoreSum = 0;
+        
+        for (Object[] row : scanResultRepository.aggregateSystemStatistics()) {
+            String kind = (String) row[0];
+            Number bucket = (Number) row[1];
+            long count = ((Number) row[2]).longValue();
+            long sum = ((Number) row[3]).longValue();
+            
+            if (ROLE_ROW.equals(kind)) {
+                totalUsers += count;
+                if (bucket != null) {
+                    usersByRole.put(Role.values()[bucket.intValue()], count);
+                }
+            } else {
+                totalScans += count;
+                // Scans without a risk level have not been scored yet
+                if (bucket != null) {
+                    scansByRiskLevel.put(RiskLevel.values()[bucket.intValue()], count);
+                    scoredScans += count;
+                    scoreSum += sum;
+                }
+            }
+        }
+        
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalUsers", totalUsers);
+        stats.put("adminUsers", usersByRole.getOrDefault(Role.ADMIN, 0L));
+        stats.put("regularUsers", usersByRole.getOrDefault(Role.USER, 0L));
+        stats.put("totalScans", totalScans);
+        stats.put("criticalRiskScans", scansByRiskLevel.getOrDefault(RiskLevel.CRITICAL, 0L));
+        stats.put("highRiskScans", scansByRiskLevel.getOrDefault(RiskLevel.HIGH, 0L));
+        stats.put("mediumRiskScans", scansByRiskLevel.getOrDefault(RiskLevel.MEDIUM, 0L));
+        stats.put("lowRiskScans", scansByRiskLevel.getOrDefault(RiskLevel.LOW, 0L));
+        stats.put("averageRiskScore", scoredScans > 0 ? Math.round((double) scoreSum / scoredScans) : 0);
+        
+        snapshot = new Snapshot(stats, Instant.now());
+        return snapshot;
+    }
+    
+    /**
+     * Statistics computed at a point in time
+     */
+    private record Snapshot(Map<String, Object> stats, Instant computedAt) {
+        
+        boolean isExpired(long ttlSeconds) {
+            return Instant.now().isAfter(computedAt.plusSeconds(ttlSeconds));
+        }
+    }
+}
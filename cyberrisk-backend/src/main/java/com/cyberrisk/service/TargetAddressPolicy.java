@@ -0,0 +1,113 @@
+package com.cyberrisk.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Target Address Policy
+ *
+ * Decides which resolved addresses the scanner may connect to. Scan targets
+ * are user input, so loopback, private (site-local and IPv6 unique local),
+ * link-local, unspecified and multicast addresses are refused: otherwise a
+ * scan could probe the server itself or its internal network. Networks
+ * listed in allowed-networks (CIDR, or a single address) are permitted
+ * regardless, for deployments that scan their own private ranges.
+ */
+@Component
+public class TargetAddressPolicy {
+
+    @Value("${scan.target.allowed-networks:}")
+    private String allowedNetworks;
+
+    private List<Network> allowed = List.of();
+
+    @PostConstruct
+    public void init() {
+        allowed = parseNetworks(allowedNetworks);
+    }
+
+    /**
+     * Whether the scanner may connect to an address
+     */
+    public boolean isPermitted(InetAddress address) {
+        for (Network network : allowed) {
+            if (network.contains(address)) {
+                return true;
+            }
+        }
+        return !isInternal(address);
+    }
+
+    /**
+     * Whether every address is permitted; a name is only safe to connect to when all of its addresses are
+     */
+    public boolean arePermitted(List<InetAddress> addresses) {
+        return addresses.stream().allMatch(this::isPermitted);
+    }
+
+    static boolean isInternal(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+            || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return true;
+        }
+        byte[] bytes = address.getAddress();
+        // IPv6 unique local addresses (fc00::/7) and IPv4 "this network" (0.0.0.0/8)
+        return bytes.length == 16 ? (bytes[0] & 0xfe) == 0xfc : bytes[0] == 0;
+    }
+
+    /**
+     * Parse a network list such as "10.20.0.0/16, 192.168.1.5, fd00::/8"
+     */
+    static List<Network> parseNetworks(String networkList) {
+        List<Network> networks = new ArrayList<>();
+        if (networkList == null) {
+            return networks;
+        }
+        for (String part : networkList.split(",")) {
+            String entry = part.trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            int slash = entry.indexOf('/');
+            String host = slash < 0 ? entry : entry.substring(0, slash);
+            InetAddress parsed = IpLiteral.parse(host.trim());
+            if (parsed == null) {
+                throw new IllegalArgumentException("Allowed network is not an IP address: " + entry);
+            }
+            byte[] address = parsed.getAddress();
+            int prefixLength = slash < 0 ? address.length * 8 : Integer.parseInt(entry.substring(slash + 1).trim());
+            if (prefixLength < 0 || prefixLength > address.length * 8) {
+                throw new IllegalArgumentException("Invalid prefix length: " + entry);
+            }
+            networks.add(new Network(address, prefixLength));
+        }
+        return List.copyOf(networks);
+    }
+
+    record Network(byte[] address, int prefixLength) {
+
+        boolean contains(InetAddress candidate) {
+            byte[] bytes = candidate.getAddress();
+            if (bytes.length != address.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (bytes[i] != address[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xff << (8 - remainingBits);
+            return (bytes[fullBytes] & mask) == (address[fullBytes] & mask);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.Severity;
+import com.cyberrisk.model.Vulnerability;
+import com.cyberrisk.model.VulnerabilityDefinition;
+import com.cyberrisk.service.ScannerModule.ModuleResult;
+import com.cyberrisk.service.ScannerModule.ScanInput;
+import com.cyberrisk.service.TlsInspector.TlsInspection;
+import com.cyberrisk.service.TlsInspector.TlsStatus;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * TLS Configuration Detector
+ *
+ * Inspects the TLS endpoints of a scan target and turns weak protocols,
+ * weak cipher suites and certificate problems into findings. Endpoints
+ * that accept connections but do not speak TLS are reported as unencrypted
+ * transmission, replacing the probabilistic rule of the same name.
+ *
+ * As the "tls" scanner module it runs after the network module so open
+ * TLS ports found by the sweep are inspected too.
+ */
+@Component
+public class TlsConfigurationDetector implements ScannerModule {
+
+    // Probabilistic rule that a conclusive TLS inspection replaces
+    public static final String SUPERSEDED_RULE_ID = "NET-UNENCRYPTED-TRANSMISSION";
+
+    // Ports that carry TLS from the first byte
+    private static final Set<Integer> TLS_PORTS = Set.of(443, 465, 636, 853, 993, 995, 8443);
+
+    private static final List<String> WEAK_CIPHER_MARKERS = List.of("_NULL_", "_ANON_", "_EXPORT_", "_RC4_", "_DES_", "_3DES_");
+
+    private static final VulnerabilityDefinition WEAK_PROTOCOL = new VulnerabilityDefinition(
+        "TLS-WEAK-PROTOCOL",
+        "Outdated TLS Protocol Version",
+        "The server negotiates or accepts TLS 1.0 or 1.1, which lack modern cipher suites and are deprecated (RFC 8996)",
+        Severity.HIGH, "Network", null, "TLS Endpoints",
+        "Disable TLS 1.0 and 1.1 and allow only TLS 1.2 and 1.3",
+        7.4, false);
+
+    private static final VulnerabilityDefinition WEAK_CIPHER = new VulnerabilityDefinition(
+        "TLS-WEAK-CIPHER",
+        "Weak TLS Cipher Suite",
+        "The server negotiated a cipher suite without forward secrecy or with a broken algorithm (NULL, anonymous, export, RC4, DES)",
+        Severity.MEDIUM, "Network", null, "TLS Endpoints",
+        "Restrict the server to AEAD cipher suites with ECDHE key exchange",
+        5.9, false);
+
+    private static final VulnerabilityDefinition CERTIFICATE_EXPIRED = new VulnerabilityDefinition(
+        "TLS-CERT-EXPIRED",
+        "Expired TLS Certificate",
+        "The server certificate has expired, so clients cannot authenticate the server",
+        Severity.HIGH, "Network", null, "TLS Endpoints",
+        "Renew the certificate and automate renewal before expiry",
+        7.5, false);
+
+    private static final VulnerabilityDefinition CERTIFICATE_EXPIRING = new VulnerabilityDefinition(
+        "TLS-CERT-EXPIRING",
+        "TLS Certificate Expiring Soon",
+        "The server certificate expires within the warning window",
+        Severity.LOW, "Network", null, "TLS Endpoints",
+        "Renew the certificate and automate renewal before expiry",
+        3.1, false);
+
+    private static final VulnerabilityDefinition CERTIFICATE_UNTRUSTED = new VulnerabilityDefinition(
+        "TLS-CERT-UNTRUSTED",
+        "Untrusted TLS Certificate",
+        "The certificate chain does not validate: it is self-signed, issued by an unknown authority or does not match the host name",
+        Severity.MEDIUM, "Network", null, "TLS Endpoints",
+        "Install a certificate issued by a public CA for the served host names, including the full intermediate chain",
+        6.5, false);
+
+    @Autowired
+    private TlsInspector tlsInspector;
+
+    @Autowired
+    private VulnerabilityCatalog vulnerabilityCatalog;
+
+    @Value("${scan.tls.enabled:true}")
+    private boolean enabled;
+
+    @Value("${scan.tls.ports:443}")
+    private String portList;
+
+    @Value("${scan.tls.expiry-warning-days:30}")
+    private long expiryWarningDays;
+
+    @Value("${scan.tls.module-timeout-ms:20000}")
+    private long moduleTimeoutMs;
+
+    private List<Integer> defaultPorts;
+
+    @PostConstruct
+    public void init() {
+        defaultPorts = NetworkExposureDetector.parsePorts(portList);
+        vulnerabilityCatalog.registerAll(List.of(
+            WEAK_PROTOCOL, WEAK_CIPHER, CERTIFICATE_EXPIRED, CERTIFICATE_EXPIRING, CERTIFICATE_UNTRUSTED));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String getName() {
+        return "tls";
+    }
+
+    @Override
+    public Set<ScanInput> getInputs() {
+        return Set.of(ScanInput.TARGET_DOMAIN, ScanInput.TARGET_IP);
+    }
+
+    @Override
+    public Set<String> getDependencies() {
+        return Set.of("network");
+    }
+
+    @Override
+    public int getCostEstimate() {
+        return 2 * defaultPorts.size();
+    }
+
+    @Override
+    public Duration getTimeout() {
+        return Duration.ofMillis(moduleTimeoutMs);
+    }
+
+    @Override
+    public ModuleResult scan(ScanContext context) throws InterruptedException {
+        TlsFindings tls = detect(context.getHost(), context.getOpenPorts());
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("tlsEndpointsInspected", Integer.toString(tls.inspections().size()));
+        metadata.put("tlsEndpoints", Long.toString(tls.tlsEndpoints()));
+        return new ModuleResult(tls.vulnerabilities(), metadata, tls.conclusive() ? Set.of(SUPERSEDED_RULE_ID) : Set.of());
+    }
+
+    /**
+     * Inspect the default TLS ports of a host plus any open ports known to carry TLS
+     */
+    public TlsFindings detect(String host, Collection<Integer> openPorts) throws InterruptedException {
+        Set<Integer> ports = new TreeSet<>(defaultPorts);
+        openPorts.stream().filter(TLS_PORTS::contains).forEach(ports::add);
+        List<TlsInspection> inspections = tlsInspector.inspectAll(host, List.copyOf(ports));
+
+        Map<VulnerabilityDefinition, List<String>> affected = new LinkedHashMap<>();
+        List<String> plaintextEndpoints = new ArrayList<>();
+        Instant now = Instant.now();
+        for (TlsInspection inspection : inspections) {
+            if (inspection.status() == TlsStatus.NOT_TLS) {
+                plaintextEndpoints.add(inspection.endpoint());
+                continue;
+            }
+            if (inspection.status() != TlsStatus.TLS) {
+                continue;
+            }
+            String endpoint = inspection.endpoint();
+            if (isLegacy(inspection.protocol()) || Boolean.TRUE.equals(inspection.legacyProtocolsAccepted())) {
+                affected.computeIfAbsent(WEAK_PROTOCOL, d -> new ArrayList<>()).add(endpoint);
+            }
+            if (isWeakCipher(inspection.cipherSuite())) {
+                affected.computeIfAbsent(WEAK_CIPHER, d -> new ArrayList<>()).add(endpoint);
+            }
+            if (inspection.notAfter() != null && inspection.notAfter().isBefore(now)) {
+                affected.computeIfAbsent(CERTIFICATE_EXPIRED, d -> new ArrayList<>()).add(endpoint);
+            } else if (inspection.notAfter() != null
+                    && inspection.notAfter().isBefore(now.plus(Duration.ofDays(expiryWarningDays)))) {
+                affected.computeIfAbsent(CERTIFICATE_EXPIRING, d -> new ArrayList<>()).add(endpoint);
+            }
+            if (inspection.selfSigned() || inspection.trustError() != null) {
+                affected.computeIfAbsent(CERTIFICATE_UNTRUSTED, d -> new ArrayList<>()).add(endpoint);
+            }
+        }
+
+        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        affected.forEach((definition, endpoints) -> vulnerabilities.add(finding(definition.getId(), endpoints)));
+
+        boolean anyTls = inspections.stream().anyMatch(inspection -> inspection.status() == TlsStatus.TLS);
+        if (!anyTls && !plaintextEndpoints.isEmpty()) {
+            vulnerabilities.add(finding(SUPERSEDED_RULE_ID, plaintextEndpoints));
+        }
+        // Without a reachable endpoint the inspection says nothing about encryption
+        boolean conclusive = anyTls || !plaintextEndpoints.isEmpty();
+        return new TlsFindings(inspections, vulnerabilities, conclusive);
+    }
+
+    private Vulnerability finding(String definitionId, List<String> endpoints) {
+        Vulnerability vulnerability = new Vulnerability(vulnerabilityCatalog.get(definitionId));
+        String affectedSystem = String.join(", ", endpoints);
+        vulnerability.setAffectedSystem(affectedSystem.length() > 200 ? affectedSystem.substring(0, 200) : affectedSystem);
+        return vulnerability;
+    }
+
+    private static boolean isLegacy(String protocol) {
+        return "TLSv1".equals(protocol) || "TLSv1.1".equals(protocol) || (protocol != null && protocol.startsWith("SSL"));
+    }
+
+    private static boolean isWeakCipher(String cipherSuite) {
+        if (cipherSuite == null) {
+            return false;
+        }
+        String suite = cipherSuite.toUpperCase(Locale.ROOT) + "_";
+        return WEAK_CIPHER_MARKERS.stream().anyMatch(suite::contains)
+            // RSA key exchange has no forward secrecy
+            || suite.startsWith("TLS_RSA_WITH_");
+    }
+
+    /**
+     * Outcome of inspecting one target
+     *
+     * Conclusive when at least one endpoint answered, TLS or not.
+     */
+    public record TlsFindings(List<TlsInspection> inspections, List<Vulnerability> vulnerabilities, boolean conclusive) {
+
+        public long tlsEndpoints() {
+            return inspections.stream().filter(inspection -> inspection.status() == TlsStatus.TLS).count();
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package com.cyberrisk.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SNIHostName;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLHandshakeException;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509ExtendedTrustManager;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TLS Inspector
+ *
+ * Performs TLS handshakes against host:port endpoints on a fixed pool of
+ * workers and records the negotiated protocol and cipher suite, the server
+ * certificate and whether the chain and host name validate against the
+ * default trust store. Validation problems are recorded instead of failing
+ * the handshake. A second handshake restricted to TLS 1.0/1.1 checks for
+ * legacy protocol support where the local JDK still allows those protocols.
+ *
+ * Results are cached per host:port for the cache TTL (failures for the
+ * shorter failure TTL), and concurrent requests for the same endpoint share
+ * one handshake, so repeated scans across organizations do not re-handshake.
+ * The cache holds at most cache-max-entries endpoints.
+ */
+@Component
+public class TlsInspector implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(TlsInspector.class);
+
+    private static final String[] LEGACY_PROTOCOLS = {"TLSv1", "TLSv1.1"};
+
+    @Autowired
+    private DnsResolver dnsResolver;
+
+    @Value("${scan.tls.workers:16}")
+    private int workers;
+
+    @Value("${scan.tls.timeout-ms:5000}")
+    private int timeoutMs;
+
+    @Value("${scan.tls.cache-ttl-seconds:3600}")
+    private long cacheTtlSeconds;
+
+    @Value("${scan.tls.failure-ttl-seconds:60}")
+    private long failureTtlSeconds;
+
+    @Value("${scan.tls.cache-max-entries:10000}")
+    private int cacheMaxEntries;
+
+    private ExecutorService handshakePool;
+    private CoalescingCache<String, TlsInspection> cache;
+    private X509ExtendedTrustManager defaultTrustManager;
+
+    private final AtomicLong handshakes = new AtomicLong();
+    private final AtomicLong handshakeFailures = new AtomicLong();
+    private final AtomicLong totalHandshakeMillis = new AtomicLong();
+
+    @PostConstruct
+    public void start() throws GeneralSecurityException {
+        TrustManagerFactory factory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        factory.init((KeyStore) null);
+        defaultTrustManager = Arrays.stream(factory.getTrustManagers())
+            .filter(X509ExtendedTrustManager.class::isInstance)
+            .map(X509ExtendedTrustManager.class::cast)
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("No X509 trust manager available"));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        handshakePool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "tls-inspector-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        cache = new CoalescingCache<>(cacheMaxEntries, handshakePool, (inspection, error) ->
+            TimeUnit.SECONDS.toMillis(inspection != null && inspection.status() == TlsStatus.TLS ? cacheTtlSeconds : failureTtlSeconds));
+    }
+
+    /**
+     * Inspect an endpoint, reusing a cached or in-flight inspection when there is one
+     */
+    public CompletableFuture<TlsInspection> inspect(String host, int port) {
+        String key = host.trim().toLowerCase(Locale.ROOT) + ":" + port;
+        return cache.get(key, () -> {
+            try {
+                return handshake(host.trim(), port);
+            } catch (RuntimeException e) {
+                return TlsInspection.failed(host, port, TlsStatus.UNREACHABLE, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Inspect several ports of a host concurrently and wait for all of them
+     *
+     * Endpoints that do not finish within four handshake timeouts (connect, handshake and the legacy
+     * protocol check) are left out.
+     */
+    public List<TlsInspection> inspectAll(String host, List<Integer> ports) throws InterruptedException {
+        List<CompletableFuture<TlsInspection>> futures = new ArrayList<>();
+        for (int port : ports) {
+            futures.add(inspect(host, port));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(4L * timeoutMs);
+        List<TlsInspection> inspections = new ArrayList<>();
+        for (CompletableFuture<TlsInspection> future : futures) {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                inspections.add(future.get(remaining, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException | ExecutionException e) {
+                log.debug("TLS inspection of {} did not complete: {}", host, e.getMessage());
+            }
+        }
+        return inspections;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "tls-inspector";
+    }
+
+    /**
+     * Get inspector statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        long count = handshakes.get();
+        stats.put("cachedEndpoints", cache.size());
+        stats.put("cacheHits", cache.hits() + cache.coalesced());
+        stats.put("evictions", cache.evictions());
+        stats.put("handshakes", count);
+        stats.put("handshakeFailures", handshakeFailures.get());
+        stats.put("avgHandshakeMillis", count == 0 ? 0 : totalHandshakeMillis.get() / count);
+        stats.put("workers", workers);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        handshakePool.shutdownNow();
+    }
+
+    private TlsInspection handshake(String host, int port) {
+        long start = System.nanoTime();
+        handshakes.incrementAndGet();
+        CapturingTrustManager trustManager = new CapturingTrustManager(defaultTrustManager);
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, new TrustManager[] {trustManager}, null);
+
+            TlsInspection inspection;
+            try (SSLSocket socket = connect(context, host, port, null)) {
+                try {
+                    socket.startHandshake();
+                } catch (IOException e) {
+                    handshakeFailures.incrementAndGet();
+                    return TlsInspection.failed(host, port, TlsStatus.NOT_TLS, e.getMessage());
+                }
+                SSLSession session = socket.getSession();
+                X509Certificate[] chain = trustManager.chain;
+                X509Certificate leaf = chain != null && chain.length > 0 ? chain[0] : null;
+                String trustError = trustManager.trustError;
+                Boolean legacyProtocolsAccepted = supportsLegacyProtocols(context, host, port);
+                inspection = new TlsInspection(
+                    host, port, TlsStatus.TLS,
+                    session.getProtocol(),
+                    session.getCipherSuite(),
+                    leaf != null ? leaf.getSubjectX500Principal().getName() : null,
+                    leaf != null ? leaf.getIssuerX500Principal().getName() : null,
+                    leaf != null ? leaf.getNotAfter().toInstant() : null,
+                    chain != null ? chain.length : 0,
+                    leaf != null && chain.length == 1 && leaf.getSubjectX500Principal().equals(leaf.getIssuerX500Principal()),
+                    trustError,
+                    legacyProtocolsAccepted,
+                    null,
+                    Instant.now()
+                );
+            }
+            return inspection;
+
+        } catch (IOException | GeneralSecurityException e) {
+            handshakeFailures.incrementAndGet();
+            return TlsInspection.failed(host, port, TlsStatus.UNREACHABLE, e.getMessage());
+        } finally {
+            totalHandshakeMillis.addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    private SSLSocket connect(SSLContext context, String host, int port, String[] protocols) throws IOException {
+        SSLSocket socket = (SSLSocket) context.getSocketFactory().createSocket();
+        try {
+            SSLParameters parameters = socket.getSSLParameters();
+            parameters.setEndpointIdentificationAlgorithm("HTTPS");
+            if (!IpLiteral.isLiteral(host)) {
+                parameters.setServerNames(List.of(new SNIHostName(host)));
+            }
+            if (protocols != null) {
+                parameters.setProtocols(protocols);
+            }
+            socket.setSSLParameters(parameters);
+            // Keep the host name on the address so the handshake verifies it
+            InetAddress resolved = dnsResolver.resolveNow(host).get(0);
+            socket.connect(new InetSocketAddress(InetAddress.getByAddress(host, resolved.getAddress()), port), timeoutMs);
+            socket.setSoTimeout(timeoutMs);
+            return socket;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            socket.close();
+            throw new InterruptedIOException("Interrupted while resolving " + host);
+        } catch (IOException | RuntimeException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Check whether the server accepts TLS 1.0 or 1.1
+     *
+     * @return null when the local JDK has those protocols disabled and the check cannot be made
+     */
+    private Boolean supportsLegacyProtocols(SSLContext context, String host, int port) {
+        List<String> supported = Arrays.asList(context.getSupportedSSLParameters().getProtocols());
+        String[] legacy = Arrays.stream(LEGACY_PROTOCOLS).filter(supported::contains).toArray(String[]::new);
+        if (legacy.length == 0) {
+            return null;
+        }
+        try (SSLSocket socket = connect(context, host, port, legacy)) {
+            socket.startHandshake();
+            return true;
+        } catch (SSLHandshakeException e) {
+            // Raised locally when java.security disables the legacy protocols
+            if (e.getMessage() != null && e.getMessage().contains("No appropriate protocol")) {
+                return null;
+            }
+            return false;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Status of an inspected endpoint
+     */
+    public enum TlsStatus {
+        TLS, NOT_TLS, UNREACHABLE
+    }
+
+    /**
+     * Outcome of inspecting one endpoint
+     */
+    public record TlsInspection(String host, int port, TlsStatus status, String protocol, String cipherSuite,
+                                String subject, String issuer, Instant notAfter, int chainLength,
+                                boolean selfSigned, String trustError, Boolean legacyProtocolsAccepted,
+                                String error, Instant inspectedAt) {
+
+        static TlsInspection failed(String host, int port, TlsStatus status, String error) {
+            return new TlsInspection(host, port, status, null, null, null, null, null, 0,
+                false, null, null, error, Instant.now());
+        }
+
+        public String endpoint() {
+            return host + ":" + port;
+        }
+    }
+
+    private static class CapturingTrustManager extends X509ExtendedTrustManager {
+
+        private final X509ExtendedTrustManager delegate;
+        private volatile X509Certificate[] chain;
+        private volatile String trustError;
+
+        CapturingTrustManager(X509ExtendedTrustManager delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket) {
+            this.chain = chain;
+            try {
+                delegate.checkServerTrusted(chain, authType, socket);
+            } catch (CertificateException e) {
+                trustError = e.getMessage();
+            }
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+            this.chain = chain;
+            try {
+                delegate.checkServerTrusted(chain, authType, engine);
+            } catch (CertificateException e) {
+                trustError = e.getMessage();
+            }
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+            this.chain = chain;
+            try {
+                delegate.checkServerTrusted(chain, authType);
+            } catch (CertificateException e) {
+                trustError = e.getMessage();
+            }
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket) throws CertificateException {
+            throw new CertificateException("Client certificates are not accepted");
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine) throws CertificateException {
+            throw new CertificateException("Client certificates are not accepted");
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+            throw new CertificateException("Client certificates are not accepted");
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return delegate.getAcceptedIssuers();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.IssuedToken;
+import com.cyberrisk.repository.IssuedTokenRepository;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token Revocation Service
+ *
+ * Tracks issued tokens by jti in the database and keeps the revoked ones in
+ * memory as a Bloom filter in front of an exact set. Almost every request
+ * carries a token that was never revoked, which the filter answers with a
+ * single lookup; only filter hits are confirmed against the exact set.
+ * Expired entries are purged, and the filter rebuilt, on a fixed interval.
+ *
+ * Issued tokens are buffered and written behind the login request as one
+ * JDBC batch on a short interval; a revocation flushes the buffer first so
+ * it also covers tokens issued moments before. Revocations reach the
+ * in-memory filter and set only once their transaction has committed.
+ */
+@Service
+public class TokenRevocationService implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final String INSERT_ISSUED_TOKEN_SQL =
+        "INSERT INTO issued_tokens (jti, user_id, issued_at, expires_at, revoked) VALUES (?, ?, ?, ?, false)";
+
+    @Autowired
+    private IssuedTokenRepository issuedTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${jwt.revocation.bloom-expected-entries:100000}")
+    private int bloomExpectedEntries;
+
+    @Value("${jwt.revocation.bloom-false-positive-rate:0.01}")
+    private double bloomFalsePositiveRate;
+
+    @Value("${jwt.revocation.cleanup-interval-minutes:60}")
+    private long cleanupIntervalMinutes;
+
+    @Value("${jwt.revocation.issued-flush-interval-ms:1000}")
+    private long issuedFlushIntervalMs;
+
+    private volatile BloomFilter revokedFilter;
+
+    // Revoked jti -> token expiration in epoch millis
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    private final Queue<IssuedToken> pendingIssued = new ConcurrentLinkedQueue<>();
+
+    private ScheduledExecutorService cleaner;
+
+    private final AtomicLong flushedIssued = new AtomicLong();
+    private final AtomicLong failedIssuedFlushes = new AtomicLong();
+    private final AtomicLong filterChecks = new AtomicLong();
+    private final AtomicLong filterHits = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        for (IssuedToken token : issuedTokenRepository.findRevokedUnexpired(LocalDateTime.now())) {
+            revokedTokens.put(token.getJti(), toEpochMillis(token.getExpiresAt()));
+        }
+        rebuildFilter();
+
+        cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleaner.scheduleWithFixedDelay(this::purgeExpired, cleanupIntervalMinutes, cleanupIntervalMinutes, TimeUnit.MINUTES);
+        cleaner.scheduleWithFixedDelay(this::flushIssued, issuedFlushIntervalMs, issuedFlushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record a newly issued token so it can be revoked later; it is written with the next flush
+     */
+    public void recordIssued(Long userId, Claims claims) {
+        if (claims.getId() == null) {
+            return;
+        }
+        pendingIssued.add(new IssuedToken(
+            claims.getId(),
+            userId,
+            toLocalDateTime(claims.getIssuedAt().getTime()),
+            toLocalDateTime(claims.getExpiration().getTime())
+        ));
+    }
+
+    /**
+     * Write all buffered issued tokens in one batch, keeping them for the next flush on failure
+     */
+    synchronized void flushIssued() {
+        List<IssuedToken> tokens = new ArrayList<>();
+        for (IssuedToken token = pendingIssued.poll(); token != null; token = pendingIssued.poll()) {
+            tokens.add(token);
+        }
+        if (tokens.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = tokens.stream()
+            .map(token -> new Object[] {
+                token.getJti(), token.getUserId(), Timestamp.valueOf(token.getIssuedAt()), Timestamp.valueOf(token.getExpiresAt())
+            })
+            .toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_ISSUED_TOKEN_SQL, batch));
+            flushedIssued.addAndGet(tokens.size());
+        } catch (RuntimeException e) {
+            failedIssuedFlushes.incrementAndGet();
+            log.warn("Failed to write {} issued tokens, keeping them for the next flush: {}", tokens.size(), e.getMessage());
+            pendingIssued.addAll(tokens);
+        }
+    }
+
+    /**
+     * Check whether a token id has been revoked
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        filterChecks.incrementAndGet();
+        if (!revokedFilter.mightContain(jti)) {
+            return false;
+        }
+        filterHits.incrementAndGet();
+        if (revokedTokens.containsKey(jti)) {
+            return true;
+        }
+        falsePositives.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Revoke every live token of a user
+     *
+     * @return the number of tokens revoked
+     */
+    public synchronized int revokeAllForUser(Long userId) {
+        flushIssued();
+
+        int revoked = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<IssuedToken> tokens = issuedTokenRepository.findActiveByUserId(userId, now);
+            for (IssuedToken token : tokens) {
+                token.setRevoked(true);
+                token.setRevokedAt(now);
+            }
+            issuedTokenRepository.saveAll(tokens);
+
+            // Requests keep passing until the revocation is durable
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    for (IssuedToken token : tokens) {
+                        revokedTokens.put(token.getJti(), toEpochMillis(token.getExpiresAt()));
+                        revokedFilter.add(token.getJti());
+                    }
+                }
+            });
+            return tokens.size();
+        });
+
+        log.info("Revoked {} tokens of user {}", revoked, userId);
+        return revoked;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "token-revocation";
+    }
+
+    /**
+     * Get revocation statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("revokedTokens", revokedTokens.size());
+        stats.put("pendingIssuedTokens", pendingIssued.size());
+        stats.put("flushedIssuedTokens", flushedIssued.get());
+        stats.put("failedIssuedFlushes", failedIssuedFlushes.get());
+        stats.put("filterBits", revokedFilter.getBitCount());
+        stats.put("filterHashes", revokedFilter.getHashCount());
+        stats.put("filterChecks", filterChecks.get());
+        stats.put("filterHits", filterHits.get());
+        stats.put("falsePositives", falsePositives.get());
+        return stats;
+    }
+
+    /**
+     * Drop expired tokens from the database and the in-memory set, then rebuild the filter
+     */
+    synchronized void purgeExpired() {
+        try {
+            long now = System.currentTimeMillis();
+            revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+            int deleted = issuedTokenRepository.deleteExpired(LocalDateTime.now());
+            rebuildFilter();
+            log.debug("Purged {} expired issued tokens, {} revoked tokens remain", deleted, revokedTokens.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge expired tokens: {}", e.getMessage());
+        }
+    }
+
+    private void rebuildFilter() {
+        BloomFilter filter = new BloomFilter(Math.max(bloomExpectedEntries, revokedTokens.size() * 2), bloomFalsePositiveRate);
+        revokedTokens.keySet().forEach(filter::add);
+        revokedFilter = filter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleaner.shutdownNow();
+        flushIssued();
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,87 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.Role;
+import com.cyberrisk.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * User Account Cache
+ *
+ * Short-lived cache of the account state (role and enabled flag) that token
+ * authentication checks on every request. Entries expire after a small TTL
+ * and are invalidated by UserService whenever an account is registered,
+ * updated (role or enabled flag) or deleted, so revoked access takes effect
+ * immediately and new users are not rejected by a cached lookup miss.
+ */
+@Component
+public class UserAccountCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.stateless-principal.account-cache-ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${jwt.stateless-principal.account-cache-max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, AccountState> accounts = new ConcurrentHashMap<>();
+
+    /**
+     * Get the current account state of a user
+     *
+     * @return the account state; unknown users are returned as a disabled state
+     */
+    public AccountState getAccount(String username) {
+        long now = System.currentTimeMillis();
+        AccountState cached = accounts.get(username);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached;
+        }
+
+        AccountState loaded = userRepository.findByUsername(username)
+                .map(user -> new AccountState(user.getId(), user.getRole(), user.isEnabled(), now + ttlSeconds * 1000))
+                .orElse(new AccountState(null, null, false, now + ttlSeconds * 1000));
+        store(username, loaded, now);
+        return loaded;
+    }
+
+    /**
+     * Drop the cached state of a user
+     */
+    public void invalidate(Long userId) {
+        accounts.values().removeIf(account -> userId.equals(account.userId()));
+    }
+
+    /**
+     * Drop the cached state of a username
+     */
+    public void invalidate(String username) {
+        accounts.remove(username);
+    }
+
+    private void store(String username, AccountState account, long now) {
+        if (accounts.size() >= maxEntries) {
+            accounts.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (accounts.size() >= maxEntries) {
+                return;
+            }
+        }
+        accounts.put(username, account);
+    }
+
+    /**
+     * Account state as of the time it was loaded
+     */
+    public record AccountState(Long userId, Role role, boolean enabled, long expiresAt) {
+
+        public boolean exists() {
+            return userId != null;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.cyberrisk.model.User;
 import com.cyberrisk.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,10 +12,12 @@ import org.springframework.stereotype.Service;
 /**
  * User Details Service Implementation
  * 
- * Implements Spring Security's UserDetailsService for authentication.
+ * Implements Spring Security's UserDetailsService for authentication, and
+ * UserDetailsPasswordService so hashes are rewritten on login whenever
+ * their BCrypt cost differs from the configured one.
  */
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     private UserRepository userRepository;
@@ -26,4 +29,12 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         
         return user;
     }
+    
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = (User) userDetails;
+        userRepository.updatePassword(user.getId(), newPassword);
+        user.setPassword(newPassword);
+        return user;
+    }
 }
@@ -25,6 +25,12 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private UserAccountCache userAccountCache;
+    
+    @Autowired
+    private LastLoginWriter lastLoginWriter;
+    
     /**
      * Create a new user
      */
@@ -47,7 +53,10 @@ public class UserService {
             user.setRole(Role.USER);
         }
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        // Drop a cached "no such user" from a request that used the name before it was registered
+        userAccountCache.invalidate(savedUser.getUsername());
+        return savedUser;
     }
     
     /**
@@ -89,7 +98,9 @@ public class UserService {
      * Update user
      */
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userAccountCache.invalidate(savedUser.getId());
+        return savedUser;
     }
     
     /**
@@ -97,18 +108,14 @@ public class UserService {
      */
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        userAccountCache.invalidate(id);
     }
     
     /**
-     * Update last login time
+     * Record a successful login; the time is written behind the request in batches
      */
-    public void updateLastLogin(String username) {
-        Optional<User> userOpt = userRepository.findByUsername(username);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            user.setLastLogin(LocalDateTime.now());
-            userRepository.save(user);
-        }
+    public void recordLogin(User user) {
+        lastLoginWriter.record(user.getId(), LocalDateTime.now());
     }
     
     /**
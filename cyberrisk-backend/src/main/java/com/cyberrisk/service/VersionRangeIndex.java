@@ -0,0 +1,292 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.dto.ComponentDto;
+import com.cyberrisk.service.CveIndex.CpeMatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Version Range Index
+ *
+ * Answers "which CVEs affect this product version" for component inventories.
+ * The vulnerable CPE matches of the CVE index are grouped by product name and
+ * each group is compiled into an interval tree: ranges sorted by lower bound
+ * in an array, with the highest upper bound of every implicit subtree, so a
+ * lookup visits only the ranges that can contain the version instead of every
+ * advisory of the product. The index is rebuilt lazily after feed updates.
+ */
+@Component
+public class VersionRangeIndex implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(VersionRangeIndex.class);
+
+    @Autowired
+    private CveIndex cveIndex;
+
+    private volatile Snapshot snapshot = new Snapshot(-1, Map.of(), 0);
+
+    private final LongAdder componentsMatched = new LongAdder();
+    private final LongAdder matchNanos = new LongAdder();
+    private final LongAdder cvesFound = new LongAdder();
+
+    /**
+     * Find the CVEs affecting each component of an inventory
+     *
+     * @return the affected components by CVE id, ordered by CVE id
+     */
+    public Map<String, List<ComponentDto>> match(List<ComponentDto> components) {
+        long start = System.nanoTime();
+        Snapshot current = current();
+        Map<String, List<ComponentDto>> affected = new TreeMap<>();
+
+        for (ComponentDto component : components) {
+            IntervalTree tree = current.treesByProduct.get(normalize(component.getName()));
+            if (tree == null) {
+                continue;
+            }
+            String vendor = component.getVendor() != null ? normalize(component.getVendor()) : null;
+            Set<String> cveIds = new LinkedHashSet<>();
+            tree.stab(ComponentVersion.parse(component.getVersion()), range -> {
+                if (vendor == null || vendor.equals(range.vendor)) {
+                    cveIds.add(range.cveId);
+                }
+            });
+            for (String cveId : cveIds) {
+                affected.computeIfAbsent(cveId, id -> new ArrayList<>()).add(component);
+            }
+            cvesFound.add(cveIds.size());
+        }
+
+        componentsMatched.add(components.size());
+        matchNanos.add(System.nanoTime() - start);
+        return affected;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "version-range-index";
+    }
+
+    /**
+     * Get index statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("products", current.treesByProduct.size());
+        stats.put("ranges", current.treesByProduct.values().stream().mapToInt(tree -> tree.ranges.length).sum());
+        stats.put("lastBuildMillis", current.buildMillis);
+        stats.put("componentsMatched", componentsMatched.sum());
+        stats.put("cvesFound", cvesFound.sum());
+        long matched = componentsMatched.sum();
+        stats.put("avgMatchMicrosPerComponent", matched == 0 ? 0.0
+            : Math.round(matchNanos.sum() / 1000.0 / matched * 100.0) / 100.0);
+        return stats;
+    }
+
+    private Snapshot current() {
+        long generation = cveIndex.getGeneration();
+        Snapshot current = snapshot;
+        if (current.generation == generation) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current.generation != generation) {
+                current = build(generation);
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private Snapshot build(long generation) {
+        long start = System.nanoTime();
+        Map<String, List<Range>> rangesByProduct = new HashMap<>();
+        for (Map.Entry<String, List<CpeMatch>> entry : cveIndex.getMatchesByProduct().entrySet()) {
+            String[] vendorAndProduct = entry.getKey().split(":", 2);
+            List<Range> ranges = rangesByProduct.computeIfAbsent(vendorAndProduct[1], k -> new ArrayList<>());
+            for (CpeMatch match : entry.getValue()) {
+                ranges.add(Range.from(vendorAndProduct[0], match));
+            }
+        }
+
+        Map<String, IntervalTree> trees = new HashMap<>(rangesByProduct.size() * 2);
+        rangesByProduct.forEach((product, ranges) -> trees.put(product, new IntervalTree(ranges)));
+        long buildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Built version range index: {} products in {} ms", trees.size(), buildMillis);
+        return new Snapshot(generation, trees, buildMillis);
+    }
+
+    // CPE names use lower case and underscores for spaces
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT).replace(' ', '_');
+    }
+
+    private record Snapshot(long generation, Map<String, IntervalTree> treesByProduct, long buildMillis) {
+    }
+
+    /**
+     * A range of affected versions; a null bound is unbounded
+     */
+    private static final class Range {
+
+        private final String cveId;
+        private final String vendor;
+        private final ComponentVersion low;
+        private final boolean lowInclusive;
+        private final ComponentVersion high;
+        private final boolean highInclusive;
+
+        private Range(String cveId, String vendor, ComponentVersion low, boolean lowInclusive,
+                      ComponentVersion high, boolean highInclusive) {
+            this.cveId = cveId;
+            this.vendor = vendor;
+            this.low = low;
+            this.lowInclusive = lowInclusive;
+            this.high = high;
+            this.highInclusive = highInclusive;
+        }
+
+        static Range from(String vendor, CpeMatch match) {
+            boolean hasRange = match.startIncluding() != null || match.startExcluding() != null
+                    || match.endIncluding() != null || match.endExcluding() != null;
+            if (!hasRange && match.version() != null) {
+                ComponentVersion exact = ComponentVersion.parse(match.version());
+                return new Range(match.cveId(), vendor, exact, true, exact, true);
+            }
+            return new Range(match.cveId(), vendor,
+                    parseOrNull(match.startIncluding() != null ? match.startIncluding() : match.startExcluding()),
+                    match.startIncluding() != null,
+                    parseOrNull(match.endIncluding() != null ? match.endIncluding() : match.endExcluding()),
+                    match.endIncluding() != null);
+        }
+
+        private static ComponentVersion parseOrNull(String version) {
+            return version == null ? null : ComponentVersion.parse(version);
+        }
+
+        boolean startsAtOrBefore(ComponentVersion version) {
+            if (low == null) {
+                return true;
+            }
+            int result = low.compareTo(version);
+            return result < 0 || (result == 0 && lowInclusive);
+        }
+
+        boolean endsBefore(ComponentVersion version) {
+            if (high == null) {
+                return false;
+            }
+            int result = high.compareTo(version);
+            return result < 0 || (result == 0 && !highInclusive);
+        }
+
+        // Unbounded first, then by version; an inclusive bound starts before an exclusive one
+        static final Comparator<Range> BY_LOW = (a, b) -> {
+            if (a.low == null || b.low == null) {
+                return Boolean.compare(a.low != null, b.low != null);
+            }
+            int result = a.low.compareTo(b.low);
+            return result != 0 ? result : Boolean.compare(!a.lowInclusive, !b.lowInclusive);
+        };
+
+        // Unbounded last; an inclusive bound ends after an exclusive one
+        static int compareHigh(Range a, Range b) {
+            if (a.high == null || b.high == null) {
+                return Boolean.compare(a.high == null, b.high == null);
+            }
+            int result = a.high.compareTo(b.high);
+            return result != 0 ? result : Boolean.compare(a.highInclusive, b.highInclusive);
+        }
+    }
+
+    /**
+     * Static interval tree over ranges sorted by lower bound
+     *
+     * The node of the slice [lo, hi) is its middle element; maxHigh holds the
+     * range with the highest upper bound in each node's slice.
+     */
+    private static final class IntervalTree {
+
+        private final Range[] ranges;
+        private final Range[] maxHigh;
+
+        IntervalTree(List<Range> unsorted) {
+            ranges = unsorted.toArray(new Range[0]);
+            Arrays.sort(ranges, Range.BY_LOW);
+            maxHigh = new Range[ranges.length];
+            buildMaxHigh(0, ranges.length);
+        }
+
+        private Range buildMaxHigh(int lo, int hi) {
+            if (lo >= hi) {
+                return null;
+            }
+            int mid = (lo + hi) >>> 1;
+            Range max = ranges[mid];
+            Range left = buildMaxHigh(lo, mid);
+            Range right = buildMaxHigh(mid + 1, hi);
+            if (left != null && Range.compareHigh(left, max) > 0) {
+                max = left;
+            }
+            if (right != null && Range.compareHigh(right, max) > 0) {
+                max = right;
+            }
+            maxHigh[mid] = max;
+            return max;
+        }
+
+        /**
+         * Visit every range containing the version
+         */
+        void stab(ComponentVersion version, Consumer<Range> visitor) {
+            // Ranges starting after the version form a suffix of the sorted array
+            int lo = 0;
+            int hi = ranges.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (ranges[mid].startsAtOrBefore(version)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            stab(0, ranges.length, lo, version, visitor);
+        }
+
+        private void stab(int lo, int hi, int limit, ComponentVersion version, Consumer<Range> visitor) {
+            if (lo >= hi || lo >= limit) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (maxHigh[mid].endsBefore(version)) {
+                return;
+            }
+            stab(lo, mid, limit, version, visitor);
+            if (mid < limit) {
+                if (!ranges[mid].endsBefore(version)) {
+                    visitor.accept(ranges[mid]);
+                }
+                stab(mid + 1, hi, limit, version, visitor);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.Vulnerability;
+import com.cyberrisk.model.VulnerabilityDefinition;
+import com.cyberrisk.repository.VulnerabilityDefinitionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vulnerability Catalog
+ *
+ * In-memory index of vulnerability definitions by id, backed by the
+ * vulnerability_definitions table. Every finding that refers to a definition
+ * shares the one instance held here.
+ */
+@Component
+public class VulnerabilityCatalog implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(VulnerabilityCatalog.class);
+
+    @Autowired
+    private VulnerabilityDefinitionRepository vulnerabilityDefinitionRepository;
+
+    private final Map<String, VulnerabilityDefinition> definitions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        for (VulnerabilityDefinition definition : vulnerabilityDefinitionRepository.findAll()) {
+            definitions.put(definition.getId(), definition);
+        }
+        log.info("Loaded {} vulnerability definitions", definitions.size());
+    }
+
+    /**
+     * Register definitions, storing the ones that are new or changed
+     */
+    public synchronized void registerAll(Collection<VulnerabilityDefinition> candidates) {
+        List<VulnerabilityDefinition> changed = new ArrayList<>();
+        for (VulnerabilityDefinition candidate : candidates) {
+            if (!candidate.sameContent(definitions.get(candidate.getId()))) {
+                changed.add(candidate);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        for (VulnerabilityDefinition saved : vulnerabilityDefinitionRepository.saveAll(changed)) {
+            definitions.put(saved.getId(), saved);
+        }
+        log.info("Registered {} new or changed vulnerability definitions", changed.size());
+    }
+
+    /**
+     * Get a definition by id
+     *
+     * @throws IllegalStateException if the definition is unknown
+     */
+    public VulnerabilityDefinition get(String definitionId) {
+        VulnerabilityDefinition definition = definitions.get(definitionId);
+        if (definition == null) {
+            throw new IllegalStateException("Unknown vulnerability definition: " + definitionId);
+        }
+        return definition;
+    }
+
+    /**
+     * Attach the shared definitions to findings loaded from the database
+     */
+    public void resolve(Collection<Vulnerability> vulnerabilities) {
+        for (Vulnerability vulnerability : vulnerabilities) {
+            if (vulnerability.getDefinition() == null) {
+                vulnerability.setDefinition(get(vulnerability.getDefinitionId()));
+            }
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "vulnerability-catalog";
+    }
+
+    /**
+     * Get catalog statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("definitions", definitions.size());
+        return stats;
+    }
+}
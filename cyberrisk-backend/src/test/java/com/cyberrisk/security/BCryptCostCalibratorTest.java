@@ -0,0 +1,45 @@
+package com.cyberrisk.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Upgrade decisions of the encoder built at the configured BCrypt cost
+ */
+class BCryptCostCalibratorTest {
+
+    private PasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        BCryptCostCalibrator calibrator = new BCryptCostCalibrator();
+        ReflectionTestUtils.setField(calibrator, "configuredCost", 5);
+        encoder = calibrator.createEncoder();
+    }
+
+    @Test
+    void keepsHashesAtTheConfiguredCost() {
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+    }
+
+    @Test
+    void upgradesHashesAtALowerCost() {
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+    }
+
+    @Test
+    void upgradesHashesAtAHigherCost() {
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+    }
+
+    @Test
+    void stillMatchesHashesOfAnyCost() {
+        assertTrue(encoder.matches("secret", new BCryptPasswordEncoder(6).encode("secret")));
+    }
+}
@@ -0,0 +1,48 @@
+package com.cyberrisk.security;
+
+import com.cyberrisk.model.Role;
+import com.cyberrisk.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Size bound and eviction of the verified claims cache
+ */
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "cyberrisk-test-secret-key-for-jwt-token-generation");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxEntries", 10);
+        jwtUtil.init();
+    }
+
+    @Test
+    void evictsToCacheNewTokensWhenFullOfUnexpiredClaims() {
+        Map<?, ?> cache = (Map<?, ?>) ReflectionTestUtils.getField(jwtUtil, "claimsCache");
+
+        for (long id = 1; id <= 30; id++) {
+            String token = jwtUtil.generateToken(user(id));
+            assertTrue(jwtUtil.getValidClaims(token).isPresent());
+
+            assertTrue(cache.size() <= 10, cache.size() + " cached claims");
+            assertTrue(cache.containsKey(ReflectionTestUtils.invokeMethod(jwtUtil, "hashToken", token)), "token " + id + " cached");
+        }
+    }
+
+    private static User user(long id) {
+        User user = new User("user" + id, "user" + id + "@example.com", "unused", "Test", "User");
+        user.setId(id);
+        user.setRole(Role.USER);
+        return user;
+    }
+}
@@ -0,0 +1,76 @@
+package com.cyberrisk.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Size bound, coalescing and rejected loads of the coalescing cache
+ */
+class CoalescingCacheTest {
+
+    @Test
+    void staysWithinMaxEntriesWhenFullOfLiveEntries() throws Exception {
+        // Loads run on the calling thread and stay cached for an hour
+        CoalescingCache<String, String> cache = new CoalescingCache<>(10, Runnable::run, (value, error) -> 3_600_000L);
+
+        for (int i = 0; i < 100; i++) {
+            String key = "host-" + i;
+            assertEquals(key, cache.get(key, () -> key).get());
+            assertTrue(cache.size() <= 10, cache.size() + " entries");
+        }
+        assertTrue(cache.evictions() >= 90);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("host-99", () -> "reloaded-" + loads.incrementAndGet()).get();
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void loadsWithoutCachingWhenEveryEntryIsInFlight() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CoalescingCache<String, String> cache = new CoalescingCache<>(1, executor, (value, error) -> 3_600_000L);
+            CompletableFuture<String> slow = cache.get("slow", () -> {
+                release.await();
+                return "slow";
+            });
+
+            assertEquals("other", cache.get("other", () -> "other").get(5, TimeUnit.SECONDS));
+            assertEquals(1, cache.size());
+            assertSame(slow, cache.get("slow", () -> "again"));
+            assertEquals(1, cache.coalesced());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failsAndForgetsLoadsTheExecutorRejects() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        CoalescingCache<String, String> cache = new CoalescingCache<>(10, executor, (value, error) -> 3_600_000L);
+
+        CompletableFuture<String> rejected = cache.get("host", () -> "host");
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        assertEquals(0, cache.size());
+        assertNotSame(rejected, cache.get("host", () -> "host"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.Severity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Batched import of NVD JSON 1.1 feed files into the CVE index
+ */
+class CveFeedImporterTest {
+
+    private Path feed;
+    private CveIndex cveIndex;
+    private CveFeedImporter importer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        feed = Files.createTempFile("nvdcve-1.1-", ".json");
+        cveIndex = new CveIndex();
+        importer = new CveFeedImporter();
+        ReflectionTestUtils.setField(importer, "cveIndex", cveIndex);
+        ReflectionTestUtils.setField(importer, "feedDirectory", feed.getParent().toString());
+        ReflectionTestUtils.setField(importer, "applyBatchSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Files.deleteIfExists(feed);
+    }
+
+    @Test
+    void appliesFeedInBatches() throws Exception {
+        writeFeed(IntStream.rangeClosed(1, 5).mapToObj(i -> item("CVE-2024-000" + i, "7.5", "HIGH", "2.4." + i)).toList());
+
+        assertEquals(5, importer.importFile(feed));
+
+        assertEquals(3, cveIndex.getGeneration());
+        assertEquals(5, cveIndex.getStats().get("cves"));
+        assertEquals(5, cveIndex.findByProduct("apache", "http_server").size());
+        assertEquals(Severity.HIGH, cveIndex.find("cve-2024-0003").orElseThrow().severity());
+    }
+
+    @Test
+    void rejectsCveAppliedInEarlierBatch() throws Exception {
+        writeFeed(List.of(
+            item("CVE-2024-0001", "7.5", "HIGH", "2.4.1"),
+            item("CVE-2024-0002", "5.3", "MEDIUM", "2.4.2"),
+            item("CVE-2024-0003", "9.8", "CRITICAL", "2.4.3"),
+            rejectedItem("CVE-2024-0001")));
+
+        importer.importFile(feed);
+
+        assertFalse(cveIndex.find("CVE-2024-0001").isPresent());
+        assertTrue(cveIndex.find("CVE-2024-0002").isPresent());
+        assertEquals(List.of("CVE-2024-0002", "CVE-2024-0003"), cveIndex.findByProduct("apache", "http_server").stream()
+            .map(CveIndex.CpeMatch::cveId).sorted().toList());
+        assertEquals(1L, importer.getStats().get("rejectedCves"));
+    }
+
+    private void writeFeed(List<String> items) throws Exception {
+        Files.writeString(feed, "{\"CVE_data_type\":\"CVE\",\"CVE_Items\":["
+            + items.stream().collect(Collectors.joining(",")) + "]}");
+    }
+
+    private static String item(String id, String score, String severity, String version) {
+        return "{\"cve\":{\"CVE_data_meta\":{\"ID\":\"" + id + "\"},"
+            + "\"description\":{\"description_data\":[{\"value\":\"Flaw in httpd\"}]}},"
+            + "\"configurations\":{\"nodes\":[{\"cpe_match\":[{\"vulnerable\":true,"
+            + "\"cpe23Uri\":\"cpe:2.3:a:apache:http_server:" + version + ":*:*:*:*:*:*:*\"}]}]},"
+            + "\"impact\":{\"baseMetricV3\":{\"cvssV3\":{\"version\":\"3.1\",\"baseScore\":" + score
+            + ",\"baseSeverity\":\"" + severity + "\"}}},"
+            + "\"lastModifiedDate\":\"2024-01-01T00:00Z\"}";
+    }
+
+    private static String rejectedItem(String id) {
+        return "{\"cve\":{\"CVE_data_meta\":{\"ID\":\"" + id + "\"},"
+            + "\"description\":{\"description_data\":[{\"value\":\"** REJECT ** Duplicate\"}]}},"
+            + "\"lastModifiedDate\":\"2024-02-01T00:00Z\"}";
+    }
+}
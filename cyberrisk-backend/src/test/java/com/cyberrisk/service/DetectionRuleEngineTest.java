@@ -0,0 +1,107 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.VulnerabilityDefinition;
+import com.cyberrisk.repository.VulnerabilityDefinitionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rule evaluation of the bundled detection catalog
+ */
+class DetectionRuleEngineTest {
+
+    private DetectionRuleEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        VulnerabilityCatalog catalog = new VulnerabilityCatalog();
+        ReflectionTestUtils.setField(catalog, "vulnerabilityDefinitionRepository", inMemoryRepository());
+        catalog.load();
+
+        engine = new DetectionRuleEngine();
+        ReflectionTestUtils.setField(engine, "resourceLoader", new DefaultResourceLoader());
+        ReflectionTestUtils.setField(engine, "vulnerabilityCatalog", catalog);
+        ReflectionTestUtils.setField(engine, "catalogLocation", "classpath:detection/rules-v1.json");
+        ReflectionTestUtils.setField(engine, "parallelThreshold", 256);
+        ReflectionTestUtils.setField(engine, "benchmarkParallelism", 2);
+        ReflectionTestUtils.setField(engine, "benchmarkMaxEvaluations", 100000L);
+        engine.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void matchesKeywordRulesOnOrganizationName() {
+        List<String> fired = ids(engine.evaluate(bank(), 42));
+
+        assertTrue(fired.contains("COMP-PCI-DSS"), fired.toString());
+        assertFalse(fired.contains("COMP-HIPAA"), fired.toString());
+    }
+
+    @Test
+    void narrowsCandidatesToRequestedCategories() {
+        assertEquals(List.of("COMP-PCI-DSS"), ids(engine.evaluate(bank(), 42, Set.of("compliance"))));
+        assertEquals(List.of(), ids(engine.evaluate(bank(), 42, Set.of("Unknown Category"))));
+        assertEquals(ids(engine.evaluate(bank(), 42)), ids(engine.evaluate(bank(), 42, Set.of())));
+    }
+
+    @Test
+    void firesTheSameRulesForTheSameSeed() {
+        for (long seed = 0; seed < 20; seed++) {
+            assertEquals(ids(engine.evaluate(bank(), seed)), ids(engine.evaluate(bank(), seed)));
+        }
+    }
+
+    @Test
+    void benchmarksEachRuleSetSize() throws Exception {
+        List<Map<String, Object>> results = engine.benchmark(List.of(8, 80), 100, 42);
+
+        assertEquals(2, results.size());
+        assertEquals(8, results.get(0).get("ruleSetSize"));
+        assertEquals(80, results.get(1).get("ruleSetSize"));
+        assertEquals(false, engine.getStats().get("benchmarkRunning"));
+    }
+
+    @Test
+    void rejectsBenchmarksOverEvaluationBudget() {
+        assertThrows(IllegalArgumentException.class, () -> engine.benchmark(List.of(1000, 1000), 100, 42));
+    }
+
+    private static DetectionTarget bank() {
+        return new DetectionTarget("First National Bank", "bank.example.com", "10.0.0.1", null);
+    }
+
+    private static List<String> ids(List<DetectionRule> rules) {
+        return rules.stream().map(DetectionRule::getId).toList();
+    }
+
+    private static VulnerabilityDefinitionRepository inMemoryRepository() {
+        return (VulnerabilityDefinitionRepository) Proxy.newProxyInstance(
+            VulnerabilityDefinitionRepository.class.getClassLoader(),
+            new Class<?>[] {VulnerabilityDefinitionRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "findAll" -> List.<VulnerabilityDefinition>of();
+                case "saveAll" -> args[0];
+                case "toString" -> "InMemoryVulnerabilityDefinitionRepository";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+}
@@ -0,0 +1,186 @@
+package com.cyberrisk.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Caching, expiry and coalescing of the DNS resolver against a stub backend
+ */
+class DnsResolverTest {
+
+    private static final long TTL_SECONDS = 1;
+
+    private StubDnsBackend backend;
+    private DnsResolver resolver;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        backend = new StubDnsBackend();
+        backend.addresses.put("scanme.example", List.of(InetAddress.getByAddress("scanme.example", new byte[] {10, 0, 0, 1})));
+
+        resolver = new DnsResolver();
+        ReflectionTestUtils.setField(resolver, "dnsBackend", backend);
+        ReflectionTestUtils.setField(resolver, "workers", 4);
+        ReflectionTestUtils.setField(resolver, "ttlSeconds", TTL_SECONDS);
+        ReflectionTestUtils.setField(resolver, "negativeTtlSeconds", TTL_SECONDS);
+        ReflectionTestUtils.setField(resolver, "timeoutMs", 2000L);
+        ReflectionTestUtils.setField(resolver, "maxEntries", 100);
+        resolver.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        backend.gate.countDown();
+        resolver.shutdown();
+    }
+
+    @Test
+    void cachesAnswersUntilTtlExpires() throws Exception {
+        List<InetAddress> first = resolver.resolveNow("scanme.example");
+        List<InetAddress> second = resolver.resolveNow("SCANME.example.");
+
+        assertEquals("10.0.0.1", first.get(0).getHostAddress());
+        assertSame(first, second);
+        assertEquals(1, backend.lookups("scanme.example"));
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(TTL_SECONDS) + 100);
+        resolver.resolveNow("scanme.example");
+
+        assertEquals(2, backend.lookups("scanme.example"));
+    }
+
+    @Test
+    void cachesUnknownNamesUntilNegativeTtlExpires() throws Exception {
+        assertThrows(UnknownHostException.class, () -> resolver.resolveNow("missing.example"));
+        assertThrows(UnknownHostException.class, () -> resolver.resolveNow("missing.example"));
+
+        assertEquals(1, backend.lookups("missing.example"));
+        assertEquals(1L, resolver.getStats().get("failedLookups"));
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(TTL_SECONDS) + 100);
+        assertThrows(UnknownHostException.class, () -> resolver.resolveNow("missing.example"));
+
+        assertEquals(2, backend.lookups("missing.example"));
+    }
+
+    @Test
+    void coalescesConcurrentLookupsOfOneName() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        backend.gate = gate;
+
+        List<CompletableFuture<List<InetAddress>>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(resolver.resolve("scanme.example"));
+        }
+        gate.countDown();
+        for (CompletableFuture<List<InetAddress>> future : futures) {
+            assertEquals("10.0.0.1", future.get(5, TimeUnit.SECONDS).get(0).getHostAddress());
+        }
+
+        assertEquals(1, backend.lookups("scanme.example"));
+        assertEquals(9L, resolver.getStats().get("coalesced"));
+        assertEquals(1L, resolver.getStats().get("lookups"));
+    }
+
+    @Test
+    void reportsHitRateOverAllRequests() throws Exception {
+        resolver.resolveNow("scanme.example");
+        resolver.resolveNow("scanme.example");
+        resolver.resolveNow("scanme.example");
+        resolver.resolveNow("scanme.example");
+
+        Map<String, Object> stats = resolver.getStats();
+        assertEquals(4L, stats.get("requests"));
+        assertEquals(3L, stats.get("cacheHits"));
+        assertEquals(1L, stats.get("lookups"));
+        assertEquals(0.75, stats.get("hitRate"));
+        assertEquals(1, stats.get("cachedNames"));
+        assertEquals("StubDnsBackend", stats.get("backend"));
+    }
+
+    @Test
+    void answersIpLiteralsWithoutLookup() throws Exception {
+        assertEquals("192.0.2.7", resolver.resolveNow("192.0.2.7").get(0).getHostAddress());
+        assertTrue(resolver.resolveNow("::1").get(0).isLoopbackAddress());
+
+        assertEquals(0L, resolver.getStats().get("lookups"));
+    }
+
+    @Test
+    void looksUpMalformedLiteralsAsNamesOnThePool() throws Exception {
+        CompletableFuture<List<InetAddress>> malformed = resolver.resolve("999.1.1.1");
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> malformed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(UnknownHostException.class, failure.getCause());
+        assertEquals(1, backend.lookups("999.1.1.1"));
+    }
+
+    @Test
+    void keepsAtMostMaxEntriesNames() throws Exception {
+        for (int i = 0; i < 250; i++) {
+            String name = "host-" + i + ".example";
+            backend.addresses.put(name, List.of(InetAddress.getByAddress(name, new byte[] {10, 0, 1, (byte) i})));
+            resolver.resolveNow(name);
+            assertTrue((Integer) resolver.getStats().get("cachedNames") <= 100);
+        }
+        assertTrue((Long) resolver.getStats().get("evictions") >= 150);
+    }
+
+    @Test
+    void failsUnresolvedFutureWithUnknownHost() {
+        ExecutionException failure = assertThrows(ExecutionException.class,
+            () -> resolver.resolve("missing.example").get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(UnknownHostException.class, failure.getCause());
+    }
+
+    /**
+     * Answers from a fixed table, counting lookups per name; lookups wait for the gate to open
+     */
+    private static class StubDnsBackend implements DnsBackend {
+
+        private final Map<String, List<InetAddress>> addresses = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> lookups = new ConcurrentHashMap<>();
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        @Override
+        public List<InetAddress> lookup(String host) throws UnknownHostException {
+            lookups.computeIfAbsent(host, name -> new AtomicInteger()).incrementAndGet();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            List<InetAddress> answer = addresses.get(host);
+            if (answer == null) {
+                throw new UnknownHostException(host);
+            }
+            return answer;
+        }
+
+        int lookups(String host) {
+            AtomicInteger count = lookups.get(host);
+            return count == null ? 0 : count.get();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.service.HttpEndpointChecker.HttpCheck;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * HTTP endpoint checks against a local HttpServer on an ephemeral port
+ */
+class HttpEndpointCheckerTest {
+
+    private static final long ACQUIRE_TIMEOUT_MS = 300;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch twoWaiting = new CountDownLatch(2);
+    private HttpServer server;
+    private DnsResolver resolver;
+    private TargetAddressPolicy policy;
+    private HttpEndpointChecker checker;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 50);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            exchange.getResponseHeaders().add("X-Frame-Options", "DENY");
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            twoWaiting.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+
+        resolver = new DnsResolver();
+        ReflectionTestUtils.setField(resolver, "dnsBackend", new SystemDnsBackend());
+        ReflectionTestUtils.setField(resolver, "workers", 2);
+        ReflectionTestUtils.setField(resolver, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(resolver, "negativeTtlSeconds", 30L);
+        ReflectionTestUtils.setField(resolver, "timeoutMs", 2000L);
+        ReflectionTestUtils.setField(resolver, "maxEntries", 100);
+        resolver.start();
+        // The local servers listen on loopback, which targets may only reach when allowed
+        policy = new TargetAddressPolicy();
+        ReflectionTestUtils.setField(policy, "allowedNetworks", "127.0.0.0/8");
+        policy.init();
+
+        checker = new HttpEndpointChecker();
+        ReflectionTestUtils.setField(checker, "dnsResolver", resolver);
+        ReflectionTestUtils.setField(checker, "targetAddressPolicy", policy);
+        ReflectionTestUtils.setField(checker, "maxInFlight", 2);
+        ReflectionTestUtils.setField(checker, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(checker, "requestTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(checker, "acquireTimeoutMs", ACQUIRE_TIMEOUT_MS);
+        ReflectionTestUtils.setField(checker, "workers", 2);
+        ReflectionTestUtils.setField(checker, "userAgent", "CyberRisk-Test/1.0");
+        checker.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        checker.shutdown();
+        resolver.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void returnsStatusAndHeaders() throws Exception {
+        HttpCheck check = checker.fetch(uri("/")).get(10, TimeUnit.SECONDS);
+
+        assertTrue(check.succeeded());
+        assertEquals(200, check.status());
+        assertEquals(List.of("DENY"), check.header("x-frame-options"));
+        assertEquals(0, checker.getStats().get("inFlight"));
+    }
+
+    @Test
+    void reportsConnectionFailureInResult() throws Exception {
+        int closedPort;
+        try (ServerSocket released = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            closedPort = released.getLocalPort();
+        }
+
+        HttpCheck check = checker.fetch(URI.create("http://127.0.0.1:" + closedPort + "/")).get(10, TimeUnit.SECONDS);
+
+        assertFalse(check.succeeded());
+        assertEquals(0, check.status());
+        assertEquals(1L, checker.getStats().get("failures"));
+    }
+
+    @Test
+    void refusesHostsOutsideAllowedNetworks() throws Exception {
+        ReflectionTestUtils.setField(policy, "allowedNetworks", "");
+        policy.init();
+
+        HttpCheck check = checker.fetch(uri("/")).get(10, TimeUnit.SECONDS);
+
+        assertFalse(check.succeeded());
+        assertEquals("address not permitted", check.error());
+        assertEquals(1L, checker.getStats().get("refused"));
+        assertEquals(0L, checker.getStats().get("requests"));
+    }
+
+    @Test
+    void rejectsRequestsBeyondInFlightLimit() throws Exception {
+        CompletableFuture<HttpCheck> first = checker.fetch(uri("/slow"));
+        CompletableFuture<HttpCheck> second = checker.fetch(uri("/slow"));
+        assertTrue(twoWaiting.await(10, TimeUnit.SECONDS));
+        assertEquals(2, checker.getStats().get("inFlight"));
+
+        long start = System.nanoTime();
+        HttpCheck third = checker.fetch(uri("/")).get(10, TimeUnit.SECONDS);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertFalse(third.succeeded());
+        assertEquals("in-flight limit reached", third.error());
+        assertTrue(elapsedMs >= ACQUIRE_TIMEOUT_MS, "gave up after " + elapsedMs + " ms");
+        assertEquals(1L, checker.getStats().get("rejected"));
+
+        release.countDown();
+        assertEquals(204, first.get(10, TimeUnit.SECONDS).status());
+        assertEquals(204, second.get(10, TimeUnit.SECONDS).status());
+        assertEquals(0, checker.getStats().get("inFlight"));
+        assertTrue(checker.fetch(uri("/")).get(10, TimeUnit.SECONDS).succeeded());
+    }
+
+    @Test
+    void waitsForFreedSlotWithinAcquireTimeout() throws Exception {
+        CompletableFuture<HttpCheck> first = checker.fetch(uri("/slow"));
+        CompletableFuture<HttpCheck> second = checker.fetch(uri("/slow"));
+        assertTrue(twoWaiting.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS).execute(release::countDown);
+        HttpCheck third = checker.fetch(uri("/")).get(10, TimeUnit.SECONDS);
+
+        assertTrue(third.succeeded());
+        assertEquals(0L, checker.getStats().get("rejected"));
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+}
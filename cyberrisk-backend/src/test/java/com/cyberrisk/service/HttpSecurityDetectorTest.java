@@ -0,0 +1,235 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.Severity;
+import com.cyberrisk.model.Vulnerability;
+import com.cyberrisk.model.VulnerabilityDefinition;
+import com.cyberrisk.repository.VulnerabilityDefinitionRepository;
+import com.cyberrisk.service.HttpSecurityDetector.HttpFindings;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.security.KeyStore;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Security header and exposed path findings against local HTTP and HTTPS servers
+ *
+ * HTTPS is served with the self-signed certificate under tls/, which the
+ * endpoint checker accepts.
+ */
+class HttpSecurityDetectorTest {
+
+    private static final char[] KEYSTORE_PASSWORD = "changeit".toCharArray();
+
+    private HttpServer server;
+    private DnsResolver resolver;
+    private TargetAddressPolicy policy;
+    private HttpEndpointChecker checker;
+    private HttpSecurityDetector detector;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        resolver = new DnsResolver();
+        ReflectionTestUtils.setField(resolver, "dnsBackend", new SystemDnsBackend());
+        ReflectionTestUtils.setField(resolver, "workers", 2);
+        ReflectionTestUtils.setField(resolver, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(resolver, "negativeTtlSeconds", 30L);
+        ReflectionTestUtils.setField(resolver, "timeoutMs", 2000L);
+        ReflectionTestUtils.setField(resolver, "maxEntries", 100);
+        resolver.start();
+        // The local servers listen on loopback, which targets may only reach when allowed
+        policy = new TargetAddressPolicy();
+        ReflectionTestUtils.setField(policy, "allowedNetworks", "127.0.0.0/8");
+        policy.init();
+
+        checker = new HttpEndpointChecker();
+        ReflectionTestUtils.setField(checker, "dnsResolver", resolver);
+        ReflectionTestUtils.setField(checker, "targetAddressPolicy", policy);
+        ReflectionTestUtils.setField(checker, "maxInFlight", 20);
+        ReflectionTestUtils.setField(checker, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(checker, "requestTimeoutMs", 3000L);
+        ReflectionTestUtils.setField(checker, "acquireTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(checker, "workers", 2);
+        ReflectionTestUtils.setField(checker, "userAgent", "CyberRisk-Test/1.0");
+        checker.start();
+
+        VulnerabilityCatalog catalog = new VulnerabilityCatalog();
+        ReflectionTestUtils.setField(catalog, "vulnerabilityDefinitionRepository", inMemoryRepository());
+        catalog.load();
+
+        detector = new HttpSecurityDetector();
+        ReflectionTestUtils.setField(detector, "httpEndpointChecker", checker);
+        ReflectionTestUtils.setField(detector, "vulnerabilityCatalog", catalog);
+        ReflectionTestUtils.setField(detector, "enabled", true);
+        ReflectionTestUtils.setField(detector, "sensitivePaths", "/api,/admin");
+        ReflectionTestUtils.setField(detector, "requestTimeoutMs", 3000L);
+        ReflectionTestUtils.setField(detector, "moduleTimeoutMs", 30000L);
+        detector.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        checker.shutdown();
+        resolver.shutdown();
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void reportsMissingHstsAndCspOnHttpsSite() throws Exception {
+        serveHttps(headers -> headers.add("Content-Type", "text/html; charset=utf-8"));
+
+        HttpFindings findings = detect();
+
+        assertTrue(findings.conclusive());
+        assertEquals("https", findings.root().uri().getScheme());
+        List<String> ids = ids(findings);
+        assertTrue(ids.contains("HTTP-MISSING-HSTS"), ids.toString());
+        assertTrue(ids.contains("HTTP-MISSING-CSP"), ids.toString());
+        assertTrue(ids.contains("HTTP-MISSING-FRAME-OPTIONS"), ids.toString());
+    }
+
+    @Test
+    void acceptsHttpsSiteWithSecurityHeaders() throws Exception {
+        serveHttps(headers -> {
+            headers.add("Content-Type", "text/html");
+            headers.add("Strict-Transport-Security", "max-age=31536000");
+            headers.add("Content-Security-Policy", "default-src 'self'; frame-ancestors 'none'");
+            headers.add("Set-Cookie", "SESSION=1; Secure; HttpOnly; SameSite=Strict");
+        });
+
+        HttpFindings findings = detect();
+
+        assertTrue(findings.conclusive());
+        // Only the open /api path is reported
+        assertEquals(List.of(HttpSecurityDetector.SUPERSEDED_RULE_ID), ids(findings));
+    }
+
+    @Test
+    void fallsBackToPlainHttpWithoutHstsFinding() throws Exception {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 50);
+        serve(headers -> {
+            headers.add("Content-Type", "text/html");
+            headers.add("Set-Cookie", "SESSION=1");
+        });
+
+        HttpFindings findings = detect();
+
+        assertTrue(findings.conclusive());
+        assertEquals("http", findings.root().uri().getScheme());
+        List<String> ids = ids(findings);
+        assertFalse(ids.contains("HTTP-MISSING-HSTS"), ids.toString());
+        assertTrue(ids.contains("HTTP-MISSING-CSP"), ids.toString());
+        assertTrue(ids.contains("HTTP-INSECURE-COOKIES"), ids.toString());
+    }
+
+    @Test
+    void reportsSensitivePathsServedWithoutAuthentication() throws Exception {
+        serveHttps(headers -> headers.add("Strict-Transport-Security", "max-age=31536000"));
+
+        HttpFindings findings = detect();
+
+        List<Vulnerability> exposed = findings.vulnerabilities().stream()
+            .filter(vulnerability -> vulnerability.getId().equals(HttpSecurityDetector.SUPERSEDED_RULE_ID))
+            .toList();
+        assertEquals(1, exposed.size());
+        assertEquals("/api", exposed.get(0).getAffectedSystem());
+    }
+
+    @Test
+    void reportsNoResponseAsInconclusive() throws Exception {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 50);
+        int port = server.getAddress().getPort();
+        server.stop(0);
+        server = null;
+
+        HttpFindings findings = detector.detect("localhost:" + port);
+
+        assertFalse(findings.conclusive());
+        assertEquals(List.of(), findings.vulnerabilities());
+    }
+
+    private HttpFindings detect() throws InterruptedException {
+        return detector.detect("localhost:" + server.getAddress().getPort());
+    }
+
+    private static List<String> ids(HttpFindings findings) {
+        return findings.vulnerabilities().stream().map(Vulnerability::getId).toList();
+    }
+
+    private void serveHttps(Consumer<Headers> rootHeaders) throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("tls/self-signed.p12")) {
+            keyStore.load(in, KEYSTORE_PASSWORD);
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, KEYSTORE_PASSWORD);
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keyManagers.getKeyManagers(), null, null);
+
+        HttpsServer httpsServer = HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 50);
+        httpsServer.setHttpsConfigurator(new HttpsConfigurator(context));
+        server = httpsServer;
+        serve(rootHeaders);
+    }
+
+    /**
+     * Serve the root page with the given headers, /api openly, /admin behind a login and 404 elsewhere
+     */
+    private void serve(Consumer<Headers> rootHeaders) {
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            int status = 404;
+            if (path.equals("/")) {
+                rootHeaders.accept(exchange.getResponseHeaders());
+                status = 200;
+            } else if (path.equals("/api")) {
+                status = 200;
+            } else if (path.equals("/admin")) {
+                exchange.getResponseHeaders().add("WWW-Authenticate", "Basic realm=\"admin\"");
+                status = 401;
+            }
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    /**
+     * Repository holding only the probabilistic endpoint rule that path findings refer to
+     */
+    private static VulnerabilityDefinitionRepository inMemoryRepository() {
+        VulnerabilityDefinition insecureEndpoints = new VulnerabilityDefinition(
+            HttpSecurityDetector.SUPERSEDED_RULE_ID, "Insecure API Endpoints", "API endpoints without authentication",
+            Severity.HIGH, "API Security", null, "API", "Require authentication", 7.5, true);
+        return (VulnerabilityDefinitionRepository) Proxy.newProxyInstance(
+            VulnerabilityDefinitionRepository.class.getClassLoader(),
+            new Class<?>[] {VulnerabilityDefinitionRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "findAll" -> List.of(insecureEndpoints);
+                case "saveAll" -> args[0];
+                case "toString" -> "InMemoryVulnerabilityDefinitionRepository";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+}
@@ -0,0 +1,40 @@
+package com.cyberrisk.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Parsing of IPv4 and IPv6 literals without name lookups
+ */
+class IpLiteralTest {
+
+    @Test
+    void parsesIpv4Literals() {
+        assertEquals("192.0.2.7", IpLiteral.parse("192.0.2.7").getHostAddress());
+        assertEquals("255.255.255.255", IpLiteral.parse("255.255.255.255").getHostAddress());
+        assertEquals("0.0.0.0", IpLiteral.parse("0.0.0.0").getHostAddress());
+    }
+
+    @Test
+    void parsesIpv6Literals() {
+        assertEquals("0:0:0:0:0:0:0:1", IpLiteral.parse("::1").getHostAddress());
+        assertEquals("0:0:0:0:0:0:0:0", IpLiteral.parse("::").getHostAddress());
+        assertEquals("2001:db8:0:0:0:0:0:1", IpLiteral.parse("2001:DB8::1").getHostAddress());
+        assertEquals("2001:db8:1:2:3:4:5:6", IpLiteral.parse("2001:db8:1:2:3:4:5:6").getHostAddress());
+        assertEquals("1:0:0:0:0:0:0:0", IpLiteral.parse("1::").getHostAddress());
+        assertEquals("64:ff9b:0:0:0:0:c000:207", IpLiteral.parse("64:ff9b::192.0.2.7").getHostAddress());
+        // IPv4-mapped addresses come back as IPv4
+        assertEquals("192.0.2.7", IpLiteral.parse("::ffff:192.0.2.7").getHostAddress());
+    }
+
+    @Test
+    void rejectsMalformedLiterals() {
+        for (String text : new String[] {"999.1.1.1", "1.2.3", "1.2.3.4.5", "1..2.3", "1.2.3.-4", "0x1.2.3.4", "١.2.3.4",
+            "example.com", "", ":", ":::", "1::2::3", "1:2:3:4:5:6:7", "1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7::8",
+            "12345::", "g::1", "::1.2.3", "1.2.3.4::", "fe80::1%eth0"}) {
+            assertNull(IpLiteral.parse(text), text);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.dto.ComponentDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Port list parsing and banner recognition of the network exposure detector
+ */
+class NetworkExposureDetectorTest {
+
+    @Test
+    void parsesPortListsWithRangesInPortOrder() {
+        assertEquals(List.of(21, 22, 23, 80, 8000, 8001, 8002),
+            NetworkExposureDetector.parsePorts("8000-8002, 80,21-23,22"));
+    }
+
+    @Test
+    void rejectsInvalidPortRanges() {
+        assertThrows(IllegalArgumentException.class, () -> NetworkExposureDetector.parsePorts("0-10"));
+        assertThrows(IllegalArgumentException.class, () -> NetworkExposureDetector.parsePorts("100-90"));
+        assertThrows(IllegalArgumentException.class, () -> NetworkExposureDetector.parsePorts("65536"));
+    }
+
+    @Test
+    void recognizesOpenSshBanner() {
+        ComponentDto component = NetworkExposureDetector.componentFromBanner("SSH-2.0-OpenSSH_8.9p1 Ubuntu-3");
+
+        assertEquals("openssh", component.getName());
+        assertEquals("8.9p1", component.getVersion());
+        assertEquals("openbsd", component.getVendor());
+    }
+
+    @Test
+    void recognizesHttpServerHeader() {
+        ComponentDto component = NetworkExposureDetector.componentFromBanner(
+            "HTTP/1.1 200 OK\r\nDate: Mon, 01 Jan 2024 00:00:00 GMT\r\nServer: Apache/2.4.49 (Unix)\r\n");
+
+        assertEquals("http_server", component.getName());
+        assertEquals("2.4.49", component.getVersion());
+        assertEquals("apache", component.getVendor());
+    }
+
+    @Test
+    void recognizesFtpGreeting() {
+        ComponentDto component = NetworkExposureDetector.componentFromBanner("220 (vsFTPd 3.0.3)");
+
+        assertEquals("vsftpd", component.getName());
+        assertEquals("3.0.3", component.getVersion());
+    }
+
+    @Test
+    void ignoresBannersWithoutProductVersion() {
+        assertNull(NetworkExposureDetector.componentFromBanner("+OK POP3 server ready"));
+        assertNull(NetworkExposureDetector.componentFromBanner("HTTP/1.1 400 Bad Request\r\nServer: nginx\r\n"));
+    }
+}
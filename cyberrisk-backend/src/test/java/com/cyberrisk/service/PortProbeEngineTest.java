@@ -0,0 +1,260 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.service.PortProbeEngine.PortProbeResult;
+import com.cyberrisk.service.PortProbeEngine.PortProbeResult.PortState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Port probe engine sweeps against listener sockets bound to ephemeral loopback ports
+ */
+class PortProbeEngineTest {
+
+    private static final InetAddress LOOPBACK = InetAddress.getLoopbackAddress();
+    private static final long CONNECT_TIMEOUT_MS = 500;
+    private static final long BANNER_TIMEOUT_MS = 400;
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private PortProbeEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        engine = newEngine(64, 1024);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        engine.shutdown();
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+    }
+
+    @Test
+    void reportsOpenPortWithBanner() throws Exception {
+        int port = listen("SSH-2.0-OpenSSH_8.9p1 Ubuntu-3\r\n");
+
+        List<PortProbeResult> results = sweep(engine, List.of(port));
+
+        assertEquals(1, results.size());
+        assertEquals(PortState.OPEN, results.get(0).state());
+        assertEquals("SSH-2.0-OpenSSH_8.9p1 Ubuntu-3", results.get(0).banner());
+    }
+
+    @Test
+    void reportsSilentOpenPortWhenBannerTimesOut() throws Exception {
+        int port = listen(null);
+
+        long start = System.nanoTime();
+        List<PortProbeResult> results = sweep(engine, List.of(port));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(PortState.OPEN, results.get(0).state());
+        assertNull(results.get(0).banner());
+        assertTrue(elapsedMs >= BANNER_TIMEOUT_MS, "waited " + elapsedMs + " ms for a banner");
+    }
+
+    @Test
+    void reportsClosedPort() throws Exception {
+        int port;
+        try (ServerSocket released = new ServerSocket(0, 1, LOOPBACK)) {
+            port = released.getLocalPort();
+        }
+
+        List<PortProbeResult> results = sweep(engine, List.of(port));
+
+        assertEquals(PortState.CLOSED, results.get(0).state());
+    }
+
+    @Test
+    void reportsFilteredPortWhenConnectTimesOut() throws Exception {
+        // A listener that never accepts drops connection attempts once its backlog is full
+        ServerSocket server = new ServerSocket(0, 1, LOOPBACK);
+        resources.add(server);
+        boolean saturated = false;
+        for (int i = 0; i < 16 && !saturated; i++) {
+            Socket filler = new Socket();
+            resources.add(filler);
+            try {
+                filler.connect(new InetSocketAddress(LOOPBACK, server.getLocalPort()), 200);
+            } catch (SocketTimeoutException e) {
+                saturated = true;
+            }
+        }
+        assumeTrue(saturated, "listen backlog could not be saturated on this platform");
+
+        long start = System.nanoTime();
+        List<PortProbeResult> results = sweep(engine, List.of(server.getLocalPort()));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(PortState.FILTERED, results.get(0).state());
+        assertTrue(elapsedMs >= CONNECT_TIMEOUT_MS, "gave up after " + elapsedMs + " ms");
+    }
+
+    @Test
+    void returnsOneResultPerDistinctPortInPortOrder() throws Exception {
+        int open = listen("220 ready\r\n");
+        int closed;
+        try (ServerSocket released = new ServerSocket(0, 1, LOOPBACK)) {
+            closed = released.getLocalPort();
+        }
+
+        List<PortProbeResult> results = sweep(engine, List.of(open, closed, open));
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).port() < results.get(1).port());
+        for (PortProbeResult result : results) {
+            assertEquals(result.port() == open ? PortState.OPEN : PortState.CLOSED, result.state());
+        }
+    }
+
+    @Test
+    void rejectsInvalidPorts() {
+        assertThrows(IllegalArgumentException.class, () -> engine.probe(LOOPBACK, List.of(0)));
+        assertThrows(IllegalArgumentException.class, () -> engine.probe(LOOPBACK, List.of(65536)));
+    }
+
+    @Test
+    void capsConcurrentProbesPerTarget() throws Exception {
+        engine.shutdown();
+        engine = newEngine(2, 1024);
+        List<Integer> ports = silentPorts(6);
+
+        SocketGauge gauge = new SocketGauge(engine);
+        long start = System.nanoTime();
+        CompletableFuture<List<PortProbeResult>> sweep = engine.probe(LOOPBACK, ports);
+        List<PortProbeResult> results = gauge.watch(sweep);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(results.stream().allMatch(PortProbeResult::isOpen));
+        assertTrue(gauge.peak <= 2, "peak of " + gauge.peak + " open sockets");
+        // Every silent port holds its socket for the banner timeout: six ports two at a time take three rounds
+        assertTrue(elapsedMs >= 3 * BANNER_TIMEOUT_MS, "sweep took " + elapsedMs + " ms");
+        assertTrue(elapsedMs < 6 * BANNER_TIMEOUT_MS, "sweep took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void capsOpenSocketsAcrossTargets() throws Exception {
+        engine.shutdown();
+        engine = newEngine(4, 3);
+        List<Integer> ports = silentPorts(4);
+
+        SocketGauge gauge = new SocketGauge(engine);
+        long start = System.nanoTime();
+        CompletableFuture<List<PortProbeResult>> first = engine.probe(LOOPBACK, ports);
+        CompletableFuture<List<PortProbeResult>> second = engine.probe(LOOPBACK, ports);
+        gauge.watch(CompletableFuture.allOf(first, second));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(4, first.get().stream().filter(PortProbeResult::isOpen).count());
+        assertEquals(4, second.get().stream().filter(PortProbeResult::isOpen).count());
+        assertTrue(gauge.peak <= 3, "peak of " + gauge.peak + " open sockets");
+        // Eight probes three at a time take three rounds
+        assertTrue(elapsedMs >= 3 * BANNER_TIMEOUT_MS, "sweeps took " + elapsedMs + " ms");
+    }
+
+    private PortProbeEngine newEngine(int perTargetConcurrency, int maxOpenSockets) throws IOException {
+        PortProbeEngine probeEngine = new PortProbeEngine();
+        ReflectionTestUtils.setField(probeEngine, "connectTimeoutMs", CONNECT_TIMEOUT_MS);
+        ReflectionTestUtils.setField(probeEngine, "bannerTimeoutMs", BANNER_TIMEOUT_MS);
+        ReflectionTestUtils.setField(probeEngine, "bannerMaxBytes", 512);
+        ReflectionTestUtils.setField(probeEngine, "perTargetConcurrency", perTargetConcurrency);
+        ReflectionTestUtils.setField(probeEngine, "maxOpenSockets", maxOpenSockets);
+        probeEngine.start();
+        return probeEngine;
+    }
+
+    private static List<PortProbeResult> sweep(PortProbeEngine probeEngine, List<Integer> ports) throws Exception {
+        return probeEngine.probe(LOOPBACK, ports).get(10, TimeUnit.SECONDS);
+    }
+
+    private List<Integer> silentPorts(int count) throws IOException {
+        List<Integer> ports = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ports.add(listen(null));
+        }
+        return ports;
+    }
+
+    /**
+     * Bind a listener that sends the greeting, if any, to each connection and holds it until the client closes
+     */
+    private int listen(String greeting) throws IOException {
+        ServerSocket server = new ServerSocket(0, 50, LOOPBACK);
+        resources.add(server);
+        Thread acceptor = new Thread(() -> {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    Thread handler = new Thread(() -> serve(socket, greeting));
+                    handler.setDaemon(true);
+                    handler.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return server.getLocalPort();
+    }
+
+    private static void serve(Socket socket, String greeting) {
+        try (socket; InputStream in = socket.getInputStream(); OutputStream out = socket.getOutputStream()) {
+            if (greeting != null) {
+                out.write(greeting.getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+            }
+            byte[] buffer = new byte[256];
+            while (in.read(buffer) >= 0) {
+                // Drain until the prober closes
+            }
+        } catch (IOException ignored) {
+            // Prober reset the connection
+        }
+    }
+
+    /**
+     * Samples the engine's open socket count while sweeps run
+     */
+    private static class SocketGauge {
+
+        private final PortProbeEngine probeEngine;
+        private int peak;
+
+        SocketGauge(PortProbeEngine probeEngine) {
+            this.probeEngine = probeEngine;
+        }
+
+        <T> T watch(CompletableFuture<T> sweeps) throws Exception {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!sweeps.isDone() && System.nanoTime() < deadline) {
+                peak = Math.max(peak, (Integer) probeEngine.getStats().get("openSockets"));
+                Thread.sleep(5);
+            }
+            return sweeps.get(1, TimeUnit.SECONDS);
+        }
+    }
+}
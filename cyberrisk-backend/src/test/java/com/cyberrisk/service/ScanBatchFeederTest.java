@@ -0,0 +1,95 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.ScanResult;
+import com.cyberrisk.model.ScanStatus;
+import com.cyberrisk.repository.ScanResultRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Batch scans left in the feeder queue at shutdown, with an engine that never frees up
+ */
+class ScanBatchFeederTest {
+
+    @Test
+    void cancelsWaitingScansAndTheirFollowersOnShutdown() throws Exception {
+        List<Long> cancelledIds = new ArrayList<>();
+        InFlightScanRegistry registry = new InFlightScanRegistry();
+        BlockedEngine engine = new BlockedEngine();
+
+        ScanBatchFeeder feeder = new ScanBatchFeeder();
+        ReflectionTestUtils.setField(feeder, "scanJobEngine", engine);
+        ReflectionTestUtils.setField(feeder, "scanResultRepository", recordingRepository(cancelledIds));
+        ReflectionTestUtils.setField(feeder, "inFlightScanRegistry", registry);
+        ReflectionTestUtils.setField(feeder, "queueCapacity", 10);
+        ReflectionTestUtils.setField(feeder, "interactiveHeadroom", 0);
+        feeder.start();
+
+        AtomicInteger rejected = new AtomicInteger();
+        for (long id = 1; id <= 3; id++) {
+            ScanResult scan = scan(id);
+            assertTrue(registry.joinOrLead(scan.getTargetKey(), scan));
+            feeder.enqueue(scan, () -> { }, rejected::incrementAndGet);
+        }
+        registry.joinOrLead("target-3", scan(4L));
+        assertTrue(engine.waiting.await(5, TimeUnit.SECONDS));
+
+        feeder.shutdown();
+
+        // The scan the feeder was handing over is rejected; the ones behind it are cancelled
+        assertEquals(1, rejected.get());
+        assertEquals(List.of(2L, 3L, 4L), cancelledIds);
+        assertEquals(2L, feeder.getStats().get("cancelledJobs"));
+        assertEquals(0, feeder.getStats().get("waitingJobs"));
+    }
+
+    private static ScanResult scan(long id) {
+        ScanResult scan = new ScanResult(null, "Example Corp", "example.com");
+        scan.setId(id);
+        scan.setTargetKey("target-" + id);
+        return scan;
+    }
+
+    private static ScanResultRepository recordingRepository(List<Long> cancelledIds) {
+        return (ScanResultRepository) Proxy.newProxyInstance(
+            ScanResultRepository.class.getClassLoader(),
+            new Class<?>[] {ScanResultRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "updateStatusByIdIn" -> {
+                    assertEquals(ScanStatus.CANCELLED, args[1]);
+                    @SuppressWarnings("unchecked")
+                    List<Long> ids = (List<Long>) args[0];
+                    cancelledIds.addAll(ids);
+                    yield ids.size();
+                }
+                case "toString" -> "RecordingScanResultRepository";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+
+    /**
+     * An engine without room: submissions wait until interrupted
+     */
+    private static class BlockedEngine extends ScanJobEngine {
+
+        private final CountDownLatch waiting = new CountDownLatch(1);
+
+        @Override
+        public void submitWhenReady(Runnable job, int headroom) throws InterruptedException {
+            waiting.countDown();
+            new CountDownLatch(1).await();
+        }
+    }
+}
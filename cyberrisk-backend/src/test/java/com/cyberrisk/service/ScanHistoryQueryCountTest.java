@@ -0,0 +1,114 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.dto.ScanResponse;
+import com.cyberrisk.model.Priority;
+import com.cyberrisk.model.Recommendation;
+import com.cyberrisk.model.ScanResult;
+import com.cyberrisk.model.ScanStatus;
+import com.cyberrisk.model.Severity;
+import com.cyberrisk.model.User;
+import com.cyberrisk.model.Vulnerability;
+import com.cyberrisk.model.VulnerabilityDefinition;
+import com.cyberrisk.repository.ScanResultRepository;
+import com.cyberrisk.repository.VulnerabilityDefinitionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SQL statements issued to load a user's scan history, counted with Hibernate statistics
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ScanHistoryQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ScanResultRepository scanResultRepository;
+
+    @Autowired
+    private VulnerabilityDefinitionRepository vulnerabilityDefinitionRepository;
+
+    private ScanService scanService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        VulnerabilityDefinition definition = entityManager.persist(new VulnerabilityDefinition(
+            "TEST-OPEN-PORT", "Open Port", "Service reachable from the internet",
+            Severity.MEDIUM, "Network Security", null, "Firewall", "Close the port", 5.3, false));
+        entityManager.flush();
+
+        VulnerabilityCatalog catalog = new VulnerabilityCatalog();
+        ReflectionTestUtils.setField(catalog, "vulnerabilityDefinitionRepository", vulnerabilityDefinitionRepository);
+        catalog.load();
+
+        scanService = new ScanService();
+        ReflectionTestUtils.setField(scanService, "scanResultRepository", scanResultRepository);
+        ReflectionTestUtils.setField(scanService, "vulnerabilityCatalog", catalog);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        persistUser("small", 5, definition);
+        persistUser("large", 500, definition);
+    }
+
+    @Test
+    void loadsHistoryWithSameStatementCountForFiveAndFiveHundredScans() {
+        long small = statementsToLoadHistory("small", 5);
+        long large = statementsToLoadHistory("large", 500);
+
+        assertEquals(small, large);
+        assertTrue(large <= 3, large + " statements");
+    }
+
+    /**
+     * Load a user's history from an empty persistence context and count the prepared statements
+     */
+    private long statementsToLoadHistory(String username, int expectedScans) {
+        entityManager.flush();
+        entityManager.clear();
+        User user = entityManager.getEntityManager()
+            .createQuery("SELECT u FROM User u WHERE u.username = :username", User.class)
+            .setParameter("username", username)
+            .getSingleResult();
+        statistics.clear();
+
+        List<ScanResponse> history = scanService.getScanResultsByUser(user);
+
+        assertEquals(expectedScans, history.size());
+        assertEquals(2, history.get(expectedScans - 1).getVulnerabilities().size());
+        assertEquals(1, history.get(expectedScans - 1).getRecommendations().size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void persistUser(String username, int scans, VulnerabilityDefinition definition) {
+        User user = entityManager.persist(new User(username, username + "@example.com", "secret", "Test", "User"));
+        for (int i = 0; i < scans; i++) {
+            ScanResult scanResult = new ScanResult(user, "Example Corp", "example.com");
+            scanResult.setStatus(ScanStatus.COMPLETED);
+            scanResult.setRiskScore(40);
+            scanResult.setVulnerabilities(new ArrayList<>(List.of(new Vulnerability(definition), new Vulnerability(definition))));
+            scanResult.setRecommendations(new ArrayList<>(List.of(
+                new Recommendation("Close unused ports", "Restrict inbound traffic", Priority.MEDIUM, "Network"))));
+            entityManager.persist(scanResult);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.dto.ScanRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Module scheduling of the orchestrator with stub modules
+ */
+class ScanOrchestratorTest {
+
+    private ScanOrchestrator orchestrator;
+
+    @AfterEach
+    void tearDown() {
+        orchestrator.shutdown();
+    }
+
+    @Test
+    void runsDependentsOfCompletedModules() throws Exception {
+        StubModule network = new StubModule("network", Set.of(), true, false);
+        StubModule tls = new StubModule("tls", Set.of("network"), true, false);
+
+        Map<String, String> metadata = run(network, tls);
+
+        assertEquals("completed", metadata.get("module.tls.status"));
+        assertEquals(1, tls.scans.get());
+    }
+
+    @Test
+    void skipsDependentsOfFailedModules() throws Exception {
+        StubModule network = new StubModule("network", Set.of(), true, true);
+        StubModule tls = new StubModule("tls", Set.of("network"), true, false);
+
+        Map<String, String> metadata = run(network, tls);
+
+        assertEquals("failed: IllegalStateException", metadata.get("module.network.status"));
+        assertEquals("skipped: dependency network failed", metadata.get("module.tls.status"));
+        assertEquals(0, tls.scans.get());
+    }
+
+    @Test
+    void skipsDependentsOfSkippedModules() throws Exception {
+        StubModule network = new StubModule("network", Set.of(), true, false);
+        network.enabled = false;
+        StubModule tls = new StubModule("tls", Set.of("network"), true, false);
+
+        Map<String, String> metadata = run(network, tls);
+
+        assertEquals("skipped: dependency network skipped", metadata.get("module.tls.status"));
+        assertEquals(0, tls.scans.get());
+    }
+
+    @Test
+    void runsModulesThatWorkWithoutTheirDependencies() throws Exception {
+        StubModule network = new StubModule("network", Set.of(), true, true);
+        StubModule components = new StubModule("components", Set.of("network"), false, false);
+
+        Map<String, String> metadata = run(network, components);
+
+        assertEquals("completed", metadata.get("module.components.status"));
+        assertEquals(1, components.scans.get());
+    }
+
+    private Map<String, String> run(ScannerModule... modules) throws InterruptedException {
+        orchestrator = new ScanOrchestrator();
+        ReflectionTestUtils.setField(orchestrator, "modules", List.of(modules));
+        ReflectionTestUtils.setField(orchestrator, "workers", 2);
+        ReflectionTestUtils.setField(orchestrator, "deadlineMs", 5000L);
+        orchestrator.start();
+
+        Map<String, String> metadata = new HashMap<>();
+        ScanContext context = new ScanContext(new ScanRequest("Example Corp", "example.com"), 42);
+        orchestrator.run(context, metadata, findings -> { });
+        return metadata;
+    }
+
+    private static class StubModule implements ScannerModule {
+
+        private final String name;
+        private final Set<String> dependencies;
+        private final boolean requiresCompletedDependencies;
+        private final boolean fails;
+        private final AtomicInteger scans = new AtomicInteger();
+        private volatile boolean enabled = true;
+
+        StubModule(String name, Set<String> dependencies, boolean requiresCompletedDependencies, boolean fails) {
+            this.name = name;
+            this.dependencies = dependencies;
+            this.requiresCompletedDependencies = requiresCompletedDependencies;
+            this.fails = fails;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Set<ScanInput> getInputs() {
+            return Set.of();
+        }
+
+        @Override
+        public Set<String> getDependencies() {
+            return dependencies;
+        }
+
+        @Override
+        public boolean requiresCompletedDependencies() {
+            return requiresCompletedDependencies;
+        }
+
+        @Override
+        public int getCostEstimate() {
+            return 1;
+        }
+
+        @Override
+        public Duration getTimeout() {
+            return Duration.ofSeconds(5);
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        @Override
+        public ModuleResult scan(ScanContext context) {
+            scans.incrementAndGet();
+            if (fails) {
+                throw new IllegalStateException("probe failed");
+            }
+            return ModuleResult.empty();
+        }
+    }
+}
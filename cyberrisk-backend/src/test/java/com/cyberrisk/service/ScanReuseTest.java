@@ -0,0 +1,119 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.dto.ScanRequest;
+import com.cyberrisk.dto.ScanResponse;
+import com.cyberrisk.model.Priority;
+import com.cyberrisk.model.Recommendation;
+import com.cyberrisk.model.ScanResult;
+import com.cyberrisk.model.ScanStatus;
+import com.cyberrisk.model.Severity;
+import com.cyberrisk.model.User;
+import com.cyberrisk.model.Vulnerability;
+import com.cyberrisk.model.VulnerabilityDefinition;
+import com.cyberrisk.repository.RiskAggregateRepository;
+import com.cyberrisk.repository.ScanResultRepository;
+import com.cyberrisk.repository.VulnerabilityDefinitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Serving a scan request from a stored scan of the same target
+ */
+@DataJpaTest
+class ScanReuseTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ScanResultRepository scanResultRepository;
+
+    @Autowired
+    private RiskAggregateRepository riskAggregateRepository;
+
+    @Autowired
+    private VulnerabilityDefinitionRepository vulnerabilityDefinitionRepository;
+
+    private ScanService scanService;
+    private InFlightScanRegistry inFlightScanRegistry;
+    private VulnerabilityDefinition definition;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        definition = entityManager.persist(new VulnerabilityDefinition(
+            "TEST-OPEN-PORT", "Open Port", "Service reachable from the internet",
+            Severity.MEDIUM, "Network Security", null, "Firewall", "Close the port", 5.3, false));
+        user = new User("reuser", "reuser@example.com", "secret", "Test", "User");
+        user.setOrganization("Example Corp");
+        user = entityManager.persist(user);
+
+        VulnerabilityCatalog catalog = new VulnerabilityCatalog();
+        ReflectionTestUtils.setField(catalog, "vulnerabilityDefinitionRepository", vulnerabilityDefinitionRepository);
+        catalog.load();
+
+        RiskAggregateService riskAggregateService = new RiskAggregateService();
+        ReflectionTestUtils.setField(riskAggregateService, "scanResultRepository", scanResultRepository);
+        ReflectionTestUtils.setField(riskAggregateService, "riskAggregateRepository", riskAggregateRepository);
+        ReflectionTestUtils.setField(riskAggregateService, "transactionTemplate", new TransactionTemplate(transactionManager));
+
+        inFlightScanRegistry = new InFlightScanRegistry();
+        scanService = new ScanService();
+        ReflectionTestUtils.setField(scanService, "scanResultRepository", scanResultRepository);
+        ReflectionTestUtils.setField(scanService, "vulnerabilityCatalog", catalog);
+        ReflectionTestUtils.setField(scanService, "riskAggregateService", riskAggregateService);
+        ReflectionTestUtils.setField(scanService, "inFlightScanRegistry", inFlightScanRegistry);
+        ReflectionTestUtils.setField(scanService, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(scanService, "freshnessSeconds", 300L);
+        scanService.init();
+    }
+
+    @Test
+    void reusesStoredScanWithItsFindings() {
+        ScanRequest request = new ScanRequest("Example Corp", "example.com");
+        ScanResult stored = storeCompletedScan(request);
+
+        ScanResponse response = scanService.performScan(request, user);
+
+        assertNotEquals(stored.getId().toString(), response.getId());
+        assertEquals(ScanStatus.COMPLETED, response.getStatus());
+        assertEquals(40, response.getRiskScore());
+        assertEquals(List.of("TEST-OPEN-PORT", "TEST-OPEN-PORT"),
+            response.getVulnerabilities().stream().map(vulnerability -> vulnerability.getId()).toList());
+        assertEquals("Open Port", response.getVulnerabilities().get(0).getTitle());
+        assertEquals(1, response.getRecommendations().size());
+        assertEquals(1L, inFlightScanRegistry.getStats().get("reusedScans"));
+    }
+
+    /**
+     * Store a completed scan of the request's target and start over with an empty persistence context
+     */
+    private ScanResult storeCompletedScan(ScanRequest request) {
+        ScanResult scanResult = new ScanResult(user, request.getOrganizationName(), request.getTargetDomain());
+        scanResult.setTargetKey(ReflectionTestUtils.invokeMethod(scanService, "buildTargetKey", request));
+        scanResult.setStatus(ScanStatus.COMPLETED);
+        scanResult.setRiskScore(40);
+        scanResult.setVulnerabilities(new ArrayList<>(List.of(new Vulnerability(definition), new Vulnerability(definition))));
+        scanResult.setRecommendations(new ArrayList<>(List.of(
+            new Recommendation("Close unused ports", "Restrict inbound traffic", Priority.MEDIUM, "Network"))));
+        ScanResult stored = entityManager.persist(scanResult);
+        entityManager.flush();
+        entityManager.clear();
+        return stored;
+    }
+}
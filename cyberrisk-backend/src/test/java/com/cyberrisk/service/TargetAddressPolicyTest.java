@@ -0,0 +1,53 @@
+package com.cyberrisk.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetAddress;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Internal address denylist and allowed networks of the target address policy
+ */
+class TargetAddressPolicyTest {
+
+    @Test
+    void refusesInternalAddressesByDefault() throws Exception {
+        TargetAddressPolicy policy = policy("");
+
+        for (String internal : new String[] {"127.0.0.1", "10.1.2.3", "172.16.0.1", "192.168.1.1", "169.254.169.254",
+            "0.0.0.0", "::1", "::", "fe80::1", "fd12:3456::1", "224.0.0.1"}) {
+            assertFalse(policy.isPermitted(InetAddress.getByName(internal)), internal);
+        }
+        assertTrue(policy.isPermitted(InetAddress.getByName("93.184.216.34")));
+        assertTrue(policy.isPermitted(InetAddress.getByName("2606:2800:220:1::1")));
+    }
+
+    @Test
+    void permitsAllowedNetworks() throws Exception {
+        TargetAddressPolicy policy = policy("10.20.0.0/16, 192.168.50.10, fd00::/8");
+
+        assertTrue(policy.isPermitted(InetAddress.getByName("10.20.255.1")));
+        assertFalse(policy.isPermitted(InetAddress.getByName("10.21.0.1")));
+        assertTrue(policy.isPermitted(InetAddress.getByName("192.168.50.10")));
+        assertFalse(policy.isPermitted(InetAddress.getByName("192.168.50.11")));
+        assertTrue(policy.isPermitted(InetAddress.getByName("fd12::1")));
+        assertFalse(policy.isPermitted(InetAddress.getByName("127.0.0.1")));
+    }
+
+    @Test
+    void rejectsInvalidNetworks() {
+        assertThrows(IllegalArgumentException.class, () -> TargetAddressPolicy.parseNetworks("10.0.0.0/33"));
+        assertThrows(IllegalArgumentException.class, () -> TargetAddressPolicy.parseNetworks("intranet.example/24"));
+    }
+
+    private static TargetAddressPolicy policy(String allowedNetworks) {
+        TargetAddressPolicy policy = new TargetAddressPolicy();
+        ReflectionTestUtils.setField(policy, "allowedNetworks", allowedNetworks);
+        policy.init();
+        return policy;
+    }
+}
@@ -0,0 +1,229 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.service.TlsInspector.TlsInspection;
+import com.cyberrisk.service.TlsInspector.TlsStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSocket;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TLS inspections of local SSLServerSockets serving self-signed certificates
+ *
+ * The keystores under tls/ hold a self-signed EC certificate for localhost
+ * valid until 2123 and one that expired in January 2020.
+ */
+class TlsInspectorTest {
+
+    private static final char[] KEYSTORE_PASSWORD = "changeit".toCharArray();
+    private static final String CIPHER_SUITE = "TLS_ECDHE_ECDSA_WITH_AES_128_GCM_SHA256";
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private DnsResolver dnsResolver;
+    private TlsInspector inspector;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dnsResolver = new DnsResolver();
+        ReflectionTestUtils.setField(dnsResolver, "dnsBackend", new SystemDnsBackend());
+        ReflectionTestUtils.setField(dnsResolver, "workers", 2);
+        ReflectionTestUtils.setField(dnsResolver, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(dnsResolver, "negativeTtlSeconds", 30L);
+        ReflectionTestUtils.setField(dnsResolver, "timeoutMs", 5000L);
+        ReflectionTestUtils.setField(dnsResolver, "maxEntries", 100);
+        dnsResolver.start();
+
+        inspector = newInspector(3600);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        inspector.shutdown();
+        dnsResolver.shutdown();
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+    }
+
+    @Test
+    void recordsNegotiatedProtocolAndCipherSuite() throws Exception {
+        int port = serveTls("tls/self-signed.p12");
+
+        TlsInspection inspection = inspect(port);
+
+        assertEquals(TlsStatus.TLS, inspection.status());
+        assertEquals("TLSv1.2", inspection.protocol());
+        assertEquals(CIPHER_SUITE, inspection.cipherSuite());
+        assertNotEquals(Boolean.TRUE, inspection.legacyProtocolsAccepted());
+    }
+
+    @Test
+    void reportsSelfSignedCertificateAsUntrusted() throws Exception {
+        int port = serveTls("tls/self-signed.p12");
+
+        TlsInspection inspection = inspect(port);
+
+        assertEquals(TlsStatus.TLS, inspection.status());
+        assertTrue(inspection.selfSigned());
+        assertEquals(1, inspection.chainLength());
+        assertNotNull(inspection.trustError());
+        assertTrue(inspection.subject().contains("CN=localhost"));
+        assertEquals(inspection.subject(), inspection.issuer());
+        assertTrue(inspection.notAfter().isAfter(Instant.now()));
+    }
+
+    @Test
+    void recordsExpiryOfExpiredCertificate() throws Exception {
+        int port = serveTls("tls/expired.p12");
+
+        TlsInspection inspection = inspect(port);
+
+        assertEquals(TlsStatus.TLS, inspection.status());
+        assertTrue(inspection.notAfter().isBefore(Instant.parse("2020-02-01T00:00:00Z")));
+        assertNotNull(inspection.trustError());
+    }
+
+    @Test
+    void reportsPlaintextServiceAsNotTls() throws Exception {
+        ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        resources.add(server);
+        accept(server, socket -> socket.getOutputStream().write("SSH-2.0-OpenSSH_9.6\r\n".getBytes(StandardCharsets.US_ASCII)));
+
+        TlsInspection inspection = inspect(server.getLocalPort());
+
+        assertEquals(TlsStatus.NOT_TLS, inspection.status());
+        assertNull(inspection.protocol());
+    }
+
+    @Test
+    void servesRepeatedInspectionsFromCacheWithinTtl() throws Exception {
+        int port = serveTls("tls/self-signed.p12");
+
+        TlsInspection first = inspect(port);
+        int connectionsAfterFirst = settledConnections();
+        TlsInspection second = inspect(port);
+
+        assertSame(first, second);
+        assertEquals(connectionsAfterFirst, settledConnections());
+        assertEquals(1L, inspector.getStats().get("handshakes"));
+        assertEquals(1L, inspector.getStats().get("cacheHits"));
+    }
+
+    @Test
+    void handshakesAgainOnceTtlExpires() throws Exception {
+        inspector.shutdown();
+        inspector = newInspector(0);
+        int port = serveTls("tls/self-signed.p12");
+
+        inspect(port);
+        int connectionsAfterFirst = settledConnections();
+        inspect(port);
+
+        assertTrue(settledConnections() > connectionsAfterFirst);
+        assertEquals(2L, inspector.getStats().get("handshakes"));
+    }
+
+    private TlsInspector newInspector(long cacheTtlSeconds) throws Exception {
+        TlsInspector tlsInspector = new TlsInspector();
+        ReflectionTestUtils.setField(tlsInspector, "dnsResolver", dnsResolver);
+        ReflectionTestUtils.setField(tlsInspector, "workers", 2);
+        ReflectionTestUtils.setField(tlsInspector, "timeoutMs", 3000);
+        ReflectionTestUtils.setField(tlsInspector, "cacheTtlSeconds", cacheTtlSeconds);
+        ReflectionTestUtils.setField(tlsInspector, "failureTtlSeconds", 60L);
+        ReflectionTestUtils.setField(tlsInspector, "cacheMaxEntries", 100);
+        tlsInspector.start();
+        return tlsInspector;
+    }
+
+    private TlsInspection inspect(int port) throws Exception {
+        return inspector.inspect("localhost", port).get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Connections accepted so far, after giving the acceptor time to pick up the last one
+     */
+    private int settledConnections() throws InterruptedException {
+        Thread.sleep(200);
+        return connections.get();
+    }
+
+    /**
+     * Serve TLS 1.2 with a single ECDHE-ECDSA cipher suite from a keystore on the classpath
+     */
+    private int serveTls(String keystore) throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(keystore)) {
+            keyStore.load(in, KEYSTORE_PASSWORD);
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, KEYSTORE_PASSWORD);
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keyManagers.getKeyManagers(), null, null);
+
+        SSLServerSocket server = (SSLServerSocket) context.getServerSocketFactory()
+            .createServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        server.setEnabledProtocols(new String[] {"TLSv1.2"});
+        server.setEnabledCipherSuites(new String[] {CIPHER_SUITE});
+        resources.add(server);
+        accept(server, socket -> ((SSLSocket) socket).startHandshake());
+        return server.getLocalPort();
+    }
+
+    /**
+     * Accept connections, greet each one and hold it until the client closes
+     */
+    private void accept(ServerSocket server, Greeting greeting) {
+        Thread acceptor = new Thread(() -> {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    connections.incrementAndGet();
+                    Thread handler = new Thread(() -> {
+                        try (socket) {
+                            greeting.greet(socket);
+                            socket.getInputStream().transferTo(OutputStream.nullOutputStream());
+                        } catch (IOException ignored) {
+                            // Client gave up on the handshake or reset
+                        }
+                    });
+                    handler.setDaemon(true);
+                    handler.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    private interface Greeting {
+        void greet(Socket socket) throws IOException;
+    }
+}
@@ -0,0 +1,94 @@
+package com.cyberrisk.service;
+
+import com.cyberrisk.model.Role;
+import com.cyberrisk.model.User;
+import com.cyberrisk.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Invalidation of cached account state by user registration, updates and deletion
+ */
+class UserAccountCacheTest {
+
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+    private UserAccountCache cache;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository repository = inMemoryRepository();
+        cache = new UserAccountCache();
+        ReflectionTestUtils.setField(cache, "userRepository", repository);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 3600L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+
+        userService = new UserService();
+        ReflectionTestUtils.setField(userService, "userRepository", repository);
+        ReflectionTestUtils.setField(userService, "passwordEncoder", NoOpPasswordEncoder.getInstance());
+        ReflectionTestUtils.setField(userService, "userAccountCache", cache);
+    }
+
+    @Test
+    void registrationReplacesCachedUnknownUser() {
+        assertFalse(cache.getAccount("newcomer").exists());
+
+        userService.createUser(new User("newcomer", "newcomer@example.com", "secret", "New", "Comer"));
+
+        assertTrue(cache.getAccount("newcomer").exists());
+        assertEquals(Role.USER, cache.getAccount("newcomer").role());
+    }
+
+    @Test
+    void updateAndDeletionTakeEffectImmediately() {
+        User user = userService.createUser(new User("analyst", "analyst@example.com", "secret", "Ana", "Lyst"));
+        assertTrue(cache.getAccount("analyst").enabled());
+
+        user.setEnabled(false);
+        userService.updateUser(user);
+        assertFalse(cache.getAccount("analyst").enabled());
+
+        userService.deleteUser(user.getId());
+        assertFalse(cache.getAccount("analyst").exists());
+    }
+
+    private UserRepository inMemoryRepository() {
+        AtomicLong ids = new AtomicLong();
+        return (UserRepository) Proxy.newProxyInstance(
+            UserRepository.class.getClassLoader(),
+            new Class<?>[] {UserRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "existsByUsername" -> users.containsKey((String) args[0]);
+                case "existsByEmail" -> users.values().stream().anyMatch(user -> user.getEmail().equals(args[0]));
+                case "findByUsername" -> Optional.ofNullable(users.get((String) args[0]));
+                case "save" -> {
+                    User user = (User) args[0];
+                    if (user.getId() == null) {
+                        user.setId(ids.incrementAndGet());
+                    }
+                    users.put(user.getUsername(), user);
+                    yield user;
+                }
+                case "deleteById" -> {
+                    users.values().removeIf(user -> user.getId().equals(args[0]));
+                    yield null;
+                }
+                case "toString" -> "InMemoryUserRepository";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+}
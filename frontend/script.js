@@ -194,12 +194,14 @@ async function handleScan(event) {
             body: JSON.stringify(scanData)
         });
         
-        if (result.success) {
+        const scanResult = result.success ? await waitForScan(result.data.id) : result;
+        
+        if (scanResult.success) {
             closeModal();
             alert('Scan completed successfully! Check your dashboard for results.');
             loadDashboardData();
         } else {
-            alert('Scan failed: ' + result.error);
+            alert('Scan failed: ' + scanResult.error);
         }
     } catch (error) {
         alert('Scan failed: ' + error.message);
@@ -209,16 +211,40 @@ async function handleScan(event) {
     }
 }
 
+// Poll a queued scan until it completes or fails
+async function waitForScan(scanId) {
+    for (let attempt = 0; attempt < 120; attempt++) {
+        const result = await apiRequest(`/scan/${scanId}`);
+        if (!result.success) {
+            return result;
+        }
+        if (result.data.status === 'COMPLETED') {
+            return result;
+        }
+        if (result.data.status === 'FAILED' || result.data.status === 'CANCELLED') {
+            return { success: false, error: 'Scan did not complete' };
+        }
+        await new Promise(resolve => setTimeout(resolve, 1000));
+    }
+    return { success: false, error: 'Scan timed out' };
+}
+
 // Dashboard Functions
 async function loadDashboardData() {
     try {
-        // Load scan history
-        const historyResult = await apiRequest('/scan/history');
+        // Load the most recent scans; totals come from the risk aggregates below
+        const historyResult = await apiRequest('/scan/history?limit=5');
         if (historyResult.success) {
-            scanHistory = historyResult.data;
+            scanHistory = historyResult.data.items;
             updateDashboard();
         }
         
+        // Load statistics over all scans
+        const statisticsResult = await apiRequest('/analyze/risk-analysis');
+        if (statisticsResult.success) {
+            updateStatistics(statisticsResult.data);
+        }
+        
         // Load risk analysis
         const analysisResult = await apiRequest('/analyze/score-summary');
         if (analysisResult.success) {
@@ -241,7 +267,7 @@ function updateDashboard() {
             </div>
         `;
     } else {
-        scanHistoryElement.innerHTML = scanHistory.slice(0, 5).map(scan => `
+        scanHistoryElement.innerHTML = scanHistory.map(scan => `
             <div class="scan-item">
                 <div class="scan-info">
                     <div class="scan-score">${scan.riskScore}</div>
@@ -257,18 +283,15 @@ function updateDashboard() {
             </div>
         `).join('');
     }
-    
-    // Update statistics
-    if (scanHistory.length > 0) {
-        const scores = scanHistory.map(scan => scan.riskScore);
-        const averageScore = Math.round(scores.reduce((sum, score) => sum + score, 0) / scores.length);
-        const highestScore = Math.max(...scores);
-        const lowestScore = Math.min(...scores);
-        
-        document.getElementById('totalScans').textContent = scanHistory.length;
-        document.getElementById('avgScore').textContent = averageScore;
-        document.getElementById('highestScore').textContent = highestScore;
-        document.getElementById('lowestScore').textContent = lowestScore;
+}
+
+// Statistics over all of the user's scans, not only the loaded history page
+function updateStatistics(data) {
+    if (data.totalScans > 0) {
+        document.getElementById('totalScans').textContent = data.totalScans;
+        document.getElementById('avgScore').textContent = data.averageScore;
+        document.getElementById('highestScore').textContent = data.highestScore;
+        document.getElementById('lowestScore').textContent = data.lowestScore;
     }
 }
 
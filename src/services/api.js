@@ -50,7 +50,7 @@ export const authAPI = {
 export const scanAPI = {
   performScan: (scanData) => api.post('/scan/perform', scanData),
   getScanResult: (scanId) => api.get(`/scan/${scanId}`),
-  getScanHistory: () => api.get('/scan/history'),
+  getScanHistory: (cursor) => api.get('/scan/history', { params: cursor ? { cursor } : {} }),
 };
 
 // Analysis API
@@ -12,7 +12,7 @@ class ScanService {
       };
       
       const response = await scanAPI.performScan(scanData);
-      return { success: true, data: response.data };
+      return await this.waitForScan(response.data.id);
     } catch (error) {
       return { 
         success: false, 
@@ -21,6 +21,22 @@ class ScanService {
     }
   }
 
+  // Poll a queued scan until it completes or fails
+  async waitForScan(scanId, intervalMs = 1000, maxAttempts = 120) {
+    for (let attempt = 0; attempt < maxAttempts; attempt++) {
+      const response = await scanAPI.getScanResult(scanId);
+      const scan = response.data;
+      if (scan.status === 'COMPLETED') {
+        return { success: true, data: scan };
+      }
+      if (scan.status === 'FAILED' || scan.status === 'CANCELLED') {
+        return { success: false, error: 'Scan failed' };
+      }
+      await new Promise(resolve => setTimeout(resolve, intervalMs));
+    }
+    return { success: false, error: 'Scan timed out' };
+  }
+
   // Get scan result by ID
   async getScanResult(scanId) {
     try {
@@ -34,11 +50,11 @@ class ScanService {
     }
   }
 
-  // Get scan history
-  async getScanHistory() {
+  // Get scan history (newest first, one page at a time)
+  async getScanHistory(cursor = null) {
     try {
-      const response = await scanAPI.getScanHistory();
-      return { success: true, data: response.data };
+      const response = await scanAPI.getScanHistory(cursor);
+      return { success: true, data: response.data.items, nextCursor: response.data.nextCursor };
     } catch (error) {
       return { 
         success: false, 